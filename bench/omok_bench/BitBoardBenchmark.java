@@ -0,0 +1,92 @@
+package omok_bench;
+
+import omok_shared.BitBoard;
+
+import java.util.Random;
+
+// 오목 판정 비교 벤치마크
+// 기존 GameRoom의 int[15][15] 배열을 네 방향으로 훑는 방식과 비트보드(BitBoard)의 줄 단위 시프트/AND 방식을
+// 같은 무작위 판(대국 중반 정도의 돌 수)에서 비교한다. 두 방식의 결과가 모두 같은지도 먼저 확인한다.
+//   java omok_bench.BitBoardBenchmark
+public class BitBoardBenchmark {
+    private static final int SIZE = 15;
+    private static final int POSITIONS = 1024;
+
+    public static void main(String[] args) throws Exception {
+        Random random = new Random(20240601L);
+        int[][][] arrays = new int[POSITIONS][][];
+        BitBoard[] bitBoards = new BitBoard[POSITIONS];
+        int[] xs = new int[POSITIONS];
+        int[] ys = new int[POSITIONS];
+        int[] colors = new int[POSITIONS];
+
+        // 돌 30 ~ 120개를 번갈아 둔 판과 마지막으로 둔 돌
+        for (int p = 0; p < POSITIONS; p++) {
+            int[][] array = new int[SIZE][SIZE];
+            BitBoard bitBoard = new BitBoard();
+            int stones = 30 + random.nextInt(91);
+            for (int s = 0; s < stones; s++) {
+                int x;
+                int y;
+                do {
+                    x = random.nextInt(SIZE);
+                    y = random.nextInt(SIZE);
+                } while (array[y][x] != 0);
+                int color = s % 2 == 0 ? BitBoard.BLACK : BitBoard.WHITE;
+                array[y][x] = color;
+                bitBoard.place(x, y, color);
+                xs[p] = x;
+                ys[p] = y;
+                colors[p] = color;
+            }
+            arrays[p] = array;
+            bitBoards[p] = bitBoard;
+        }
+
+        int fives = 0;
+        for (int p = 0; p < POSITIONS; p++) {
+            boolean expected = BoardCorpus.arrayCheckWin(arrays[p], xs[p], ys[p], colors[p]);
+            if (expected != bitBoards[p].isFive(xs[p], ys[p], colors[p])) {
+                throw new IllegalStateException("판정 불일치: 판 " + p);
+            }
+            if (expected) {
+                fives++;
+            }
+        }
+        System.out.println("판 " + POSITIONS + "개 판정 일치 (오목 " + fives + "개)");
+
+        int[] next = new int[1];
+        MicroBench.measure("array checkWin", () -> {
+            int p = next[0]++ & (POSITIONS - 1);
+            return BoardCorpus.arrayCheckWin(arrays[p], xs[p], ys[p], colors[p]);
+        });
+        MicroBench.measure("bitboard isFive", () -> {
+            int p = next[0]++ & (POSITIONS - 1);
+            return bitBoards[p].isFive(xs[p], ys[p], colors[p]);
+        });
+
+        // 한 수 처리 (빈 칸 확인 + 두기 + 판정). 같은 판을 반복해 쓰므로 먼저 그 돌을 치운다.
+        MicroBench.measure("array place+check", () -> {
+            int p = next[0]++ & (POSITIONS - 1);
+            int[][] array = arrays[p];
+            int x = xs[p];
+            int y = ys[p];
+            int color = array[y][x];
+            array[y][x] = 0;
+            boolean valid = x >= 0 && x < SIZE && y >= 0 && y < SIZE && array[y][x] == 0;
+            array[y][x] = color;
+            return valid && BoardCorpus.arrayCheckWin(array, x, y, color);
+        });
+        MicroBench.measure("bitboard place+check", () -> {
+            int p = next[0]++ & (POSITIONS - 1);
+            BitBoard bitBoard = bitBoards[p];
+            int x = xs[p];
+            int y = ys[p];
+            int color = colors[p];
+            bitBoard.remove(x, y);
+            boolean valid = BitBoard.isInside(x, y) && bitBoard.isEmpty(x, y);
+            bitBoard.place(x, y, color);
+            return valid && bitBoard.isFive(x, y, color);
+        });
+    }
+}
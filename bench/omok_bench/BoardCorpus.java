@@ -0,0 +1,156 @@
+package omok_bench;
+
+import omok_server.ThreatBoard;
+import omok_shared.BitBoard;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+// 벤치마크용 국면 생성기
+// 가운데에서 시작해 이미 놓인 돌 두 칸 안에만 두는 대국을 흉내 낸다. 절반은 자기 4목/열린 3목 자리를 골라
+// 실제 대국처럼 모양이 생기게 하고, 오목이 되는 자리와 흑 금수 자리는 피해서 판이 꽉 찰 때까지 이어 간다.
+// 같은 시드면 항상 같은 대국이 나온다.
+final class BoardCorpus {
+    static final int SIZE = BitBoard.SIZE;
+    static final int MAX_MOVES = 180;
+
+    // 한 수 직전의 판과 그 수
+    static final class Position {
+        final BitBoard before = new BitBoard();
+        final int[][] after;          // 수를 놓은 int[15][15] 판 (기존 배열 코드용)
+        final int x;
+        final int y;
+        final int color;
+
+        Position(BitBoard board, int x, int y, int color) {
+            this.before.copyFrom(board);
+            this.x = x;
+            this.y = y;
+            this.color = color;
+            this.after = new int[SIZE][SIZE];
+            for (int row = 0; row < SIZE; row++) {
+                for (int col = 0; col < SIZE; col++) {
+                    after[row][col] = board.get(col, row);
+                }
+            }
+            after[y][x] = color;
+        }
+    }
+
+    private BoardCorpus() {
+    }
+
+    // 중반 국면 (20 ~ 59수째)
+    static List<Position> midGame(int count, long seed) {
+        return positions(count, seed, 20, 60);
+    }
+
+    // 꽉 찬 종반 국면 (120수째 이후)
+    static List<Position> endGame(int count, long seed) {
+        return positions(count, seed, 120, MAX_MOVES);
+    }
+
+    // 대국 count개의 수 목록 (칸마다 y * 15 + x, 흑부터 번갈아)
+    static List<int[]> games(int count, long seed) {
+        Random random = new Random(seed);
+        List<int[]> games = new ArrayList<>();
+        while (games.size() < count) {
+            games.add(play(random));
+        }
+        return games;
+    }
+
+    private static List<Position> positions(int count, long seed, int from, int to) {
+        Random random = new Random(seed);
+        List<Position> positions = new ArrayList<>();
+        while (positions.size() < count) {
+            int[] moves = play(random);
+            BitBoard board = new BitBoard();
+            for (int i = 0; i < moves.length && positions.size() < count; i++) {
+                int x = moves[i] % SIZE;
+                int y = moves[i] / SIZE;
+                int color = i % 2 == 0 ? BitBoard.BLACK : BitBoard.WHITE;
+                if (i >= from && i < to) {
+                    positions.add(new Position(board, x, y, color));
+                }
+                board.place(x, y, color);
+            }
+        }
+        return positions;
+    }
+
+    // 한 판 (둘 곳이 없거나 MAX_MOVES가 되면 끝)
+    static int[] play(Random random) {
+        ThreatBoard threats = new ThreatBoard();
+        BitBoard board = threats.board();
+        int[] moves = new int[MAX_MOVES];
+        int[] candidates = new int[SIZE * SIZE];
+        int[] tactical = new int[SIZE * SIZE];
+        int count = 0;
+        while (count < MAX_MOVES) {
+            int color = count % 2 == 0 ? BitBoard.BLACK : BitBoard.WHITE;
+            int n = 0;
+            int t = 0;
+            for (int y = 0; y < SIZE; y++) {
+                for (int x = 0; x < SIZE; x++) {
+                    if (!board.isEmpty(x, y) || (count > 0 && !nearStone(board, x, y))
+                            || (count == 0 && (x != 7 || y != 7))
+                            || threats.isWinningMove(x, y, color)
+                            || (color == BitBoard.BLACK && threats.isForbidden(x, y))) {
+                        continue;
+                    }
+                    candidates[n++] = y * SIZE + x;
+                    if (threats.makesFour(x, y, color) || threats.makesOpenThree(x, y, color)) {
+                        tactical[t++] = y * SIZE + x;
+                    }
+                }
+            }
+            if (n == 0) {
+                break;
+            }
+            int cell = t > 0 && random.nextBoolean() ? tactical[random.nextInt(t)] : candidates[random.nextInt(n)];
+            threats.place(cell % SIZE, cell / SIZE, color);
+            moves[count++] = cell;
+        }
+        return Arrays.copyOf(moves, count);
+    }
+
+    private static boolean nearStone(BitBoard board, int x, int y) {
+        for (int dy = -2; dy <= 2; dy++) {
+            for (int dx = -2; dx <= 2; dx++) {
+                int nx = x + dx;
+                int ny = y + dy;
+                if (BitBoard.isInside(nx, ny) && !board.isEmpty(nx, ny)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    // 기존 GameRoom.checkWin / countStones 그대로 (배열을 네 방향으로 훑는다)
+    static boolean arrayCheckWin(int[][] board, int x, int y, int color) {
+        int[][] directions = {{1,0}, {0,1}, {1,1}, {1,-1}};
+        for (int[] dir : directions) {
+            int count = 1;
+            count += countStones(board, x, y, dir[0], dir[1], color);
+            count += countStones(board, x, y, -dir[0], -dir[1], color);
+            if (count >= 5) return true;
+        }
+        return false;
+    }
+
+    private static int countStones(int[][] board, int x, int y, int dx, int dy, int color) {
+        int count = 0;
+        int nx = x + dx;
+        int ny = y + dy;
+        while (nx >= 0 && nx < SIZE && ny >= 0 && ny < SIZE && board[ny][nx] == color) {
+            count++;
+            nx += dx;
+            ny += dy;
+        }
+        return count;
+    }
+}
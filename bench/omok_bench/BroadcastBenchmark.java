@@ -0,0 +1,117 @@
+package omok_bench;
+
+import omok_server.GameRoom;
+import omok_server.LocalConnection;
+import omok_server.OmokServer;
+import omok_server.ServerConfig;
+import omok_server.ServerLog;
+import omok_shared.OmokMsg;
+import omok_shared.OmokWire;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// 방 브로드캐스트 / 목록 문자열 벤치마크
+// 소켓 없이 서버를 띄우고 메모리 연결(LocalConnection)로 로그인, 방 만들기, 입장을 실제 메시지 처리 경로대로 한 뒤
+//  - GameRoom.broadcastGameRoom: 수신자 2 / 50 / 500명에게 착수, 차례, 채팅 메시지
+//  - GameRoom.getPlayersForClient: 같은 방들의 참가자 목록 문자열
+//  - OmokServer.getAllRooms: 방 1000개의 방 목록 문자열
+// 을 잰다. 브로드캐스트는 수신자 전체가 받은 전송 바이트(이진 프레임)를 op당으로 함께 출력한다.
+//   java omok_bench.BroadcastBenchmark
+public class BroadcastBenchmark {
+    private static final int[] FAN_OUTS = {2, 50, 500};
+    private static final int ROOM_COUNT = 1000;
+
+    public static void main(String[] args) throws Exception {
+        ServerLog log = new ServerLog(ServerLog.DEFAULT_CAPACITY, lines -> { });
+        OmokServer server = new OmokServer(ServerConfig.parse(new String[]{"--data-dir=", "--coalesce-ms=0"}), log);
+
+        // 수신자 수별 방 (방장 + 참가자 1명 + 나머지는 관전자)
+        List<GameRoom> fanOutRooms = new ArrayList<>();
+        List<List<LocalConnection>> recipients = new ArrayList<>();
+        for (int fanOut : FAN_OUTS) {
+            String title = "fanout-" + fanOut;
+            List<LocalConnection> members = new ArrayList<>();
+            LocalConnection owner = LocalConnection.login(server, title + "-0");
+            owner.receive(new OmokMsg(title + "-0", OmokMsg.MODE_MAKE_ROOM, title));
+            members.add(owner);
+            GameRoom room = findRoom(server, title);
+            for (int i = 1; i < fanOut; i++) {
+                LocalConnection member = LocalConnection.login(server, title + "-" + i);
+                member.receive(new OmokMsg(title + "-" + i, OmokMsg.MODE_JOIN_ROOM, room.getRoomId()));
+                members.add(member);
+            }
+            fanOutRooms.add(room);
+            recipients.add(members);
+        }
+        // 방 목록을 채울 나머지 방
+        for (int i = fanOutRooms.size(); i < ROOM_COUNT; i++) {
+            LocalConnection owner = LocalConnection.login(server, "owner" + i);
+            owner.receive(new OmokMsg("owner" + i, OmokMsg.MODE_MAKE_ROOM, i + "번 방 초보 환영"));
+        }
+
+        System.out.println("==== 방 브로드캐스트 ====");
+        for (int r = 0; r < FAN_OUTS.length; r++) {
+            GameRoom room = fanOutRooms.get(r);
+            List<LocalConnection> members = recipients.get(r);
+            String label = "수신자 " + FAN_OUTS[r] + "명 ";
+            int[] move = new int[1];
+            broadcast(label + "착수", members, () -> {
+                int cell = move[0]++ % 225;
+                room.broadcastGameRoom(new OmokMsg("alice", OmokMsg.MODE_STONE_PLACED, cell % 15, cell / 15, 1));
+            });
+            broadcast(label + "차례", members, () -> room.broadcastGameRoom(
+                    new OmokMsg("SERVER", OmokMsg.MODE_TURN_CHANGED, "alice님(흑돌)의 차례입니다.")));
+            broadcast(label + "채팅", members, () -> room.broadcastGameRoom(
+                    new OmokMsg("bob", OmokMsg.MODE_GAME_CHAT, "bob: 좋은 수네요!")));
+        }
+
+        System.out.println();
+        System.out.println("==== 목록 문자열 ====");
+        for (int r = 0; r < FAN_OUTS.length; r++) {
+            GameRoom room = fanOutRooms.get(r);
+            MicroBench.measure("getPlayersForClient " + FAN_OUTS[r] + "명", room::getPlayersForClient);
+            System.out.printf("  %d B (이진 프레임)%n", frameBytes(OmokMsg.MODE_REFRESH_GAME_USER_LIST, room.getPlayersForClient()));
+        }
+        MicroBench.measure("getAllRooms " + ROOM_COUNT + "개", server::getAllRooms);
+        System.out.printf("  %d B (이진 프레임)%n", frameBytes(OmokMsg.MODE_REFRESH_ROOM_LIST, server.getAllRooms()));
+
+        server.stop();
+        log.close();
+    }
+
+    // 브로드캐스트 한 번을 측정하고, 수신자 전체가 받은 전송 바이트를 op당으로 출력
+    private static void broadcast(String name, List<LocalConnection> members, Runnable send) throws Exception {
+        long[] ops = new long[1];
+        long before = totalBytes(members);
+        MicroBench.measure(name, () -> {
+            send.run();
+            ops[0]++;
+            return ops;
+        });
+        System.out.printf("  전송 %.1f B/op%n", (double) (totalBytes(members) - before) / ops[0]);
+    }
+
+    private static long totalBytes(List<LocalConnection> members) {
+        long total = 0;
+        for (LocalConnection member : members) {
+            total += member.bytes();
+        }
+        return total;
+    }
+
+    private static int frameBytes(int mode, String message) throws Exception {
+        return OmokWire.encodeFrame(new OmokMsg("SERVER", mode, message), OmokWire.CODEC_BINARY).length;
+    }
+
+    // 제목으로 방 찾기 (getAllRooms 형식: roomId|제목|상태)
+    private static GameRoom findRoom(OmokServer server, String title) {
+        for (String entry : server.getAllRooms().split(",")) {
+            String[] parts = entry.split("\\|");
+            if (parts.length == 3 && parts[1].equals(title)) {
+                return server.findGameRoom(parts[0]);
+            }
+        }
+        throw new IllegalStateException("방이 만들어지지 않았습니다: " + title);
+    }
+}
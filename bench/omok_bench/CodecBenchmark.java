@@ -0,0 +1,97 @@
+package omok_bench;
+
+import omok_shared.OmokMsg;
+import omok_shared.OmokWire;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.UUID;
+
+// 메시지 코덱 비교 벤치마크
+// 기존 ObjectOutputStream(매 메시지 reset), 직렬화 프레임, 이진 프레임의
+// 메시지당 바이트 수와 인코딩/디코딩 시간을 비교한다.
+// 자주 오가는 메시지(착수, 차례, 채팅, 훈수)와 가장 큰 메시지인 방 1000개짜리 방 목록을 잰다.
+//   java omok_bench.CodecBenchmark
+public class CodecBenchmark {
+    private static final int ROOM_LIST_SIZE = 1000;
+
+    public static void main(String[] args) throws Exception {
+        OmokMsg stone = new OmokMsg("alice", OmokMsg.MODE_STONE_PLACED, 7, 7, 1);
+        OmokMsg turn = new OmokMsg("SERVER", OmokMsg.MODE_TURN_CHANGED, "alice님(흑돌)의 차례입니다.");
+        OmokMsg chat = new OmokMsg("bob", OmokMsg.MODE_GAME_CHAT, "좋은 수네요!");
+        OmokMsg suggestion = new OmokMsg("carol", OmokMsg.MODE_SUGGESTION_RECEIVED, 8, 6, 3);
+        suggestion.setAdviceColor(0x0000FF);
+        OmokMsg roomList = new OmokMsg("SERVER", OmokMsg.MODE_REFRESH_ROOM_LIST, roomList(ROOM_LIST_SIZE));
+
+        OmokMsg[] messages = {stone, turn, chat, suggestion, roomList};
+        String[] names = {"stone", "turn", "chat", "suggestion", "rooms" + ROOM_LIST_SIZE};
+
+        System.out.println("==== 메시지당 전송 바이트 ====");
+        System.out.printf("%-12s %10s %10s %10s%n", "메시지", "legacy", "serial", "binary");
+        for (int i = 0; i < messages.length; i++) {
+            System.out.printf("%-12s %10d %10d %10d%n", names[i],
+                    legacyStreamBytes(messages[i]),
+                    OmokWire.encodeFrame(messages[i], OmokWire.CODEC_SERIAL).length,
+                    OmokWire.encodeFrame(messages[i], OmokWire.CODEC_BINARY).length);
+        }
+
+        System.out.println();
+        System.out.println("==== 인코딩 / 디코딩 ====");
+        LegacyStream legacy = new LegacyStream();
+        for (int i = 0; i < messages.length; i++) {
+            OmokMsg msg = messages[i];
+            byte[] serial = OmokWire.encode(msg, OmokWire.CODEC_SERIAL);
+            byte[] binary = OmokWire.encode(msg, OmokWire.CODEC_BINARY);
+
+            MicroBench.measure(names[i] + " legacy encode", () -> legacy.write(msg));
+            MicroBench.measure(names[i] + " serial encode", () -> OmokWire.encode(msg, OmokWire.CODEC_SERIAL));
+            MicroBench.measure(names[i] + " serial decode",
+                    () -> OmokWire.decode(serial, 0, serial.length, OmokWire.CODEC_SERIAL));
+            MicroBench.measure(names[i] + " binary encode", () -> OmokWire.encode(msg, OmokWire.CODEC_BINARY));
+            MicroBench.measure(names[i] + " binary decode",
+                    () -> OmokWire.decode(binary, 0, binary.length, OmokWire.CODEC_BINARY));
+        }
+    }
+
+    // OmokServer.getAllRooms와 같은 모양의 방 목록 (roomId|제목|상태, 쉼표로 구분)
+    private static String roomList(int count) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) sb.append(",");
+            sb.append(UUID.randomUUID()).append("|").append(i).append("번 방 초보 환영|")
+                    .append(i % 3 == 0 ? "게임중" : "대기중");
+        }
+        return sb.toString();
+    }
+
+    // 기존 방식으로 한 메시지를 보낼 때 스트림에 쓰이는 바이트 수
+    private static int legacyStreamBytes(OmokMsg msg) throws IOException {
+        LegacyStream stream = new LegacyStream();
+        int before = stream.bytes.size();
+        stream.write(msg);
+        return stream.bytes.size() - before;
+    }
+
+    // 서버/클라이언트가 쓰던 writeObject + flush + reset 흐름을 메모리에서 재현
+    private static class LegacyStream {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final ObjectOutputStream out;
+
+        LegacyStream() throws IOException {
+            out = new ObjectOutputStream(bytes);
+            out.flush();
+        }
+
+        Object write(OmokMsg msg) throws IOException {
+            out.writeObject(msg);
+            out.flush();
+            out.reset();
+            out.flush();
+            if (bytes.size() > (1 << 20)) {
+                bytes.reset();
+            }
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,161 @@
+package omok_bench;
+
+import omok_shared.OmokMsg;
+import omok_shared.OmokWire;
+
+import java.io.*;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+// 동시 접속 유지 부하 테스트
+// 서버를 비교할 모드로 먼저 실행한 뒤 (예: OmokServer virtual) 아래처럼 실행한다.
+//   java omok_bench.ConnectionCapacityTest <host> <port> <접속 수> [유지 시간(초)] [--no-login] [--local=127.0.0.2,127.0.0.3]
+// 각 연결은 핸드셰이크와 로그인만 한 뒤 대기하고, 서버가 보내는 메시지는 가상 스레드가 읽어서 버린다.
+// 유지 시간이 끝났을 때 끊기지 않은 연결 수를 출력하므로 모드별로 실행해 유지 가능한 접속 수를 비교할 수 있다.
+// 한 로컬 주소에서 열 수 있는 포트 수에는 한계가 있으므로 수만 개 이상은 --local로 여러 주소를 나눠 쓴다.
+public class ConnectionCapacityTest {
+    private static final int CONNECT_TIMEOUT_MS = 5000;
+    private static final int MAX_CONCURRENT_CONNECTS = 256;
+
+    private final String host;
+    private final int port;
+    private final int count;
+    private final boolean login;
+    private final String[] localAddresses;
+
+    private final List<Socket> sockets = new CopyOnWriteArrayList<>();
+    private final AtomicInteger connected = new AtomicInteger();
+    private final AtomicInteger failed = new AtomicInteger();
+    private final AtomicInteger alive = new AtomicInteger();
+    private final AtomicReference<String> firstError = new AtomicReference<>();
+
+    public ConnectionCapacityTest(String host, int port, int count, boolean login, String[] localAddresses) {
+        this.host = host;
+        this.port = port;
+        this.count = count;
+        this.login = login;
+        this.localAddresses = localAddresses;
+    }
+
+    // 접속 수만큼 연결을 연다
+    public void connectAll() throws InterruptedException {
+        Semaphore permits = new Semaphore(MAX_CONCURRENT_CONNECTS);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < count; i++) {
+                permits.acquire();
+                int id = i;
+                executor.submit(() -> {
+                    try {
+                        open(id);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+    }
+
+    // 연결 하나를 열고 로그인한 뒤 수신 전용 가상 스레드를 붙인다
+    private void open(int id) {
+        Socket socket = new Socket();
+        try {
+            if (localAddresses.length > 0) {
+                socket.bind(new InetSocketAddress(localAddresses[id % localAddresses.length], 0));
+            }
+            socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MS);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+            OmokWire.writeHandshake(out, OmokWire.CODEC_BINARY);
+            byte codec = in.readByte();
+            if (login) {
+                OmokWire.writeFrame(out, new OmokMsg("load" + id, OmokMsg.MODE_LOGIN), codec);
+            }
+
+            sockets.add(socket);
+            connected.incrementAndGet();
+            alive.incrementAndGet();
+            Thread.ofVirtual().start(() -> drain(in));
+        } catch (IOException e) {
+            failed.incrementAndGet();
+            firstError.compareAndSet(null, e.getClass().getSimpleName() + ": " + e.getMessage());
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    // 서버가 보내는 데이터를 읽어서 버린다. 연결이 끊기면 유지 중인 수에서 뺀다.
+    private void drain(InputStream in) {
+        byte[] buf = new byte[8192];
+        try {
+            while (in.read(buf) >= 0) {
+                // 버림
+            }
+        } catch (IOException ignored) {
+        }
+        alive.decrementAndGet();
+    }
+
+    public void closeAll() {
+        for (Socket socket : sockets) {
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+            }
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        List<String> positional = new ArrayList<>();
+        boolean login = true;
+        String[] locals = new String[0];
+        for (String arg : args) {
+            if (arg.equals("--no-login")) {
+                login = false;
+            } else if (arg.startsWith("--local=")) {
+                locals = arg.substring("--local=".length()).split(",");
+            } else {
+                positional.add(arg);
+            }
+        }
+        if (positional.size() < 3) {
+            System.err.println("사용법: ConnectionCapacityTest <host> <port> <접속 수> [유지 시간(초)] [--no-login] [--local=주소,...]");
+            System.exit(1);
+        }
+        String host = positional.get(0);
+        int port = Integer.parseInt(positional.get(1));
+        int count = Integer.parseInt(positional.get(2));
+        int holdSeconds = positional.size() > 3 ? Integer.parseInt(positional.get(3)) : 30;
+
+        ConnectionCapacityTest test = new ConnectionCapacityTest(host, port, count, login, locals);
+
+        // 1초마다 진행 상황 출력
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor();
+        reporter.scheduleAtFixedRate(() -> System.out.printf("연결 %d / 실패 %d / 유지 %d%n",
+                test.connected.get(), test.failed.get(), test.alive.get()), 1, 1, TimeUnit.SECONDS);
+
+        long start = System.nanoTime();
+        test.connectAll();
+        long connectMillis = (System.nanoTime() - start) / 1_000_000;
+
+        Thread.sleep(holdSeconds * 1000L);
+        reporter.shutdownNow();
+
+        System.out.println("==== 결과 ====");
+        System.out.println("대상 서버      : " + host + ":" + port);
+        System.out.println("시도한 연결    : " + count);
+        System.out.println("성공한 연결    : " + test.connected.get() + " (" + connectMillis + " ms)");
+        System.out.println("실패한 연결    : " + test.failed.get()
+                + (test.firstError.get() != null ? " (첫 오류: " + test.firstError.get() + ")" : ""));
+        System.out.println(holdSeconds + "초 후 유지 : " + test.alive.get());
+
+        test.closeAll();
+        System.exit(0);
+    }
+}
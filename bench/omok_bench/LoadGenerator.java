@@ -0,0 +1,389 @@
+package omok_bench;
+
+import omok_server.LatencyHistogram;
+import omok_shared.OmokMsg;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+// 헤드리스 부하 생성기
+// 가상 사용자(SimClient) 수천 명을 OmokMsg 프로토콜로 서버에 붙인다. 방장 + 상대 + 관전자로 방을 채워
+// 게임을 시작하고, 게임이 끝나면 다시 시작한다. 그동안 훈수 요청/제공과 채팅도 섞는다.
+// 착수(MODE_PLACE_STONE)를 보낸 뒤 자기 수의 MODE_STONE_PLACED를 받기까지의 지연 시간을 히스토그램에 모아
+// 5초마다 구간 백분위와 초당 메시지 수, 서버 CPU/힙을 출력하고 끝에 전체 결과를 출력한다.
+// 지연 시간에는 부하 생성기 쪽 처리 시간도 들어가므로 생성기 CPU도 함께 출력한다. (코어가 모자라면 생성기가 병목)
+// --server를 주지 않으면 같은 classpath로 서버를 자식 프로세스로 띄우고(로그는 loadgen-server.log), 끝나면 종료한다.
+//   java omok_bench.LoadGenerator [--users=2000] [--spectators=2] [--duration=60] [--mode=nio]
+//   java omok_bench.LoadGenerator --server=127.0.0.1:54322 [--server-pid=<서버 pid>] ...
+public class LoadGenerator {
+    static final int SETUP_TIMEOUT_SECONDS = 30;
+    private static final int SETUP_CONCURRENCY = 32;
+    private static final int REPORT_SECONDS = 5;
+    private static final String SERVER_LOG = "loadgen-server.log";
+
+    private static final String USAGE = String.join("\n",
+            "사용법: java omok_bench.LoadGenerator [옵션]",
+            "  --users=<수>              가상 사용자 수 (기본값 2000)",
+            "  --spectators=<수>         방마다 관전자 수 (기본값 2)",
+            "  --duration=<초>           측정 시간 (기본값 60, 준비 시간 제외)",
+            "  --think-ms=<밀리초>       착수 전 생각 시간 평균 (기본값 500)",
+            "  --advice=<0~1>            차례마다 훈수를 요청할 확률 (기본값 0.1)",
+            "  --chat=<0~1>              착수를 볼 때마다 채팅할 확률 (기본값 0.02)",
+            "  --restart-ms=<밀리초>     게임이 끝나고 다시 시작할 때까지 (기본값 1000)",
+            "  --mode=<blocking|virtual|nio>  띄울 서버의 모드 (기본값 nio)",
+            "  --port=<포트>             띄울 서버의 포트 (기본값 54330)",
+            "  --server-jvm=<옵션>       띄울 서버의 JVM 옵션 (공백으로 구분)",
+            "  --server=<host:port>      이미 실행 중인 서버에 접속",
+            "  --server-pid=<pid>        --server의 프로세스 (주면 CPU/힙을 읽는다)");
+
+    // 설정
+    private int users = 2000;
+    private int spectators = 2;
+    private int durationSeconds = 60;
+    private long thinkMillis = 500;
+    private double adviceRate = 0.1;
+    private double chatRate = 0.02;
+    private long restartMillis = 1000;
+    private String mode = "nio";
+    private String host = "127.0.0.1";
+    private int port = 54330;
+    private String serverJvm = "";
+    private long serverPid = -1;
+    private boolean external = false;
+
+    private final ScheduledExecutorService scheduler =
+            Executors.newScheduledThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors() / 2));
+    private final List<SimClient> clients = new CopyOnWriteArrayList<>();
+    private final Map<String, CompletableFuture<String>> roomIds = new ConcurrentHashMap<>();
+
+    // 측정값
+    private final LatencyHistogram total = new LatencyHistogram();
+    private final LatencyHistogram interval = new LatencyHistogram();
+    private final LongAdder receivedCount = new LongAdder();
+    private final LongAdder sentCount = new LongAdder();
+    private final LongAdder stoneCount = new LongAdder();
+    private final LongAdder gameCount = new LongAdder();
+    private final LongAdder rejectedCount = new LongAdder();
+    private final AtomicInteger disconnectedCount = new AtomicInteger();
+    private final AtomicReference<String> firstError = new AtomicReference<>();
+    private final com.sun.management.OperatingSystemMXBean self =
+            (com.sun.management.OperatingSystemMXBean) ManagementFactory.getOperatingSystemMXBean();
+
+    // ==== SimClient가 쓰는 설정과 기록 ====
+
+    long thinkMillis() {
+        return thinkMillis;
+    }
+
+    double adviceRate() {
+        return adviceRate;
+    }
+
+    double chatRate() {
+        return chatRate;
+    }
+
+    long restartMillis() {
+        return restartMillis;
+    }
+
+    boolean hasSpectators() {
+        return spectators > 0;
+    }
+
+    // 평균 millis (0.5 ~ 1.5배) 뒤에 실행
+    void later(long millis, Runnable action) {
+        long delay = (long) (millis * (0.5 + ThreadLocalRandom.current().nextDouble()));
+        try {
+            scheduler.schedule(action, delay, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException ignored) {
+            // 종료 중
+        }
+    }
+
+    void received() {
+        receivedCount.increment();
+    }
+
+    void sent() {
+        sentCount.increment();
+    }
+
+    void stonePlaced(long latencyNanos) {
+        stoneCount.increment();
+        total.record(latencyNanos);
+        interval.record(latencyNanos);
+    }
+
+    void gameOver() {
+        gameCount.increment();
+    }
+
+    void rejected() {
+        rejectedCount.increment();
+    }
+
+    void disconnected(String uid, IOException e) {
+        disconnectedCount.incrementAndGet();
+        firstError.compareAndSet(null, uid + ": " + e.getClass().getSimpleName() + " " + e.getMessage());
+    }
+
+    // 로비 방 추가 델타 (roomId|제목|상태)
+    void roomAdded(String entry) {
+        String[] parts = entry.split("\\|");
+        if (parts.length == 3) {
+            CompletableFuture<String> future = roomIds.get(parts[1]);
+            if (future != null) {
+                future.complete(parts[0]);
+            }
+        }
+    }
+
+    // ==== 실행 ====
+
+    public static void main(String[] args) throws Exception {
+        LoadGenerator generator = new LoadGenerator();
+        try {
+            generator.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(1);
+        }
+        generator.run();
+        System.exit(0);
+    }
+
+    private void parse(String[] args) {
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("알 수 없는 인자: " + arg);
+            }
+            String key = arg.substring(2, eq);
+            String value = arg.substring(eq + 1);
+            switch (key) {
+                case "users": users = Integer.parseInt(value); break;
+                case "spectators": spectators = Integer.parseInt(value); break;
+                case "duration": durationSeconds = Integer.parseInt(value); break;
+                case "think-ms": thinkMillis = Long.parseLong(value); break;
+                case "advice": adviceRate = Double.parseDouble(value); break;
+                case "chat": chatRate = Double.parseDouble(value); break;
+                case "restart-ms": restartMillis = Long.parseLong(value); break;
+                case "mode": mode = value; break;
+                case "port": port = Integer.parseInt(value); break;
+                case "server-jvm": serverJvm = value; break;
+                case "server-pid": serverPid = Long.parseLong(value); break;
+                case "server":
+                    int colon = value.lastIndexOf(':');
+                    host = value.substring(0, colon);
+                    port = Integer.parseInt(value.substring(colon + 1));
+                    external = true;
+                    break;
+                default:
+                    throw new IllegalArgumentException("알 수 없는 옵션: " + key);
+            }
+        }
+        if (users < 2 + spectators) {
+            throw new IllegalArgumentException("사용자 수가 방 하나를 채우기에도 부족합니다.");
+        }
+    }
+
+    private void run() throws Exception {
+        Process server = external ? null : startServer();
+        if (server != null) {
+            serverPid = server.pid();
+        }
+        ServerProbe probe = null;
+        if (serverPid > 0) {
+            try {
+                probe = ServerProbe.attach(serverPid);
+            } catch (Exception e) {
+                System.out.println("서버 CPU/힙을 읽을 수 없습니다: " + e.getMessage());
+            }
+        }
+
+        try {
+            int tables = users / (2 + spectators);
+            long setupStart = System.nanoTime();
+            setUpTables(tables);
+            System.out.printf("준비 완료: 사용자 %d명, 방 %d개 (%.1f초)%n",
+                    clients.size(), tables, (System.nanoTime() - setupStart) / 1e9);
+
+            measure(tables, probe);
+        } finally {
+            scheduler.shutdownNow();
+            for (SimClient client : clients) {
+                client.close();
+            }
+            if (probe != null) {
+                probe.close();
+            }
+            if (server != null) {
+                server.destroy();
+                server.waitFor(10, TimeUnit.SECONDS);
+            }
+        }
+    }
+
+    // 같은 classpath로 서버를 띄우고 연결 대기가 시작될 때까지 기다린다
+    private Process startServer() throws Exception {
+        List<String> command = new ArrayList<>();
+        command.add(ProcessHandle.current().info().command().orElse("java"));
+        command.add("-Dstdout.encoding=UTF-8");   // 로그 파일을 UTF-8로 읽는다
+        command.add("-Dstderr.encoding=UTF-8");
+        if (!serverJvm.isBlank()) {
+            command.addAll(Arrays.asList(serverJvm.trim().split("\\s+")));
+        }
+        command.addAll(Arrays.asList("-cp", System.getProperty("java.class.path"), "omok_server.OmokServer",
+                "--headless", "--port=" + port, "--mode=" + mode, "--data-dir="));
+        File log = new File(SERVER_LOG);
+        Process process = new ProcessBuilder(command)
+                .redirectErrorStream(true)
+                .redirectOutput(log)
+                .start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(SETUP_TIMEOUT_SECONDS);
+        while (System.nanoTime() < deadline) {
+            if (!process.isAlive()) {
+                throw new IOException("서버가 종료되었습니다. " + SERVER_LOG + " 참고");
+            }
+            if (log.exists() && Files.readString(log.toPath()).contains("에서 대기 중")) {
+                System.out.println("서버 시작 (pid " + process.pid() + ", " + mode + ", 포트 " + port + ")");
+                return process;
+            }
+            Thread.sleep(100);
+        }
+        process.destroy();
+        throw new IOException("서버가 " + SETUP_TIMEOUT_SECONDS + "초 안에 시작되지 않았습니다.");
+    }
+
+    // 방마다 접속, 방 만들기, 입장, 게임 시작 (동시에 SETUP_CONCURRENCY개 방씩)
+    private void setUpTables(int tables) throws InterruptedException {
+        Semaphore permits = new Semaphore(SETUP_CONCURRENCY);
+        AtomicInteger ready = new AtomicInteger();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < tables; t++) {
+                permits.acquire();
+                int table = t;
+                executor.submit(() -> {
+                    try {
+                        setUpTable(table);
+                        int done = ready.incrementAndGet();
+                        if (done % 100 == 0) {
+                            System.out.println("방 " + done + " / " + tables);
+                        }
+                    } catch (Exception e) {
+                        firstError.compareAndSet(null, "방 " + table + " 준비 실패: " + e);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+        }
+        if (ready.get() < tables) {
+            System.out.println("준비하지 못한 방 " + (tables - ready.get()) + "개: " + firstError.get());
+        }
+    }
+
+    private void setUpTable(int table) throws Exception {
+        String title = "load-" + table;
+        SimClient owner = newClient(title + "-0", SimClient.Role.OWNER);
+        CompletableFuture<String> roomId = new CompletableFuture<>();
+        roomIds.put(title, roomId);
+        owner.send(new OmokMsg(owner.uid(), OmokMsg.MODE_MAKE_ROOM, title));
+        String id = roomId.get(SETUP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        roomIds.remove(title);
+
+        // 두 번째로 들어온 사람이 상대, 나머지는 관전자가 된다
+        newClient(title + "-1", SimClient.Role.PLAYER).join(id);
+        for (int s = 0; s < spectators; s++) {
+            newClient(title + "-" + (s + 2), SimClient.Role.SPECTATOR).join(id);
+        }
+        owner.send(new OmokMsg(owner.uid(), OmokMsg.MODE_GAME_START));
+    }
+
+    private SimClient newClient(String uid, SimClient.Role role) throws IOException {
+        SimClient client = new SimClient(this, uid, role);
+        client.connect(host, port);
+        clients.add(client);
+        return client;
+    }
+
+    // 측정 시간 동안 REPORT_SECONDS마다 구간 결과를 출력하고 끝에 전체 결과 출력
+    private void measure(int tables, ServerProbe probe) throws InterruptedException {
+        total.reset();
+        interval.reset();
+        long received = receivedCount.sum();
+        long sent = sentCount.sum();
+        long stones = stoneCount.sum();
+        long games = gameCount.sum();
+        long rejected = rejectedCount.sum();
+        if (probe != null) {
+            probe.cpuCores();
+        }
+
+        long start = System.nanoTime();
+        long startCpu = self.getProcessCpuTime();
+        long lastCpu = startCpu;
+        long lastReceived = received;
+        long lastSent = sent;
+        long lastStones = stones;
+        double cpuSum = 0;
+        long maxHeap = 0;
+        int samples = 0;
+        for (int elapsed = REPORT_SECONDS; elapsed <= durationSeconds; elapsed += REPORT_SECONDS) {
+            Thread.sleep(Math.max(0, start + TimeUnit.SECONDS.toNanos(elapsed) - System.nanoTime()) / 1_000_000);
+            long nowReceived = receivedCount.sum();
+            long nowSent = sentCount.sum();
+            long nowStones = stoneCount.sum();
+            long nowCpu = self.getProcessCpuTime();
+            String server = "";
+            if (probe != null) {
+                double cores = probe.cpuCores();
+                long heap = probe.heap().getUsed();
+                cpuSum += cores;
+                maxHeap = Math.max(maxHeap, heap);
+                samples++;
+                server = String.format(" | 서버 CPU %.2f코어 힙 %dMB", cores, heap >> 20);
+            }
+            System.out.printf("[%4ds] 착수 %6.0f/s  %s | 수신 %8.0f msg/s 송신 %7.0f msg/s | 끊김 %d | 생성기 CPU %.2f코어%s%n",
+                    elapsed, (double) (nowStones - lastStones) / REPORT_SECONDS, interval.summary(),
+                    (double) (nowReceived - lastReceived) / REPORT_SECONDS,
+                    (double) (nowSent - lastSent) / REPORT_SECONDS, disconnectedCount.get(),
+                    (nowCpu - lastCpu) / (REPORT_SECONDS * 1e9), server);
+            interval.reset();
+            lastReceived = nowReceived;
+            lastSent = nowSent;
+            lastStones = nowStones;
+            lastCpu = nowCpu;
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        System.out.println();
+        System.out.printf("==== 결과 (%.0f초, 사용자 %d명, 방 %d개, 관전자 %d명씩) ====%n",
+                seconds, clients.size(), tables, spectators);
+        System.out.printf("착수 -> STONE_PLACED 지연 (%d건): %s%n", total.count(), total.summary());
+        System.out.printf("착수 %.0f/s, 수신 %.0f msg/s, 송신 %.0f msg/s%n",
+                (stoneCount.sum() - stones) / seconds, (receivedCount.sum() - received) / seconds,
+                (sentCount.sum() - sent) / seconds);
+        System.out.printf("끝난 게임 %d, 거절된 착수 %d, 끊긴 연결 %d%n",
+                gameCount.sum() - games, rejectedCount.sum() - rejected, disconnectedCount.get());
+        System.out.printf("생성기 CPU 평균 %.2f코어%n", (self.getProcessCpuTime() - startCpu) / (seconds * 1e9));
+        if (samples > 0) {
+            System.out.printf("서버 CPU 평균 %.2f코어, 최대 힙 %dMB%n", cpuSum / samples, maxHeap >> 20);
+        }
+        if (firstError.get() != null) {
+            System.out.println("첫 오류: " + firstError.get());
+        }
+    }
+}
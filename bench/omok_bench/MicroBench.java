@@ -0,0 +1,99 @@
+package omok_bench;
+
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+
+// 의존성 없는 간단한 마이크로벤치마크 도구
+// 워밍업 후 일정 시간 동안 반복 실행하여 ns/op와 스레드 할당 바이트/op를 측정한다.
+// 처리량(op/s)과 할당 속도(MB/s), 측정 중 일어난 GC 횟수도 함께 출력한다. (JMH의 -prof gc에 해당)
+public final class MicroBench {
+    private static final long WARMUP_NANOS = 1_000_000_000L;   // 워밍업 1초
+    private static final long ROUND_NANOS = 200_000_000L;     // 측정 라운드 0.2초
+    private static final int ROUNDS = 5;
+
+    // JIT가 결과를 버리지 못하도록 값을 흘려보내는 곳
+    public static volatile Object sink;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    private MicroBench() {
+    }
+
+    // 측정 대상 연산
+    public interface Op {
+        Object run() throws Exception;
+    }
+
+    // 측정 결과
+    public static class Result {
+        public final String name;
+        public final double nsPerOp;
+        public final double bytesPerOp;
+        public final long gcCount;       // 측정 라운드 동안의 GC 횟수
+
+        Result(String name, double nsPerOp, double bytesPerOp, long gcCount) {
+            this.name = name;
+            this.nsPerOp = nsPerOp;
+            this.bytesPerOp = bytesPerOp;
+            this.gcCount = gcCount;
+        }
+
+        public double opsPerSecond() {
+            return 1e9 / nsPerOp;
+        }
+
+        // 할당 속도 (MB/s)
+        public double allocRate() {
+            return bytesPerOp * opsPerSecond() / (1024 * 1024);
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-40s %12.1f ns/op %12.1f B/op %14.0f op/s %9.1f MB/s %4d gc",
+                    name, nsPerOp, bytesPerOp, opsPerSecond(), allocRate(), gcCount);
+        }
+    }
+
+    // 연산 하나를 측정. 라운드별 중앙값을 결과로 쓴다.
+    public static Result measure(String name, Op op) throws Exception {
+        // 워밍업 및 한 라운드에 들어갈 반복 횟수 추정
+        long ops = 0;
+        long start = System.nanoTime();
+        while (System.nanoTime() - start < WARMUP_NANOS) {
+            sink = op.run();
+            ops++;
+        }
+        long batch = Math.max(1, ops * ROUND_NANOS / WARMUP_NANOS);
+
+        double[] ns = new double[ROUNDS];
+        double[] bytes = new double[ROUNDS];
+        long threadId = Thread.currentThread().threadId();
+        long gcBefore = gcCount();
+        for (int r = 0; r < ROUNDS; r++) {
+            long allocBefore = THREADS.getThreadAllocatedBytes(threadId);
+            long t0 = System.nanoTime();
+            for (long i = 0; i < batch; i++) {
+                sink = op.run();
+            }
+            long t1 = System.nanoTime();
+            long allocAfter = THREADS.getThreadAllocatedBytes(threadId);
+            ns[r] = (double) (t1 - t0) / batch;
+            bytes[r] = (double) (allocAfter - allocBefore) / batch;
+        }
+        Arrays.sort(ns);
+        Arrays.sort(bytes);
+        Result result = new Result(name, ns[ROUNDS / 2], bytes[ROUNDS / 2], gcCount() - gcBefore);
+        System.out.println(result);
+        return result;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+}
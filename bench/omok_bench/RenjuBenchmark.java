@@ -0,0 +1,109 @@
+package omok_bench;
+
+import omok_server.OmokRuleChecker;
+import omok_server.RenjuRuleChecker;
+import omok_shared.BitBoard;
+
+import java.util.Random;
+
+// 렌주 금수 판정 벤치마크
+// 먼저 RenjuCorpus의 국면을 모두 맞히는지 확인하고 (기존 문자열 판정 결과도 함께 출력),
+// 재귀 확인이 일어나는 최악 국면 - 흑돌이 몰린 판에서 기존 판정이 금수라고 하는 수(삼삼/사사 모양) - 에서
+// 기억(memo) 없이 / 기억을 쓰며 판정하는 시간을 기존 판정과 비교한다.
+//   java omok_bench.RenjuBenchmark
+public class RenjuBenchmark {
+    private static final int SIZE = BitBoard.SIZE;
+    private static final int POSITIONS = 256;
+
+    public static void main(String[] args) throws Exception {
+        RenjuRuleChecker renju = new RenjuRuleChecker(0);
+        OmokRuleChecker reference = new OmokRuleChecker();
+
+        System.out.println("==== 확인 국면 ====");
+        System.out.printf("%-36s %6s %6s %6s%n", "국면", "기대", "렌주", "기존");
+        int wrong = 0;
+        for (RenjuCorpus.Case c : RenjuCorpus.CASES) {
+            boolean actual = renju.isForbiddenAt(c.board, c.moveX, c.moveY);
+            boolean legacy = reference.isForbiddenMove(c.toArray(), c.moveX, c.moveY);
+            System.out.printf("%-36s %6s %6s %6s%s%n", c.name, mark(c.forbidden), mark(actual), mark(legacy),
+                    actual == c.forbidden ? "" : "  <- 틀림");
+            if (actual != c.forbidden) {
+                wrong++;
+            }
+        }
+        if (wrong > 0) {
+            throw new IllegalStateException("렌주 판정이 틀린 국면 " + wrong + "개");
+        }
+
+        // 최악 국면: 흑 70%로 좁은 영역에 돌을 몰아 둔 판에서 기존 판정이 금수라고 하는 빈 칸
+        Random random = new Random(20240615L);
+        BitBoard[] boards = new BitBoard[POSITIONS];
+        int[][][] arrays = new int[POSITIONS][][];
+        int[] xs = new int[POSITIONS];
+        int[] ys = new int[POSITIONS];
+        int found = 0;
+        while (found < POSITIONS) {
+            int[][] array = new int[SIZE][SIZE];
+            BitBoard board = new BitBoard();
+            int cx = 3 + random.nextInt(SIZE - 6);
+            int cy = 3 + random.nextInt(SIZE - 6);
+            for (int s = 0; s < 40; s++) {
+                int x = Math.floorMod(cx + random.nextInt(9) - 4, SIZE);
+                int y = Math.floorMod(cy + random.nextInt(9) - 4, SIZE);
+                if (array[y][x] != 0) continue;
+                int color = random.nextInt(10) < 7 ? BitBoard.BLACK : BitBoard.WHITE;
+                array[y][x] = color;
+                board.place(x, y, color);
+            }
+            for (int y = 0; y < SIZE && found < POSITIONS; y++) {
+                for (int x = 0; x < SIZE && found < POSITIONS; x++) {
+                    if (array[y][x] != 0) continue;
+                    array[y][x] = BitBoard.BLACK;
+                    boolean shape = reference.isForbiddenMove(array, x, y);
+                    array[y][x] = 0;
+                    if (shape && random.nextInt(4) == 0) {
+                        int[][] copy = new int[SIZE][];
+                        for (int row = 0; row < SIZE; row++) {
+                            copy[row] = array[row].clone();
+                        }
+                        copy[y][x] = BitBoard.BLACK;
+                        BitBoard snapshot = new BitBoard();
+                        snapshot.copyFrom(board);
+                        boards[found] = snapshot;
+                        arrays[found] = copy;
+                        xs[found] = x;
+                        ys[found] = y;
+                        found++;
+                    }
+                }
+            }
+        }
+        int renjuForbidden = 0;
+        for (int p = 0; p < POSITIONS; p++) {
+            if (renju.isForbiddenAt(boards[p], xs[p], ys[p])) {
+                renjuForbidden++;
+            }
+        }
+        System.out.println();
+        System.out.println("==== 최악 국면 " + POSITIONS + "개 (기존 판정 모두 금수, 렌주 금수 " + renjuForbidden + "개) ====");
+
+        int[] next = new int[1];
+        MicroBench.measure("기존 OmokRuleChecker", () -> {
+            int p = next[0]++ & (POSITIONS - 1);
+            return reference.isForbiddenMove(arrays[p], xs[p], ys[p]);
+        });
+        MicroBench.measure("렌주 (기억 없음)", () -> {
+            int p = next[0]++ & (POSITIONS - 1);
+            return renju.isForbiddenAt(boards[p], xs[p], ys[p]);
+        });
+        RenjuRuleChecker memoized = new RenjuRuleChecker();
+        MicroBench.measure("렌주 (기억 1024칸)", () -> {
+            int p = next[0]++ & (POSITIONS - 1);
+            return memoized.isForbiddenAt(boards[p], xs[p], ys[p]);
+        });
+    }
+
+    private static String mark(boolean forbidden) {
+        return forbidden ? "금수" : "-";
+    }
+}
@@ -0,0 +1,229 @@
+package omok_bench;
+
+import omok_shared.BitBoard;
+
+// 렌주 금수 판정 확인용 국면 모음
+// 판은 15줄 문자열: X 흑, O 백, * 이번에 둘 흑 수, 나머지는 빈칸. 기대값은 렌주 규칙의 금수 여부.
+// 문자열 패턴 판정(OmokRuleChecker)이 틀리는 국면(가짜 3, 한 줄 사사, 오목 우선 등)을 일부러 넣었다.
+final class RenjuCorpus {
+
+    static final class Case {
+        final String name;
+        final boolean forbidden;
+        final BitBoard board = new BitBoard();   // * 자리는 비어 있음
+        int moveX = -1;
+        int moveY = -1;
+
+        Case(String name, boolean forbidden, String... rows) {
+            this.name = name;
+            this.forbidden = forbidden;
+            for (int y = 0; y < rows.length; y++) {
+                for (int x = 0; x < rows[y].length(); x++) {
+                    switch (rows[y].charAt(x)) {
+                        case 'X': board.place(x, y, BitBoard.BLACK); break;
+                        case 'O': board.place(x, y, BitBoard.WHITE); break;
+                        case '*': moveX = x; moveY = y; break;
+                        default: break;
+                    }
+                }
+            }
+            if (moveX < 0) {
+                throw new IllegalArgumentException("둘 자리(*)가 없습니다: " + name);
+            }
+        }
+
+        // 흑 수를 놓은 int[15][15] 판 (OmokRuleChecker용)
+        int[][] toArray() {
+            int[][] array = new int[BitBoard.SIZE][BitBoard.SIZE];
+            for (int y = 0; y < BitBoard.SIZE; y++) {
+                for (int x = 0; x < BitBoard.SIZE; x++) {
+                    array[y][x] = board.get(x, y);
+                }
+            }
+            array[moveY][moveX] = BitBoard.BLACK;
+            return array;
+        }
+    }
+
+    static final Case[] CASES = {
+            new Case("삼삼", true,
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    ".......X.......",
+                    ".......X.......",
+                    ".....XX*.......",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "..............."),
+            new Case("띈 삼 + 삼", true,
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    ".......X.......",
+                    ".......X.......",
+                    ".....X.*X......",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "..............."),
+            new Case("사사 (두 줄)", true,
+                    "...............",
+                    "...............",
+                    "...............",
+                    ".......O.......",
+                    ".......X.......",
+                    ".......X.......",
+                    ".......X.......",
+                    "...OXXX*.......",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "..............."),
+            new Case("사사 (한 줄 안의 두 4목)", true,
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...X.XX*.X.....",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "..............."),
+            new Case("장목", true,
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "..XXX*XX.......",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "..............."),
+            new Case("오목 우선 (사사와 함께 오목)", false,
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...O...O.......",
+                    "....X..X.......",
+                    ".....X.X.......",
+                    "......XX.......",
+                    "...XXXX*.......",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "..............."),
+            new Case("사삼", false,
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    ".......X.......",
+                    ".......X.......",
+                    "...OXXX*.......",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "..............."),
+            new Case("가짜 삼 (양쪽이 막혀 열린 4가 안 됨)", false,
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    ".......X.......",
+                    ".......X.......",
+                    "...O.XX*.O.....",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "..............."),
+            new Case("가짜 삼 (열린 4 자리가 모두 사사 금수)", false,
+                    "...............",
+                    "...............",
+                    "...............",
+                    ".....O...O.....",
+                    ".....X...X.....",
+                    ".....X...X.....",
+                    ".....X...X.....",
+                    "......XX*......",
+                    "........X......",
+                    "........X......",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "..............."),
+            new Case("진짜 삼 (열린 4 자리 하나만 금수)", true,
+                    "...............",
+                    "...............",
+                    "...............",
+                    ".....O.........",
+                    ".....X.........",
+                    ".....X.........",
+                    ".....X.........",
+                    "......XX*......",
+                    "........X......",
+                    "........X......",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "..............."),
+            new Case("판 끝에 막힌 3 + 삼", false,
+                    ".......X.......",
+                    ".......X.......",
+                    ".....XX*.......",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "...............",
+                    "..............."),
+    };
+
+    private RenjuCorpus() {
+    }
+}
@@ -0,0 +1,217 @@
+package omok_bench;
+
+import omok_server.GameRecord;
+import omok_server.OmokRuleChecker;
+import omok_server.PatternRuleChecker;
+import omok_server.RenjuRuleChecker;
+import omok_server.ThreatBoard;
+import omok_shared.BitBoard;
+import omok_shared.MoveRecord;
+
+import java.util.List;
+import java.util.Random;
+
+// 규칙 판정 / 승리 판정 / 게임 기록 벤치마크
+// 먼저 표로 판정하는 PatternRuleChecker가 기존 OmokRuleChecker와 같은 답을 내는지 흑이 몰린 무작위 판 약 백만 칸에서 확인하고,
+// BoardCorpus가 만든 중반(20 ~ 59수)과 꽉 찬 종반(120수 이후) 국면에서
+//  - 흑 금수 판정: 기존 OmokRuleChecker, PatternRuleChecker, RenjuRuleChecker (기억 없음)
+//  - 승리 판정: 기존 배열 checkWin/countStones, BitBoard.isFive, ThreatBoard 조회
+// 를 재고, 같은 대국으로 ThreatBoard 갱신 비용과 GameRecord 쓰기/읽기 경로를 잰다.
+// 엔진을 바꿀 때 이 출력과 비교한다 (시드가 고정이라 매번 같은 국면).
+//   java omok_bench.RuleBenchmark
+public class RuleBenchmark {
+    private static final int POSITIONS = 1024;
+    private static final int GAMES = 64;
+    private static final long SEED = 20240620L;
+    private static final int PATTERN_CHECKS = 1_000_000;
+
+    public static void main(String[] args) throws Exception {
+        List<BoardCorpus.Position> mid = BoardCorpus.midGame(POSITIONS, SEED);
+        List<BoardCorpus.Position> end = BoardCorpus.endGame(POSITIONS, SEED + 1);
+        List<int[]> games = BoardCorpus.games(GAMES, SEED + 2);
+        System.out.printf("대국 %d개, 평균 %.1f수%n", games.size(), (double) totalMoves(games) / games.size());
+
+        patternEquivalence(mid, end);
+        rules("중반", mid);
+        rules("종반", end);
+        threats(games);
+        records(games);
+    }
+
+    // 금수 판정과 승리 판정
+    private static void rules(String label, List<BoardCorpus.Position> positions) throws Exception {
+        BoardCorpus.Position[] all = positions.toArray(new BoardCorpus.Position[0]);
+        BoardCorpus.Position[] black = positions.stream()
+                .filter(p -> p.color == BitBoard.BLACK).toArray(BoardCorpus.Position[]::new);
+        ThreatBoard[] threatBoards = new ThreatBoard[all.length];
+        for (int i = 0; i < all.length; i++) {
+            threatBoards[i] = new ThreatBoard();
+            for (int y = 0; y < BitBoard.SIZE; y++) {
+                for (int x = 0; x < BitBoard.SIZE; x++) {
+                    int color = all[i].before.get(x, y);
+                    if (color != BitBoard.EMPTY) {
+                        threatBoards[i].place(x, y, color);
+                    }
+                }
+            }
+        }
+
+        System.out.println();
+        System.out.println("==== " + label + " 국면 " + all.length + "개 (흑 수 " + black.length + "개) ====");
+        OmokRuleChecker reference = new OmokRuleChecker();
+        PatternRuleChecker pattern = new PatternRuleChecker();
+        RenjuRuleChecker renju = new RenjuRuleChecker(0);
+        int[] next = new int[1];
+        MicroBench.measure(label + " 금수 OmokRuleChecker", () -> {
+            BoardCorpus.Position p = black[next[0]++ % black.length];
+            return reference.isForbiddenMove(p.after, p.x, p.y);
+        });
+        // (x, y) 자체는 읽지 않으므로 두기 전의 판을 그대로 쓴다 (객체를 만들지 않으므로 0 B/op여야 한다)
+        MicroBench.measure(label + " 금수 PatternRuleChecker", () -> {
+            BoardCorpus.Position p = black[next[0]++ % black.length];
+            return pattern.isForbiddenMove(p.before, p.x, p.y);
+        });
+        MicroBench.measure(label + " 금수 RenjuRuleChecker", () -> {
+            BoardCorpus.Position p = black[next[0]++ % black.length];
+            return renju.isForbiddenAt(p.before, p.x, p.y);
+        });
+        MicroBench.measure(label + " 승리 배열 checkWin", () -> {
+            BoardCorpus.Position p = all[next[0]++ % all.length];
+            return BoardCorpus.arrayCheckWin(p.after, p.x, p.y, p.color);
+        });
+        MicroBench.measure(label + " 승리 BitBoard.isFive", () -> {
+            BoardCorpus.Position p = all[next[0]++ % all.length];
+            p.before.place(p.x, p.y, p.color);
+            boolean five = p.before.isFive(p.x, p.y, p.color);
+            p.before.remove(p.x, p.y);
+            return five;
+        });
+        MicroBench.measure(label + " 승리+금수 ThreatBoard 조회", () -> {
+            int i = next[0]++ % all.length;
+            BoardCorpus.Position p = all[i];
+            return threatBoards[i].isWinningMove(p.x, p.y, p.color) || threatBoards[i].isForbidden(p.x, p.y);
+        });
+    }
+
+    // PatternRuleChecker와 OmokRuleChecker의 판정이 같은지 확인
+    // 코퍼스의 흑 수 전부와, 흑 70%로 좁은 영역에 돌을 몰아 둔 판의 모든 빈 칸 (금수 모양이 자주 나오는 판)
+    private static void patternEquivalence(List<BoardCorpus.Position> mid, List<BoardCorpus.Position> end) {
+        OmokRuleChecker reference = new OmokRuleChecker();
+        PatternRuleChecker pattern = new PatternRuleChecker();
+        long checks = 0;
+        long forbidden = 0;
+        for (List<BoardCorpus.Position> positions : List.of(mid, end)) {
+            for (BoardCorpus.Position p : positions) {
+                if (p.color != BitBoard.BLACK) {
+                    continue;
+                }
+                boolean expected = reference.isForbiddenMove(p.after, p.x, p.y);
+                if (expected != pattern.isForbiddenMove(p.before, p.x, p.y)) {
+                    throw new IllegalStateException("금수 판정 불일치: 코퍼스 (" + p.x + ", " + p.y + ")");
+                }
+                checks++;
+                forbidden += expected ? 1 : 0;
+            }
+        }
+
+        int size = BitBoard.SIZE;
+        Random random = new Random(SEED + 3);
+        while (checks < PATTERN_CHECKS) {
+            int[][] array = new int[size][size];
+            BitBoard board = new BitBoard();
+            int cx = 3 + random.nextInt(size - 6);
+            int cy = 3 + random.nextInt(size - 6);
+            for (int s = 0; s < 40; s++) {
+                int x = Math.floorMod(cx + random.nextInt(9) - 4, size);
+                int y = Math.floorMod(cy + random.nextInt(9) - 4, size);
+                if (array[y][x] != 0) continue;
+                int color = random.nextInt(10) < 7 ? BitBoard.BLACK : BitBoard.WHITE;
+                array[y][x] = color;
+                board.place(x, y, color);
+            }
+            for (int y = 0; y < size; y++) {
+                for (int x = 0; x < size; x++) {
+                    if (array[y][x] != 0) continue;
+                    array[y][x] = BitBoard.BLACK;
+                    boolean expected = reference.isForbiddenMove(array, x, y);
+                    array[y][x] = 0;
+                    if (expected != pattern.isForbiddenMove(board, x, y)) {
+                        throw new IllegalStateException("금수 판정 불일치: 무작위 판 (" + x + ", " + y + ")");
+                    }
+                    checks++;
+                    forbidden += expected ? 1 : 0;
+                }
+            }
+        }
+        System.out.println("PatternRuleChecker 판정 " + checks + "칸 일치 (금수 " + forbidden + "칸)");
+    }
+
+    // 한 판을 처음부터 두며 ThreatBoard를 갱신하는 비용
+    private static void threats(List<int[]> games) throws Exception {
+        System.out.println();
+        System.out.println("==== ThreatBoard 갱신 (한 판) ====");
+        ThreatBoard threats = new ThreatBoard();
+        int[] next = new int[1];
+        MicroBench.Result result = MicroBench.measure("ThreatBoard 한 판 두기", () -> {
+            int[] game = games.get(next[0]++ % games.size());
+            threats.clear();
+            for (int i = 0; i < game.length; i++) {
+                threats.place(game[i] % BitBoard.SIZE, game[i] / BitBoard.SIZE,
+                        i % 2 == 0 ? BitBoard.BLACK : BitBoard.WHITE);
+            }
+            return threats;
+        });
+        System.out.printf("  수당 %.1f ns%n", result.nsPerOp * games.size() / totalMoves(games));
+    }
+
+    // GameRecord 쓰기 (수 + 다섯 수마다 훈수) / 읽기
+    private static void records(List<int[]> games) throws Exception {
+        System.out.println();
+        System.out.println("==== GameRecord (한 판) ====");
+        GameRecord[] records = new GameRecord[games.size()];
+        for (int g = 0; g < records.length; g++) {
+            records[g] = record(games.get(g));
+        }
+        int[] next = new int[1];
+        MicroBench.measure("GameRecord 쓰기", () -> record(games.get(next[0]++ % games.size())));
+        MicroBench.measure("GameRecord 읽기 (번호로)", () -> {
+            GameRecord record = records[next[0]++ % records.length];
+            int sum = 0;
+            for (int i = 0; i < record.getMoveCount(); i++) {
+                sum += record.getX(i) + record.getY(i) + (record.isSpectator(i) ? record.getSpectatorColor(i) : 0);
+            }
+            return sum;
+        });
+        MicroBench.measure("GameRecord 읽기 (getAllMoves)", () -> {
+            GameRecord record = records[next[0]++ % records.length];
+            int sum = 0;
+            for (MoveRecord move : record.getAllMoves()) {
+                sum += move.getX() + move.getY();
+            }
+            return sum;
+        });
+        MicroBench.measure("GameRecord toReplayData", () -> records[next[0]++ % records.length].toReplayData());
+    }
+
+    private static GameRecord record(int[] game) {
+        GameRecord record = new GameRecord("black", "white");
+        for (int i = 0; i < game.length; i++) {
+            int x = game[i] % BitBoard.SIZE;
+            int y = game[i] / BitBoard.SIZE;
+            record.addPlayerMove(i % 2 == 0 ? "black" : "white", x, y);
+            if (i % 5 == 4) {
+                record.addSpectatorSuggestion("advisor" + (i % 3), x, y, 0xFF0000);
+            }
+        }
+        record.endGame("black");
+        return record;
+    }
+
+    private static long totalMoves(List<int[]> games) {
+        long total = 0;
+        for (int[] game : games) {
+            total += game.length;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,72 @@
+package omok_bench;
+
+import com.sun.tools.attach.VirtualMachine;
+
+import javax.management.MBeanServerConnection;
+import javax.management.remote.JMXConnector;
+import javax.management.remote.JMXConnectorFactory;
+import javax.management.remote.JMXServiceURL;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.MemoryUsage;
+
+// 서버 프로세스의 CPU / 힙 사용량 조회
+// 같은 기계에서 실행 중인 서버 JVM에 붙어(attach) 로컬 관리 에이전트를 켜고 JMX로 읽는다.
+// 서버 쪽에는 아무 옵션도 필요 없다.
+final class ServerProbe implements AutoCloseable {
+    private final JMXConnector connector;
+    private final MemoryMXBean memory;
+    private final com.sun.management.OperatingSystemMXBean os;
+    private long lastCpuNanos;
+    private long lastWallNanos;
+
+    private ServerProbe(JMXConnector connector) throws IOException {
+        this.connector = connector;
+        MBeanServerConnection connection = connector.getMBeanServerConnection();
+        this.memory = ManagementFactory.newPlatformMXBeanProxy(connection,
+                ManagementFactory.MEMORY_MXBEAN_NAME, MemoryMXBean.class);
+        this.os = ManagementFactory.newPlatformMXBeanProxy(connection,
+                ManagementFactory.OPERATING_SYSTEM_MXBEAN_NAME, com.sun.management.OperatingSystemMXBean.class);
+        this.lastCpuNanos = os.getProcessCpuTime();
+        this.lastWallNanos = System.nanoTime();
+    }
+
+    static ServerProbe attach(long pid) throws Exception {
+        VirtualMachine vm = VirtualMachine.attach(String.valueOf(pid));
+        try {
+            String address = vm.startLocalManagementAgent();
+            return new ServerProbe(JMXConnectorFactory.connect(new JMXServiceURL(address)));
+        } finally {
+            vm.detach();
+        }
+    }
+
+    // 지난 호출 이후 서버가 쓴 CPU (코어 수 단위, 1.0 = 코어 하나를 꽉 씀)
+    double cpuCores() {
+        long cpu = os.getProcessCpuTime();
+        long wall = System.nanoTime();
+        double cores = (double) (cpu - lastCpuNanos) / Math.max(1, wall - lastWallNanos);
+        lastCpuNanos = cpu;
+        lastWallNanos = wall;
+        return cores;
+    }
+
+    MemoryUsage heap() {
+        return memory.getHeapMemoryUsage();
+    }
+
+    // "CPU 1.25코어  힙 123/512MB"
+    String sample() {
+        MemoryUsage heap = heap();
+        return String.format("CPU %.2f코어  힙 %d/%dMB", cpuCores(), heap.getUsed() >> 20, heap.getCommitted() >> 20);
+    }
+
+    @Override
+    public void close() {
+        try {
+            connector.close();
+        } catch (IOException ignored) {
+        }
+    }
+}
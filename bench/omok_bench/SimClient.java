@@ -0,0 +1,353 @@
+package omok_bench;
+
+import omok_server.ThreatBoard;
+import omok_shared.BitBoard;
+import omok_shared.OmokMsg;
+import omok_shared.OmokWire;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// 부하 생성기의 가상 사용자 한 명
+// 실제 클라이언트처럼 핸드셰이크(이진 코덱), 로그인, 로비 스냅샷 요청을 하고, 받은 메시지에 반응해
+// 대국(무작위 합법 수, 오목 자리와 막을 자리는 우선), 훈수 요청/제공, 채팅을 한다.
+// 수신은 가상 스레드 하나가 맡고, 생각 시간 뒤의 행동은 LoadGenerator의 스케줄러에서 실행한다.
+final class SimClient {
+    enum Role {
+        OWNER,      // 방장 (흑, 게임 시작/재시작)
+        PLAYER,     // 상대 (백)
+        SPECTATOR   // 관전자 (훈수, 채팅)
+    }
+
+    private static final int SIZE = BitBoard.SIZE;
+    private static final int CONNECT_TIMEOUT_MS = 5000;
+
+    private final LoadGenerator generator;
+    private final String uid;
+    private final Role role;
+    private final int color;
+    private Socket socket;
+    private DataInputStream in;
+    private DataOutputStream out;
+    private byte codec;
+    private volatile boolean closed = false;
+    private final CompletableFuture<Void> entered = new CompletableFuture<>();
+
+    // 대국 상태 (this로 보호)
+    private final ThreatBoard threats = new ThreatBoard();
+    private boolean playing = false;
+    private int game = 0;               // 게임이 바뀌면 예약해 둔 행동을 버리기 위한 번호
+    private int nextColor = BitBoard.BLACK;
+    private int suggestion = -1;        // 받은 훈수 칸
+    private boolean advisorSelected = false;
+    private int pendingCell = -1;       // 보내고 아직 STONE_PLACED를 받지 못한 착수
+    private long pendingSentNanos;
+
+    SimClient(LoadGenerator generator, String uid, Role role) {
+        this.generator = generator;
+        this.uid = uid;
+        this.role = role;
+        this.color = role == Role.OWNER ? BitBoard.BLACK : BitBoard.WHITE;
+    }
+
+    String uid() {
+        return uid;
+    }
+
+    // 연결, 핸드셰이크, 로그인 후 수신 스레드 시작
+    void connect(String host, int port) throws IOException {
+        socket = new Socket();
+        socket.setTcpNoDelay(true);
+        socket.connect(new InetSocketAddress(host, port), CONNECT_TIMEOUT_MS);
+        out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+        in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        OmokWire.writeHandshake(out, OmokWire.CODEC_BINARY);
+        codec = in.readByte();
+        Thread.ofVirtual().name("sim-" + uid).start(this::receiveLoop);
+        send(new OmokMsg(uid, OmokMsg.MODE_LOGIN));
+        send(new OmokMsg(uid, OmokMsg.MODE_LOBBY_SNAPSHOT_REQUEST));
+    }
+
+    // 방에 입장하고 입장 응답을 기다린다
+    void join(String roomId) throws Exception {
+        send(new OmokMsg(uid, OmokMsg.MODE_JOIN_ROOM, roomId));
+        entered.get(LoadGenerator.SETUP_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+    }
+
+    void send(OmokMsg msg) {
+        try {
+            synchronized (out) {
+                OmokWire.writeFrame(out, msg, codec);
+            }
+            generator.sent();
+        } catch (IOException e) {
+            lost(e);
+        }
+    }
+
+    void close() {
+        closed = true;
+        try {
+            socket.close();
+        } catch (IOException ignored) {
+        }
+    }
+
+    private void receiveLoop() {
+        try {
+            while (true) {
+                OmokMsg msg = OmokWire.readFrame(in, codec);
+                generator.received();
+                handle(msg);
+            }
+        } catch (IOException e) {
+            lost(e);
+        }
+    }
+
+    private void lost(IOException e) {
+        if (!closed) {
+            closed = true;
+            generator.disconnected(uid, e);
+        }
+    }
+
+    // 서버 메시지 하나에 반응
+    private void handle(OmokMsg msg) {
+        switch (msg.getMode()) {
+            case OmokMsg.MODE_ROOM_ADDED:
+                generator.roomAdded(msg.getMessage());
+                break;
+            case OmokMsg.MODE_ROOM_ENTERED:
+                entered.complete(null);
+                break;
+            case OmokMsg.MODE_START:
+                if ("SUCCESS".equals(msg.getMessage())) {
+                    gameStarted();
+                }
+                break;
+            case OmokMsg.MODE_STONE_PLACED:
+                stonePlaced(msg.getUserID(), msg.getX(), msg.getY(), msg.getColor());
+                break;
+            case OmokMsg.MODE_TURN_CHANGED:
+                if (role != Role.SPECTATOR && msg.getMessage().startsWith(uid + "님(")) {
+                    myTurn();
+                }
+                break;
+            case OmokMsg.MODE_ADVICE_REQUEST_BROADCAST:
+                if (ThreadLocalRandom.current().nextBoolean()) {
+                    generator.later(generator.thinkMillis() / 4,
+                            () -> send(new OmokMsg(uid, OmokMsg.MODE_OFFER_ADVICE)));
+                }
+                break;
+            case OmokMsg.MODE_ADVICE_OFFERS_LIST:
+                selectAdvisor(msg.getMessage());
+                break;
+            case OmokMsg.MODE_ADVICE_SELECTED:
+                if (role == Role.SPECTATOR && uid.equals(msg.getAdvisorId())) {
+                    generator.later(generator.thinkMillis() / 4, this::suggest);
+                }
+                break;
+            case OmokMsg.MODE_SUGGESTION_RECEIVED:
+                synchronized (this) {
+                    suggestion = msg.getY() * SIZE + msg.getX();
+                }
+                break;
+            case OmokMsg.MODE_GAME_OVER:
+                gameOver();
+                break;
+            case OmokMsg.MODE_WAITING_STRING:
+                if (msg.getMessage() != null && msg.getMessage().startsWith("잘못된 위치")) {
+                    rejected();
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private synchronized void gameStarted() {
+        threats.clear();
+        playing = true;
+        game++;
+        nextColor = BitBoard.BLACK;
+        pendingCell = -1;
+    }
+
+    private void gameOver() {
+        synchronized (this) {
+            playing = false;
+            game++;
+            pendingCell = -1;
+        }
+        if (role == Role.OWNER) {
+            generator.gameOver();
+            generator.later(generator.restartMillis(), () -> send(new OmokMsg(uid, OmokMsg.MODE_GAME_START)));
+        }
+    }
+
+    private void stonePlaced(String playerId, int x, int y, int stoneColor) {
+        long now = System.nanoTime();
+        long latency = -1;
+        synchronized (this) {
+            if (threats.board().isEmpty(x, y)) {
+                threats.place(x, y, stoneColor);
+            }
+            nextColor = stoneColor == BitBoard.BLACK ? BitBoard.WHITE : BitBoard.BLACK;
+            if (uid.equals(playerId) && pendingCell == y * SIZE + x) {
+                latency = now - pendingSentNanos;
+                pendingCell = -1;
+            }
+        }
+        if (latency >= 0) {
+            generator.stonePlaced(latency);
+        }
+        if (ThreadLocalRandom.current().nextDouble() < generator.chatRate()) {
+            send(new OmokMsg(uid, OmokMsg.MODE_GAME_CHAT, "좋은 수네요!"));
+        }
+    }
+
+    // 내 차례: 가끔 훈수를 요청하고, 생각 시간 뒤에 둔다
+    private void myTurn() {
+        int current;
+        synchronized (this) {
+            if (!playing) {
+                return;
+            }
+            current = game;
+            suggestion = -1;
+            advisorSelected = false;
+        }
+        if (generator.hasSpectators() && ThreadLocalRandom.current().nextDouble() < generator.adviceRate()) {
+            send(new OmokMsg(uid, OmokMsg.MODE_REQUEST_ADVICE));
+        }
+        generator.later(generator.thinkMillis(), () -> move(current));
+    }
+
+    private void move(int expectedGame) {
+        int cell;
+        synchronized (this) {
+            if (!playing || game != expectedGame || pendingCell >= 0) {
+                return;
+            }
+            cell = suggestion >= 0 && isLegal(suggestion, color) ? suggestion : chooseCell(color);
+            if (cell >= 0) {
+                pendingCell = cell;
+                pendingSentNanos = System.nanoTime();
+            }
+        }
+        if (cell < 0) {
+            send(new OmokMsg(uid, OmokMsg.MODE_SURRENDER));
+        } else {
+            send(new OmokMsg(uid, OmokMsg.MODE_PLACE_STONE, cell % SIZE, cell / SIZE, color));
+        }
+    }
+
+    // 서버가 착수를 거절하면 다시 둔다
+    private void rejected() {
+        int current;
+        synchronized (this) {
+            if (pendingCell < 0) {
+                return;
+            }
+            pendingCell = -1;
+            current = game;
+        }
+        generator.rejected();
+        generator.later(generator.thinkMillis(), () -> move(current));
+    }
+
+    private void selectAdvisor(String offers) {
+        synchronized (this) {
+            if (advisorSelected || offers == null || offers.isEmpty()) {
+                return;
+            }
+            advisorSelected = true;
+        }
+        send(new OmokMsg(uid, OmokMsg.MODE_SELECT_ADVISOR, offers.split(",")[0]));
+    }
+
+    private void suggest() {
+        int cell;
+        synchronized (this) {
+            cell = playing ? chooseCell(nextColor) : -1;
+        }
+        if (cell >= 0) {
+            send(new OmokMsg(uid, OmokMsg.MODE_SUGGEST_MOVE, cell % SIZE, cell / SIZE, 0));
+        }
+    }
+
+    // 둘 칸 고르기: 오목 자리 > 상대 오목 막기 > 절반은 4목/열린 3목 자리 > 돌 근처 아무 곳. 둘 곳이 없으면 -1
+    private int chooseCell(int stoneColor) {
+        BitBoard board = threats.board();
+        int opponent = stoneColor == BitBoard.BLACK ? BitBoard.WHITE : BitBoard.BLACK;
+        int[] candidates = new int[SIZE * SIZE];
+        int[] tactical = new int[SIZE * SIZE];
+        int n = 0;
+        int t = 0;
+        int block = -1;
+        boolean empty = true;
+        for (int cell = 0; cell < SIZE * SIZE; cell++) {
+            int x = cell % SIZE;
+            int y = cell / SIZE;
+            if (!board.isEmpty(x, y)) {
+                empty = false;
+                continue;
+            }
+            if (!isLegal(cell, stoneColor)) {
+                continue;
+            }
+            if (threats.isWinningMove(x, y, stoneColor)) {
+                return cell;
+            }
+            if (threats.isWinningMove(x, y, opponent)) {
+                block = cell;
+            }
+            if (!nearStone(board, x, y)) {
+                continue;
+            }
+            candidates[n++] = cell;
+            if (threats.makesFour(x, y, stoneColor) || threats.makesOpenThree(x, y, stoneColor)) {
+                tactical[t++] = cell;
+            }
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (block >= 0) {
+            return block;
+        }
+        if (empty) {
+            return (SIZE / 2) * SIZE + SIZE / 2;
+        }
+        if (t > 0 && random.nextBoolean()) {
+            return tactical[random.nextInt(t)];
+        }
+        return n > 0 ? candidates[random.nextInt(n)] : -1;
+    }
+
+    private boolean isLegal(int cell, int stoneColor) {
+        int x = cell % SIZE;
+        int y = cell / SIZE;
+        return threats.board().isEmpty(x, y) && (stoneColor != BitBoard.BLACK || !threats.isForbidden(x, y));
+    }
+
+    private static boolean nearStone(BitBoard board, int x, int y) {
+        for (int dy = -2; dy <= 2; dy++) {
+            for (int dx = -2; dx <= 2; dx++) {
+                int nx = x + dx;
+                int ny = y + dy;
+                if (BitBoard.isInside(nx, ny) && !board.isEmpty(nx, ny)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+}
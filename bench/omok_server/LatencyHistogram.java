@@ -0,0 +1,41 @@
+package omok_server;
+
+// 지연 시간 히스토그램 (마이크로초 단위, 여러 스레드에서 동시에 기록)
+// 서버의 Histogram을 칸을 늘려(2의 거듭제곱 구간마다 32칸, 상대 오차 약 3%) 그대로 쓴다.
+// 백분위는 해당 칸의 위쪽 경계로 돌려준다.
+// (Histogram은 패키지 안에서만 보이므로 LocalConnection처럼 bench 아래에 같은 패키지로 둔다)
+public final class LatencyHistogram {
+    private static final int SUB_BITS = 5;
+
+    private final Histogram histogram = new Histogram(SUB_BITS);
+
+    // 지연 시간 하나 기록 (나노초)
+    public void record(long nanos) {
+        histogram.record(nanos / 1000);
+    }
+
+    public void reset() {
+        histogram.reset();
+    }
+
+    public long count() {
+        return histogram.count();
+    }
+
+    // 백분위 값 (q는 0 ~ 1, 마이크로초). 기록이 없으면 0
+    public long percentile(double q) {
+        return histogram.percentile(q);
+    }
+
+    // 가장 큰 기록 (마이크로초)
+    public long max() {
+        return histogram.max();
+    }
+
+    // p50 / p90 / p99 / p99.9 / 최대 (밀리초)
+    public String summary() {
+        return String.format("p50 %.2fms  p90 %.2fms  p99 %.2fms  p99.9 %.2fms  max %.2fms",
+                percentile(0.5) / 1000.0, percentile(0.9) / 1000.0, percentile(0.99) / 1000.0,
+                percentile(0.999) / 1000.0, max() / 1000.0);
+    }
+}
@@ -0,0 +1,74 @@
+package omok_server;
+
+import omok_shared.OmokMsg;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.LongAdder;
+
+// 벤치마크용 메모리 연결
+// 소켓 없이 시작하지 않은 서버에 클라이언트를 붙인다. 클라이언트가 보내는 메시지는 handleMessage로 바로 넘기고,
+// 서버가 보내는 프레임은 연결 형식대로 인코딩한 뒤 개수와 바이트 수만 센다.
+// (omok_server 패키지 안에 있어야 Connection, OutboundFrame을 쓸 수 있으므로 bench 아래에 같은 패키지로 둔다)
+public final class LocalConnection implements Connection {
+    private final OutboundFrame.Format format;
+    private final LongAdder frames = new LongAdder();
+    private final LongAdder bytes = new LongAdder();
+    private OmokServer.ClientHandler handler;
+
+    private LocalConnection(OutboundFrame.Format format) {
+        this.format = format;
+    }
+
+    // 이진 프레임 형식으로 연결
+    public static LocalConnection connect(OmokServer server) {
+        LocalConnection connection = new LocalConnection(OutboundFrame.Format.BINARY_FRAME);
+        connection.handler = server.acceptConnection(connection);
+        return connection;
+    }
+
+    // 연결하고 uid로 로그인
+    public static LocalConnection login(OmokServer server, String uid) {
+        LocalConnection connection = connect(server);
+        connection.receive(new OmokMsg(uid, OmokMsg.MODE_LOGIN));
+        return connection;
+    }
+
+    // 클라이언트가 보낸 메시지 처리. 로그아웃이면 false
+    public boolean receive(OmokMsg msg) {
+        return handler.handleMessage(msg);
+    }
+
+    public OmokServer.ClientHandler handler() {
+        return handler;
+    }
+
+    // 지금까지 받은 프레임 수
+    public long frames() {
+        return frames.sum();
+    }
+
+    // 지금까지 받은 전송 바이트 수
+    public long bytes() {
+        return bytes.sum();
+    }
+
+    @Override
+    public void write(OutboundFrame frame) throws IOException {
+        bytes.add(frame.bytes(format).length);
+        frames.increment();
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public int queueDepth() {
+        return 0;
+    }
+
+    @Override
+    public long droppedCount() {
+        return 0;
+    }
+}
@@ -1,8 +1,12 @@
 package omok_client;
 
+import omok_client.model.ReplayModel;
 import omok_client.model.RoomEntry;
+import omok_client.model.UserEntry;
 import omok_client.view.omokBoardView;
 import omok_shared.OmokMsg;
+import omok_shared.OmokWire;
+import omok_shared.ReplayData;
 
 import javax.swing.*;
 import javax.swing.border.TitledBorder;
@@ -24,13 +28,17 @@ public class OmokClient extends JFrame {
     private Socket socket; // 서버와의 연결을 관리하는 소켓
     private String serverAddress; // 접속할 서버의 IP 주소
     private int serverPort; // 서버의 포트 번호
-    private ObjectOutputStream out; // 서버로 데이터를 전송(직렬화)하는 출력 스트림
+    private DataOutputStream out; // 서버로 프레임을 전송하는 출력 스트림
+    private DataInputStream in; // 서버로부터 프레임을 수신하는 입력 스트림
+    private byte codec = OmokWire.CODEC_SERIAL; // 서버와 합의한 프레임 코덱
     private String uid;                           // 사용자 ID
     private CardLayout cardLayout = new CardLayout();
     private JPanel mainPanel = new JPanel(cardLayout);
     private Thread receiveThread;                 // 서버 메시지 수신 스레드
     private int endIndex;                         // 복기용: 전체 수의 개수
     private int currentIndex;                     // 복기용: 현재 보고 있는 수
+    private volatile ReplayModel replayModel;     // 복기용: 받아 둔 전체 기록 (없으면 서버에 요청)
+    private long lobbySeq = 0;                    // 마지막으로 반영한 로비 목록 순번 (0이면 스냅샷 대기 중)
 
     // 각 화면 패널
     private LoginPanel loginPanel;
@@ -124,9 +132,15 @@ public class OmokClient extends JFrame {
     public void connectToServer(String userID) {
         try {
             socket = new Socket(serverAddress, serverPort);
-            out = new ObjectOutputStream(new BufferedOutputStream(socket.getOutputStream()));
-            out.flush();
+            out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+            in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+
+            // 프레임 프로토콜 핸드셰이크 (이진 코덱을 요청하고 서버가 고른 코덱을 사용)
+            OmokWire.writeHandshake(out, OmokWire.CODEC_BINARY);
+            codec = in.readByte();
             sendUserID(userID);
+            // 로비 전체 목록을 받고 이후 변경은 델타로 받는다
+            send(new OmokMsg(uid, OmokMsg.MODE_LOBBY_SNAPSHOT_REQUEST));
 
             // 로비 화면으로 전환
             SwingUtilities.invokeLater(() -> {                  //<<외부 참조>>
@@ -144,20 +158,12 @@ public class OmokClient extends JFrame {
     // 서버 메시지 수신 스레드
     public void startReceiveThread() {
         receiveThread = new Thread(new Runnable() {
-            private ObjectInputStream in;
-
             @Override
             public void run() {
-                try {
-                    in = new ObjectInputStream(new BufferedInputStream(socket.getInputStream()));
-                } catch (IOException e) {
-                    lobbyDisplay("입력 스트림이 열리지 않음.");
-                }
-
                 // 메시지 수신 루프
                 while (true) {
                     try {
-                        OmokMsg msg = (OmokMsg) in.readObject();
+                        OmokMsg msg = OmokWire.readFrame(in, codec);
                         if (msg == null) {
                             disconnect();
                             lobbyDisplay("서버 연결 끊김");
@@ -167,10 +173,24 @@ public class OmokClient extends JFrame {
                         // 메시지 타입에 따라 처리
                         switch (msg.getMode()) {
                             case OmokMsg.MODE_REFRESH_USER_LIST:
-                                // 로비 사용자 목록 갱신
+                                // 로비 사용자 목록 갱신 (순번이 있으면 스냅샷)
                                 String allUser = msg.getMessage();
-                                String[] userArray = allUser.split(",");
-                                lobbyPanel.updateUserList(userArray);
+                                String[] userArray = (allUser == null || allUser.isEmpty())
+                                        ? new String[0]
+                                        : allUser.split(",");
+                                if (msg.getSeq() != 0) {
+                                    lobbySeq = msg.getSeq();
+                                }
+                                SwingUtilities.invokeLater(() -> lobbyPanel.updateUserList(userArray));    //<<외부 참조>>
+                                break;
+
+                            case OmokMsg.MODE_USER_JOINED:
+                            case OmokMsg.MODE_USER_LEFT:
+                            case OmokMsg.MODE_ROOM_ADDED:
+                            case OmokMsg.MODE_ROOM_REMOVED:
+                            case OmokMsg.MODE_ROOM_STATUS:
+                                // 로비 목록 변경 (델타)
+                                applyLobbyDelta(msg);
                                 break;
 
                             case OmokMsg.MODE_LOBBY_STRING:
@@ -190,7 +210,10 @@ public class OmokClient extends JFrame {
                                 String[] roomArray = (allRoom == null || allRoom.isEmpty())
                                         ? new String[0]
                                         : allRoom.split(",");
-                                lobbyPanel.updateRoomList(roomArray);
+                                if (msg.getSeq() != 0) {
+                                    lobbySeq = msg.getSeq();
+                                }
+                                SwingUtilities.invokeLater(() -> lobbyPanel.updateRoomList(roomArray));    //<<외부 참조>>
                                 break;
 
                             case OmokMsg.MODE_ROOM_INFO:
@@ -251,6 +274,7 @@ public class OmokClient extends JFrame {
                             case OmokMsg.MODE_START:
                                 // 게임 시작
                                 if (msg.getMessage().equals("SUCCESS")) {
+                                    replayModel = null;
                                     SwingUtilities.invokeLater(() -> showView(GAME_VIEW));                  //<<외부 참조>>
                                 } else {
                                     // 시작 실패 메시지 표시
@@ -342,6 +366,24 @@ public class OmokClient extends JFrame {
                                 });
                                 break;
 
+                            case OmokMsg.MODE_FORBIDDEN_POINTS:
+                                // 흑 금수 자리 표시
+                                byte[] forbiddenPoints = msg.getData();
+                                SwingUtilities.invokeLater(() -> {                  //<<외부 참조>>
+                                    gamePanel.showForbiddenPoints(forbiddenPoints);
+                                });
+                                break;
+
+                            case OmokMsg.MODE_REPLAY_DATA:
+                                // 복기용 전체 기록 (이후 복기는 서버에 묻지 않는다)
+                                try {
+                                    replayModel = new ReplayModel(ReplayData.decode(msg.getData()));
+                                } catch (IllegalArgumentException e) {
+                                    replayModel = null;
+                                    System.err.println("복기 데이터 오류> " + e.getMessage());
+                                }
+                                break;
+
                             case OmokMsg.MODE_RESULT_COUNT:
                                 endIndex = Integer.parseInt(msg.getMessage());
                                 currentIndex = -1;
@@ -382,6 +424,14 @@ public class OmokClient extends JFrame {
                                 });
                                 break;
 
+                            case OmokMsg.MODE_REPLAY_BOARD:
+                                // 복기 - 이동한 시점의 판 전체
+                                String board = msg.getMessage();
+                                SwingUtilities.invokeLater(() -> {                  //<<외부 참조>>
+                                    gamePanel.reviewShowBoard(board);
+                                });
+                                break;
+
                             case OmokMsg.MODE_CURRENT_COUNT:
                                 // 현재 복기 - 현재까지 복기된 수의 카운트를 받아옴
                                 currentIndex = Integer.parseInt(msg.getMessage());
@@ -420,7 +470,7 @@ public class OmokClient extends JFrame {
                                 break;
 
                             case OmokMsg.MODE_USER_STATS:
-                                // 전적 정보 업데이트
+                                // 전적 정보 업데이트 (바뀐 사용자만 오므로 기존 전적에 합친다)
                                 String statsStr = msg.getMessage();
                                 if (statsStr != null && !statsStr.isEmpty()) {
                                     String[] stats = statsStr.split(",");
@@ -430,7 +480,7 @@ public class OmokClient extends JFrame {
                                 }
                                 break;
                         }
-                    } catch (IOException | ClassNotFoundException e) {
+                    } catch (IOException e) {
                         throw new RuntimeException(e);
                     }
                 }
@@ -453,6 +503,41 @@ public class OmokClient extends JFrame {
         }
     }
 
+    // 로비 델타 적용. 순번이 건너뛰면 전체 목록을 다시 요청한다.
+    private void applyLobbyDelta(OmokMsg msg) {
+        if (lobbySeq == 0 || msg.getSeq() <= lobbySeq) {
+            // 스냅샷을 기다리는 중이거나 이미 반영된 변경
+            return;
+        }
+        if (msg.getSeq() != lobbySeq + 1) {
+            lobbySeq = 0;
+            send(new OmokMsg(uid, OmokMsg.MODE_LOBBY_SNAPSHOT_REQUEST));
+            return;
+        }
+        lobbySeq = msg.getSeq();
+
+        String[] parts = msg.getMessage().split("\\|");
+        SwingUtilities.invokeLater(() -> {                  //<<외부 참조>>
+            switch (msg.getMode()) {
+                case OmokMsg.MODE_USER_JOINED:
+                    lobbyPanel.addUser(parts[0]);
+                    break;
+                case OmokMsg.MODE_USER_LEFT:
+                    lobbyPanel.removeUser(parts[0]);
+                    break;
+                case OmokMsg.MODE_ROOM_ADDED:
+                    lobbyPanel.addRoom(parts[0], parts[1], parts.length > 2 ? parts[2] : "대기중");
+                    break;
+                case OmokMsg.MODE_ROOM_REMOVED:
+                    lobbyPanel.removeRoom(parts[0]);
+                    break;
+                case OmokMsg.MODE_ROOM_STATUS:
+                    lobbyPanel.updateRoomStatus(parts[0], parts[1]);
+                    break;
+            }
+        });
+    }
+
     // 사용자 ID 전송 (로그인)
     private void sendUserID(String userID) {
         uid = userID;
@@ -460,11 +545,9 @@ public class OmokClient extends JFrame {
     }
 
     // 서버에 메시지 전송
-    public void send(OmokMsg msg) {
+    public synchronized void send(OmokMsg msg) {
         try {
-            out.writeObject(msg);
-            out.flush();
-            out.reset();
+            OmokWire.writeFrame(out, msg, codec);
         } catch (IOException e) {
             System.err.println("클라이언트 일반 전송 오류> " + e.getMessage());
         }
@@ -541,6 +624,41 @@ public class OmokClient extends JFrame {
         return endIndex;
     }
 
+    // 복기 - 이전 수 (받아 둔 기록이 있으면 바로 그린다)
+    public void replayPrev() {
+        if (replayModel != null) {
+            currentIndex = replayModel.prev(currentIndex, gamePanel.replayView());
+        } else {
+            send(new OmokMsg(uid, OmokMsg.MODE_REPLAY_PREV, String.valueOf(currentIndex), String.valueOf(endIndex)));
+        }
+    }
+
+    // 복기 - 다음 수
+    public void replayNext() {
+        if (replayModel != null) {
+            currentIndex = replayModel.next(currentIndex, gamePanel.replayView());
+        } else {
+            send(new OmokMsg(uid, OmokMsg.MODE_REPLAY_NEXT, String.valueOf(currentIndex), String.valueOf(endIndex)));
+        }
+    }
+
+    // 복기 - N번째 수로 이동
+    public void replayJump(int moveNumber) {
+        if (replayModel != null) {
+            gamePanel.reviewShowBoard(ReplayData.boardString(replayModel.boardAt(moveNumber)));
+            currentIndex = replayModel.indexOfMove(moveNumber);
+        } else {
+            send(new OmokMsg(uid, OmokMsg.MODE_REPLAY_JUMP, String.valueOf(moveNumber)));
+        }
+    }
+
+    // 복기 기록 비우기 (방을 나갈 때)
+    public void clearReplay() {
+        replayModel = null;
+        currentIndex = -1;
+        endIndex = 0;
+    }
+
     public void setCurrentIndex(int currentIndex) {
         this.currentIndex = currentIndex;
     }
@@ -615,8 +733,8 @@ class LobbyPanel extends JPanel {
     private JTextPane chatArea;
     private DefaultStyledDocument document;
 
-    private DefaultListModel<String> userListModel;
-    private JList<String> userList;
+    private DefaultListModel<UserEntry> userListModel;
+    private JList<UserEntry> userList;
     private Map<String, String> userStats = new HashMap<>();
 
     private DefaultListModel<RoomEntry> roomListModel;
@@ -746,21 +864,36 @@ class LobbyPanel extends JPanel {
     public void updateUserList(String[] users) {
         userListModel.clear();
         for (String user : users) {
-            // 전적 정보 포함
-            String displayText = user;
-            if (userStats.containsKey(user)) {
-                displayText += " " + userStats.get(user);
+            userListModel.addElement(new UserEntry(user, userStats.get(user)));
+        }
+    }
+    // 접속자 한 명 추가
+    public void addUser(String uid) {
+        userListModel.addElement(new UserEntry(uid, userStats.get(uid)));
+    }
+    // 접속자 한 명 제거
+    public void removeUser(String uid) {
+        for (int i = 0; i < userListModel.size(); i++) {
+            if (userListModel.get(i).getUid().equals(uid)) {
+                userListModel.remove(i);
+                return;
             }
-            userListModel.addElement(displayText);
         }
     }
-    // userStats 맵을 초기화하고 갱신
+    // 받은 전적을 userStats 맵에 합치고, 바뀐 사용자의 목록 표시만 고친다
     public void updateUserStats(String[] stats) {
-        userStats.clear();
+        Set<String> changed = new HashSet<>();
         for (String stat : stats) {
             String[] parts = stat.split(":");
             if (parts.length == 2) {
                 userStats.put(parts[0], parts[1]);
+                changed.add(parts[0]);
+            }
+        }
+        for (int i = 0; i < userListModel.size(); i++) {
+            String uid = userListModel.get(i).getUid();
+            if (changed.contains(uid)) {
+                userListModel.set(i, new UserEntry(uid, userStats.get(uid)));
             }
         }
     }
@@ -774,10 +907,34 @@ class LobbyPanel extends JPanel {
             String title = parts[1];
             String status = parts.length > 2 ? parts[2] : "대기중"; // 게임 상태
 
-            String displayTitle = title + " [" + status + "]";
-            RoomEntry newEntry = new RoomEntry(roomId, displayTitle);
-            roomListModel.addElement(newEntry);
+            roomListModel.addElement(new RoomEntry(roomId, title, status));
+        }
+    }
+    // 방 한 개 추가
+    public void addRoom(String roomId, String title, String status) {
+        roomListModel.addElement(new RoomEntry(roomId, title, status));
+    }
+    // 방 한 개 제거
+    public void removeRoom(String roomId) {
+        int index = indexOfRoom(roomId);
+        if (index >= 0) {
+            roomListModel.remove(index);
+        }
+    }
+    // 방 상태만 변경 (선택 상태 유지)
+    public void updateRoomStatus(String roomId, String status) {
+        int index = indexOfRoom(roomId);
+        if (index >= 0) {
+            roomListModel.set(index, roomListModel.get(index).withStatus(status));
+        }
+    }
+    private int indexOfRoom(String roomId) {
+        for (int i = 0; i < roomListModel.size(); i++) {
+            if (roomListModel.get(i).getRoomId().equals(roomId)) {
+                return i;
+            }
         }
+        return -1;
     }
 }
 
@@ -934,6 +1091,7 @@ class GamePanel extends JPanel {
     private JButton reviewButton;      // 복기
     private JButton prevButton;        // 이전 수
     private JButton nextButton;        // 다음 수
+    private JButton jumpButton;        // N번째 수로 이동
     private JButton surrenderButton;
 
     // 훈수 시스템
@@ -1080,11 +1238,13 @@ class GamePanel extends JPanel {
         offerAdviceButton.setVisible(false);
 
         // 복기 버튼등
-        JPanel navPanel = new JPanel(new GridLayout(1, 2, 5, 0));
+        JPanel navPanel = new JPanel(new GridLayout(1, 3, 5, 0));
         prevButton = new JButton("이전");
         nextButton = new JButton("이후");
+        jumpButton = new JButton("이동");
         navPanel.add(prevButton);
         navPanel.add(nextButton);
+        navPanel.add(jumpButton);
 
         // 버튼 이벤트 등록
         setupButtonActions(surrenderButton, exitButton);
@@ -1093,6 +1253,7 @@ class GamePanel extends JPanel {
         reviewButton.setEnabled(false);
         prevButton.setEnabled(false);
         nextButton.setEnabled(false);
+        jumpButton.setEnabled(false);
 
         // 패널에 추가
         panel.add(surrenderButton);
@@ -1118,8 +1279,7 @@ class GamePanel extends JPanel {
         exitButton.addActionListener(e -> {
             if (confirmAction("게임을 종료하고 로비로 돌아가시겠습니까?", "게임 종료")) {
                 client.send(new OmokMsg(client.getUid(), OmokMsg.MODE_EXIT_ROOM, ""));
-                client.setCurrentIndex(-1);
-                client.setEndIndex(0);
+                client.clearReplay();
                 resetGamePanel();
                 isSpectator = false;
             }
@@ -1143,6 +1303,17 @@ class GamePanel extends JPanel {
             omokBoard.reset();
             reviewButton.setEnabled(false);
             nextButton.setEnabled(true);
+            jumpButton.setEnabled(true);
+        });
+
+        // N번째 수로 이동
+        jumpButton.addActionListener(e -> {
+            String input = JOptionPane.showInputDialog(this, "몇 번째 수로 이동할까요?", "수 이동", JOptionPane.QUESTION_MESSAGE);
+            if (input == null || !input.trim().matches("\\d{1,3}")) {
+                return;
+            }
+            clearSuggestions();
+            client.replayJump(Integer.parseInt(input.trim()));
         });
 
         // 이전 수
@@ -1155,8 +1326,7 @@ class GamePanel extends JPanel {
                 prevButton.setEnabled(false);
                 return;
             }
-            client.send(new OmokMsg(client.getUid(), OmokMsg.MODE_REPLAY_PREV,
-                    String.valueOf(client.getCurrentIndex()), String.valueOf(client.getEndIndex())));
+            client.replayPrev();
         });
 
         // 다음 수
@@ -1169,8 +1339,7 @@ class GamePanel extends JPanel {
                 nextButton.setEnabled(false);
                 return;
             }
-            client.send(new OmokMsg(client.getUid(), OmokMsg.MODE_REPLAY_NEXT,
-                    String.valueOf(client.getCurrentIndex()), String.valueOf(client.getEndIndex())));
+            client.replayNext();
         });
     }
 
@@ -1242,10 +1411,16 @@ class GamePanel extends JPanel {
         }
     }
 
+    // 흑 금수 자리 표시 (y * 15 + x 목록)
+    public void showForbiddenPoints(byte[] points) {
+        omokBoard.setForbiddenPoints(points);
+    }
+
     // 게임 종료
     public void gameOver(String message) {
         appendMessage("[게임 종료] " + message);
         turnLabel.setText("게임 종료");
+        omokBoard.clearForbiddenPoints();
         omokBoard.setEnabled(false);
         requestAdviceButton.setEnabled(false);
         offerAdviceButton.setEnabled(false);
@@ -1435,6 +1610,39 @@ class GamePanel extends JPanel {
         omokBoard.addSuggestion(x, y, spectatorColor);
     }
 
+    // 이동한 시점의 판을 다시 그림 (y * 15 + x 순서의 0/1/2 문자열)
+    public void reviewShowBoard(String board) {
+        omokBoard.reset();
+        for (int i = 0; i < board.length(); i++) {
+            int color = board.charAt(i) - '0';
+            if (color != 0) {
+                omokBoard.placeStone(i % 15, i / 15, color);
+            }
+        }
+        prevButton.setEnabled(true);
+        nextButton.setEnabled(true);
+    }
+
+    // 받아 둔 기록으로 복기할 때 쓰는 그리기 대상
+    public ReplayModel.View replayView() {
+        return new ReplayModel.View() {
+            @Override
+            public void placeStone(int x, int y, int color) {
+                reviewPlaceStone(x, y, color);
+            }
+
+            @Override
+            public void removeStone(int x, int y) {
+                reviewRemoveStone(x, y);
+            }
+
+            @Override
+            public void showSuggestion(int x, int y, int adviceColor) {
+                reviewShowSuggestion(x, y, adviceColor);
+            }
+        };
+    }
+
     public JButton getReviewButton() {
         return reviewButton;
     }
@@ -1473,6 +1681,7 @@ class GamePanel extends JPanel {
         reviewButton.setEnabled(false);
         prevButton.setEnabled(false);
         nextButton.setEnabled(false);
+        jumpButton.setEnabled(false);
 
         closeAdvisorDialog();
 
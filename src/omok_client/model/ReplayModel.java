@@ -0,0 +1,87 @@
+package omok_client.model;
+
+import omok_shared.ReplayData;
+
+// 서버에서 받은 끝난 게임 기록으로 복기 (서버에 묻지 않고 바로 그린다)
+// 위치(index)는 기록의 칸 번호(훈수 포함)이며 -1은 빈 판이다. (OmokClient의 currentIndex와 같은 의미)
+public class ReplayModel {
+    // 복기 화면에 그리기
+    public interface View {
+        void placeStone(int x, int y, int color);
+        void removeStone(int x, int y);
+        void showSuggestion(int x, int y, int adviceColor);
+    }
+
+    private final ReplayData data;
+
+    public ReplayModel(ReplayData data) {
+        this.data = data;
+    }
+
+    // 기록 칸 수 (endIndex)
+    public int size() {
+        return data.size();
+    }
+
+    // 다음 플레이어 수까지 진행. 사이의 훈수도 보여준다. 새 위치를 반환
+    public int next(int index, View view) {
+        int last = data.size() - 1;
+        if (index >= last) {
+            return index;
+        }
+        ++index;
+        while (data.isSuggestion(index)) {
+            view.showSuggestion(data.getX(index), data.getY(index), data.getAdviceColor(index));
+            if (index == last) {
+                return index;
+            }
+            ++index;
+        }
+        view.placeStone(data.getX(index), data.getY(index), data.getKind(index));
+        return index;
+    }
+
+    // 현재 플레이어 수를 되돌리고 그 앞의 훈수를 다시 보여준다. 새 위치를 반환
+    public int prev(int index, View view) {
+        if (index < 0) {
+            return index;
+        }
+        if (data.isSuggestion(index)) {
+            view.showSuggestion(data.getX(index), data.getY(index), data.getAdviceColor(index));
+        } else {
+            view.removeStone(data.getX(index), data.getY(index));
+        }
+        --index;
+        while (index != -1 && data.isSuggestion(index)) {
+            view.showSuggestion(data.getX(index), data.getY(index), data.getAdviceColor(index));
+            --index;
+        }
+        return index;
+    }
+
+    // 플레이어 수 moveNumber개를 둔 판 (y * 15 + x 순서의 0/1/2)
+    public byte[] boardAt(int moveNumber) {
+        byte[] board = new byte[ReplayData.BOARD_SIZE * ReplayData.BOARD_SIZE];
+        int stones = 0;
+        for (int i = 0; i < data.size() && stones < moveNumber; i++) {
+            if (!data.isSuggestion(i)) {
+                board[data.getY(i) * ReplayData.BOARD_SIZE + data.getX(i)] = (byte) data.getKind(i);
+                stones++;
+            }
+        }
+        return board;
+    }
+
+    // 플레이어 수 moveNumber개를 둔 시점의 위치
+    public int indexOfMove(int moveNumber) {
+        int index = -1;
+        int stones = 0;
+        for (int i = 0; i < data.size() && stones < moveNumber; i++) {
+            if (!data.isSuggestion(i)) {
+                index = i;
+                stones++;
+            }
+        }
+        return index;
+    }
+}
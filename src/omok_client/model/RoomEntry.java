@@ -3,9 +3,11 @@ package omok_client.model;
 public class RoomEntry {
     private final String roomId; // 서버에서 부여한 고유 ID (숨김 정보)
     private final String title;
-    public RoomEntry(String roomId, String title) {
+    private final String status; // 대기중 / 게임중
+    public RoomEntry(String roomId, String title, String status) {
         this.roomId = roomId;
         this.title = title;
+        this.status = status;
     }
     public String getRoomId() {
         return roomId;
@@ -13,9 +15,16 @@ public class RoomEntry {
     public String getTitle() {
         return title;
     }
+    public String getStatus() {
+        return status;
+    }
+    // 상태만 바꾼 새 항목
+    public RoomEntry withStatus(String status) {
+        return new RoomEntry(roomId, title, status);
+    }
     @Override
     public String toString() {
-        return title;
+        return title + " [" + status + "]";
     }
 
-}
\ No newline at end of file
+}
@@ -0,0 +1,21 @@
+package omok_client.model;
+
+public class UserEntry {
+    private final String uid;
+    private final String stats; // 전적 문자열 (없으면 null)
+    public UserEntry(String uid, String stats) {
+        this.uid = uid;
+        this.stats = stats;
+    }
+    public String getUid() {
+        return uid;
+    }
+    public String getStats() {
+        return stats;
+    }
+    @Override
+    public String toString() {
+        return stats != null ? uid + " " + stats : uid;
+    }
+
+}
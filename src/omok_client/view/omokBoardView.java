@@ -16,6 +16,9 @@ public class omokBoardView extends JPanel {
     // 훈수별 색상 저장
     private Map<Point, Color> suggestionColors;
 
+    // 흑 금수 자리 (y * 15 + x)
+    private final boolean[] forbidden = new boolean[15 * 15];
+
     public omokBoardView() {
         // board 배열 초기화
         board = new int[15][15];
@@ -31,6 +34,7 @@ public class omokBoardView extends JPanel {
         super.paintComponent(g);
         drawBoard(g);
         drawStone(g);
+        drawForbidden(g);    // 금수 표시
         drawSuggestions(g);  // 훈수 표시
     }
 
@@ -158,6 +162,33 @@ public class omokBoardView extends JPanel {
         g2d.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1.0f)); // 불투명으로 복원
     }
 
+    // 금수 자리 설정 (서버가 보낸 y * 15 + x 목록으로 바꾼다)
+    public void setForbiddenPoints(byte[] points) {
+        Arrays.fill(forbidden, false);
+        if (points != null) {
+            for (byte point : points) {
+                forbidden[point & 0xFF] = true;
+            }
+        }
+        repaint();
+    }
+
+    public void clearForbiddenPoints() {
+        setForbiddenPoints(null);
+    }
+
+    // 금수 자리에 빨간 X 표시 (돌이 놓인 칸은 건너뜀)
+    private void drawForbidden(Graphics g) {
+        g.setColor(new Color(200, 0, 0));
+        for (int i = 0; i < forbidden.length; i++) {
+            if (!forbidden[i] || board[i / 15][i % 15] != 0) continue;
+            int px = MARGIN - 8 + (i % 15) * cellSize;
+            int py = MARGIN + (i / 15) * cellSize;
+            g.drawLine(px - 6, py - 6, px + 6, py + 6);
+            g.drawLine(px - 6, py + 6, px + 6, py - 6);
+        }
+    }
+
     public static int getCellSize() {
         return cellSize;
     }
@@ -174,6 +205,7 @@ public class omokBoardView extends JPanel {
         }
         suggestions.clear();
         suggestionColors.clear();
+        Arrays.fill(forbidden, false);
         repaint();
     }
 }
\ No newline at end of file
@@ -0,0 +1,18 @@
+package omok_server;
+
+import java.io.IOException;
+
+// 클라이언트 한 명과의 전송 계층 (블로킹 스트림 또는 NIO 채널)
+interface Connection {
+    // 인코딩된 프레임 한 개 전송 (같은 프레임을 여러 연결이 공유)
+    void write(OutboundFrame frame) throws IOException;
+
+    // 연결 종료
+    void close();
+
+    // 전송 대기 중인 프레임 수
+    int queueDepth();
+
+    // 대기열이 가득 차서 버린 프레임 수
+    long droppedCount();
+}
@@ -0,0 +1,13 @@
+package omok_server;
+
+// 클라이언트 연결 하나의 상태 (JMX, omok:type=Connection,port=<포트>,id=<연결 번호>)
+public interface ConnectionMXBean {
+    long getConnectionId();
+    String getUid();                // 로그인 전이면 null
+    String getRoomId();             // 로비에 있으면 null
+    int getOutboundQueueDepth();
+    long getDroppedMessages();
+    long getConnectedAt();          // 접속 시각 (epoch ms)
+    long getLastActivity();         // 마지막으로 메시지를 받은 시각 (epoch ms)
+    long getIdleSeconds();
+}
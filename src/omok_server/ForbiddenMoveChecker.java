@@ -0,0 +1,9 @@
+package omok_server;
+
+import omok_shared.BitBoard;
+
+// 흑돌 금수 판정 (장목, 사사, 삼삼)
+interface ForbiddenMoveChecker {
+    // (x, y)에 흑돌을 이미 놓은 판에서 그 수가 금수인지
+    boolean isForbiddenMove(BitBoard board, int x, int y);
+}
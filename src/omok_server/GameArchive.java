@@ -0,0 +1,281 @@
+package omok_server;
+
+import omok_shared.ReplayData;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 끝난 게임 기록 보관소
+// 게임 하나를 [길이][게임 번호][복기 데이터] 형식으로 세그먼트 파일 끝에 붙인다.
+// 복기 데이터(ReplayData)는 플레이어 수를 1바이트씩, 훈수는 색상과 함께 그 사이에 적는 압축 형식이다.
+// 별도의 색인 파일에 게임 번호별 (세그먼트, 길이, 위치)를 고정 크기로 적어 두고 메모리 매핑해서,
+// 게임 번호만으로 바로 위치를 찾아 읽는다. 쓰기는 전용 스레드에서 하므로 게임 스레드는 기다리지 않는다.
+class GameArchive {
+    private static final int SEGMENT_MAGIC = 0x4F4D4753;         // "OMGS"
+    private static final int SEGMENT_HEADER_SIZE = 8;            // 매직 + 버전
+    private static final int VERSION = 1;
+    private static final long SEGMENT_LIMIT = 64L * 1024 * 1024; // 이 크기를 넘으면 새 세그먼트
+    private static final int INDEX_ENTRY_SIZE = 16;              // [세그먼트 int][길이 int][위치 long]
+    private static final int INDEX_CHUNK_ENTRIES = 1 << 16;      // 색인을 이 개수 단위로 매핑
+
+    private final Path dir;
+    private final FileChannel indexChannel;
+    private final List<MappedByteBuffer> indexChunks = new ArrayList<>();
+    private final List<FileChannel> segments = new ArrayList<>();
+    private final ConcurrentHashMap<Integer, MappedByteBuffer> segmentMaps = new ConcurrentHashMap<>();
+    // 번호 부여와 쓰기 요청을 함께 묶는 락. 보관 스레드는 하나이고 요청 순서대로 쓰므로 세그먼트와 색인에도 번호 순서대로 들어간다.
+    // (가상 스레드가 캐리어 스레드를 점유하지 않도록 synchronized 대신 사용)
+    private final ReentrantLock submitLock = new ReentrantLock();
+    private long nextGameId = 1;                // submitLock 안에서만 (recover는 생성자에서)
+    private volatile long committedCount = 0;   // 색인에 기록이 끝난 게임 수 (읽기 쪽에서 확인)
+    private long segmentEnd;                    // 현재 세그먼트의 쓰기 위치
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "omok-archive");
+        t.setDaemon(true);
+        return t;
+    });
+
+    GameArchive(Path dir) throws IOException {
+        this.dir = dir;
+        Files.createDirectories(dir);
+        this.indexChannel = FileChannel.open(dir.resolve("games.idx"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        for (int i = 0; Files.exists(segmentPath(i)); i++) {
+            segments.add(FileChannel.open(segmentPath(i), StandardOpenOption.READ, StandardOpenOption.WRITE));
+        }
+        if (segments.isEmpty()) {
+            openNewSegment();
+        }
+        recover();
+    }
+
+    // 보관된 게임 수
+    long size() {
+        return committedCount;
+    }
+
+    // 게임 기록 보관 요청. 게임 번호를 바로 반환하고 쓰기는 보관 스레드에서 한다.
+    long archive(GameRecord record) {
+        submitLock.lock();
+        try {
+            long gameId = nextGameId++;
+            record.setArchiveId(gameId);
+            executor.execute(() -> {
+                try {
+                    append(gameId, encode(gameId, record));
+                } catch (IOException | RuntimeException e) {
+                    System.err.println("게임 기록 보관 오류> #" + gameId + " " + e.getMessage());
+                }
+            });
+            return gameId;
+        } finally {
+            submitLock.unlock();
+        }
+    }
+
+    // 게임 번호로 기록 읽기. 없거나 아직 쓰는 중이면 null
+    GameRecord load(long gameId) throws IOException {
+        if (gameId < 1 || gameId > committedCount) {
+            return null;
+        }
+        ByteBuffer entry = indexEntry(gameId);
+        int segment = entry.getInt();
+        int length = entry.getInt();
+        long offset = entry.getLong();
+        if (length == 0) {
+            return null;
+        }
+        ByteBuffer buf = segmentView(segment, offset, length);
+        try {
+            return decode(buf);
+        } catch (BufferUnderflowException | IllegalArgumentException e) {
+            throw new IOException("게임 기록이 손상되었습니다: #" + gameId);
+        }
+    }
+
+    // 대기 중인 쓰기를 모두 끝내고 디스크에 반영 (서버 중지 시)
+    void sync() {
+        try {
+            executor.submit(() -> {
+                current().force(false);
+                indexChannel.force(false);
+                return null;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.err.println("게임 기록 동기화 오류> " + e.getCause().getMessage());
+        }
+    }
+
+    // 인코딩/디코딩
+    // =======================================================================================
+
+    private static ByteBuffer encode(long gameId, GameRecord record) {
+        ReplayData data = record.toReplayData();
+        int size = 4 + 8 + data.encodedSize();
+        ByteBuffer buf = ByteBuffer.allocate(size);
+        buf.putInt(size - 4);
+        buf.putLong(gameId);
+        data.writeTo(buf);
+        buf.flip();
+        return buf;
+    }
+
+    // 레코드 본문(길이 필드 이후)을 읽어 GameRecord로 복원
+    private static GameRecord decode(ByteBuffer buf) {
+        long gameId = buf.getLong();
+        GameRecord record = GameRecord.fromReplayData(ReplayData.decode(buf));
+        record.setArchiveId(gameId);
+        return record;
+    }
+
+    // 파일 관리 (보관 스레드에서만 쓴다)
+    // =======================================================================================
+
+    // 레코드를 현재 세그먼트 끝에 쓰고 색인 기록
+    private void append(long gameId, ByteBuffer record) throws IOException {
+        int length = record.remaining();
+        if (segmentEnd + length > SEGMENT_LIMIT && segmentEnd > SEGMENT_HEADER_SIZE) {
+            current().force(false);
+            openNewSegment();
+        }
+        long offset = segmentEnd;
+        while (record.hasRemaining()) {
+            current().write(record, segmentEnd + record.position());
+        }
+        segmentEnd += length;
+        writeIndex(gameId, segments.size() - 1, length, offset);
+    }
+
+    private void writeIndex(long gameId, int segment, int length, long offset) throws IOException {
+        ByteBuffer entry = indexEntry(gameId);
+        entry.putInt(segment).putInt(length).putLong(offset);
+        // 번호 순서대로 쓰므로 (archive 참고) 색인이 채워진 뒤에 읽기 쪽에 공개
+        committedCount = gameId;
+    }
+
+    // 게임 번호의 색인 칸 (필요하면 색인 파일을 늘려 매핑)
+    private ByteBuffer indexEntry(long gameId) throws IOException {
+        long slot = gameId - 1;
+        int chunk = (int) (slot / INDEX_CHUNK_ENTRIES);
+        MappedByteBuffer mapped;
+        synchronized (indexChunks) {
+            while (indexChunks.size() <= chunk) {
+                long position = (long) indexChunks.size() * INDEX_CHUNK_ENTRIES * INDEX_ENTRY_SIZE;
+                indexChunks.add(indexChannel.map(FileChannel.MapMode.READ_WRITE, position,
+                        (long) INDEX_CHUNK_ENTRIES * INDEX_ENTRY_SIZE));
+            }
+            mapped = indexChunks.get(chunk);
+        }
+        int position = (int) (slot % INDEX_CHUNK_ENTRIES) * INDEX_ENTRY_SIZE;
+        return mapped.slice(position, INDEX_ENTRY_SIZE);
+    }
+
+    // 세그먼트 구간 읽기용 뷰. 매핑이 구간을 덮지 못하면 (쓰는 중인 세그먼트) 다시 매핑한다.
+    private ByteBuffer segmentView(int segment, long offset, int length) throws IOException {
+        MappedByteBuffer mapped = segmentMaps.get(segment);
+        if (mapped == null || mapped.capacity() < offset + length) {
+            FileChannel channel;
+            synchronized (segments) {
+                channel = segments.get(segment);
+            }
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            segmentMaps.put(segment, mapped);
+        }
+        // 길이 필드는 건너뛴다
+        return mapped.slice((int) offset + 4, length - 4);
+    }
+
+    private FileChannel current() {
+        synchronized (segments) {
+            return segments.get(segments.size() - 1);
+        }
+    }
+
+    private void openNewSegment() throws IOException {
+        FileChannel channel = FileChannel.open(segmentPath(segments.size()),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(SEGMENT_HEADER_SIZE);
+        header.putInt(SEGMENT_MAGIC).putInt(VERSION).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        synchronized (segments) {
+            segments.add(channel);
+        }
+        segmentEnd = SEGMENT_HEADER_SIZE;
+    }
+
+    private Path segmentPath(int segment) {
+        return dir.resolve(String.format("games-%05d.seg", segment));
+    }
+
+    // 시작할 때 색인의 끝을 찾고, 색인에 없는 마지막 세그먼트의 레코드를 다시 색인한다.
+    // 중간에 잘린 레코드는 잘라 낸다.
+    private void recover() throws IOException {
+        long count = 0;
+        int lastSegment = 0;
+        long lastEnd = SEGMENT_HEADER_SIZE;
+        long slots = indexChannel.size() / INDEX_ENTRY_SIZE;
+        while (count < slots) {
+            ByteBuffer entry = indexEntry(count + 1);
+            int segment = entry.getInt();
+            int length = entry.getInt();
+            long offset = entry.getLong();
+            if (length == 0 || segment >= segments.size()
+                    || offset + length > segments.get(segment).size()) {
+                break;
+            }
+            count++;
+            lastSegment = segment;
+            lastEnd = offset + length;
+        }
+        committedCount = count;
+
+        // 색인이 가리키는 마지막 세그먼트 이후의 세그먼트는 처음부터 훑는다
+        for (int segment = lastSegment; segment < segments.size(); segment++) {
+            long position = segment == lastSegment ? lastEnd : SEGMENT_HEADER_SIZE;
+            position = reindexSegment(segment, position);
+            if (segment == segments.size() - 1) {
+                segments.get(segment).truncate(position);
+                segmentEnd = position;
+            }
+        }
+        nextGameId = committedCount + 1;
+    }
+
+    // 세그먼트의 position부터 온전한 레코드를 색인에 추가하고 끝 위치를 반환
+    private long reindexSegment(int segment, long position) throws IOException {
+        FileChannel channel = segments.get(segment);
+        long size = channel.size();
+        ByteBuffer head = ByteBuffer.allocate(12);
+        while (position + 12 <= size) {
+            head.clear();
+            channel.read(head, position);
+            head.flip();
+            int length = head.getInt();
+            long gameId = head.getLong();
+            if (length < 8 || position + 4 + length > size || gameId != committedCount + 1) {
+                break;
+            }
+            writeIndex(gameId, segment, length + 4, position);
+            position += 4 + length;
+        }
+        return position;
+    }
+}
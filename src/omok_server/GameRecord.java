@@ -1,37 +1,123 @@
 package omok_server;
 
+import omok_shared.BitBoard;
 import omok_shared.MoveRecord;
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.ArrayList;
+import omok_shared.ReplayData;
+import java.util.AbstractList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.RandomAccess;
 
-// 플레이어의 수와 관전자의 훈수를 기록. 큐에 넣었으니, 넣은대로 리스트에 넣고 빼내면 1번수부터 나올 것
+// 플레이어의 수와 관전자의 훈수를 기록. 넣은 순서대로 보관하므로 0번부터 꺼내면 1번수부터 나온다.
+// 수 하나를 int 하나에 담는다: x(4비트) | y(4비트) | 훈수 여부(1비트) | id 번호(11비트) | 색상 번호(8비트)
+// id와 훈수 색상은 게임마다 한 번만 표에 넣고 번호로 가리킨다. (0번은 흑, 1번은 백)
 public class GameRecord {
-    private Queue<MoveRecord> moveQueue;     // 순서대로 기록된 모든 수
-    private String player1Id;                 // 흑돌 플레이어
-    private String player2Id;                 // 백돌 플레이어
+    private static final int Y_SHIFT = 4;
+    private static final int SPECTATOR_BIT = 1 << 8;
+    private static final int ID_SHIFT = 9;
+    private static final int ID_MASK = 0x7FF;
+    private static final int COLOR_SHIFT = 20;
+    private static final int COLOR_MASK = 0xFF;
+
+    private int[] moves = new int[64];        // 순서대로 기록된 모든 수
+    private int moveCount;
+    private String[] ids = new String[4];     // 게임에 나온 id (0: 흑, 1: 백, 이후 훈수 관전자)
+    private int idCount;
+    private boolean[] advisor = new boolean[4];   // id 번호별 훈수를 둔 적이 있는지 (ReplayData의 훈수 관전자)
+    private int advisorCount;
+    private int[] colors = new int[0];        // 훈수 색상 표
     private String winner;                    // 승자
-    private int currentMoveNumber;            // 현재 수 번호
+    private int currentMoveNumber;            // 현재 수 번호 (플레이어 수만)
+    private long archiveId;                   // 보관소의 게임 번호 (보관 전에는 0)
 
     public GameRecord(String player1Id, String player2Id) {
-        this.moveQueue = new LinkedList<>();
-        this.player1Id = player1Id;
-        this.player2Id = player2Id;
+        ids[0] = player1Id;
+        ids[1] = player2Id;
+        idCount = 2;
         this.currentMoveNumber = 0;
     }
 
     //플레이어의 수 기록
     public void addPlayerMove(String playerId, int x, int y) {
+        checkInside(x, y);
         currentMoveNumber++;
-        MoveRecord move = new MoveRecord(playerId, x, y, false);
-        moveQueue.offer(move);
+        add(x | (y << Y_SHIFT) | (internId(playerId) << ID_SHIFT));
     }
 
-    //관전자의 훈수 기록
+    //관전자의 훈수 기록 (canRecordSuggestion이 false인 관전자는 받지 않는다)
     public void addSpectatorSuggestion(String spectatorId, int x, int y, int spectatorColor) {
-        MoveRecord suggestion = new MoveRecord(spectatorId, x, y, true, spectatorColor);
-        moveQueue.offer(suggestion);
+        checkInside(x, y);
+        if (!canRecordSuggestion(spectatorId)) {
+            throw new IllegalStateException("훈수 관전자가 너무 많습니다.");
+        }
+        int id = internId(spectatorId);
+        if (!advisor[id]) {
+            advisor[id] = true;
+            advisorCount++;
+        }
+        add(x | (y << Y_SHIFT) | SPECTATOR_BIT | (id << ID_SHIFT) | (internColor(spectatorColor) << COLOR_SHIFT));
+    }
+
+    // 판 밖의 좌표는 다른 칸의 비트를 덮어쓰므로 받지 않는다
+    private static void checkInside(int x, int y) {
+        if (!BitBoard.isInside(x, y)) {
+            throw new IllegalArgumentException("판 밖의 좌표: " + x + ", " + y);
+        }
+    }
+
+    private void add(int entry) {
+        if (moveCount == moves.length) {
+            moves = Arrays.copyOf(moves, moves.length * 2);
+        }
+        moves[moveCount++] = entry;
+    }
+
+    // 이 관전자의 훈수를 더 기록할 수 있는지. 복기 데이터(ReplayData)에 담을 수 있는 훈수 관전자 수까지만 받는다
+    public boolean canRecordSuggestion(String spectatorId) {
+        if (advisorCount < ReplayData.MAX_ADVISORS) {
+            return true;
+        }
+        int id = indexOf(spectatorId);
+        return id >= 0 && advisor[id];
+    }
+
+    private int indexOf(String id) {
+        for (int i = 0; i < idCount; i++) {
+            if (ids[i].equals(id)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int internId(String id) {
+        int index = indexOf(id);
+        if (index >= 0) {
+            return index;
+        }
+        if (idCount > ID_MASK) {
+            throw new IllegalStateException("한 게임의 id가 너무 많습니다.");
+        }
+        if (idCount == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+            advisor = Arrays.copyOf(advisor, ids.length);
+        }
+        ids[idCount] = id;
+        return idCount++;
+    }
+
+    private int internColor(int color) {
+        for (int i = 0; i < colors.length; i++) {
+            if (colors[i] == color) {
+                return i;
+            }
+        }
+        if (colors.length > COLOR_MASK) {
+            throw new IllegalStateException("한 게임의 훈수 색상이 너무 많습니다.");
+        }
+        colors = Arrays.copyOf(colors, colors.length + 1);
+        colors[colors.length - 1] = color;
+        return colors.length - 1;
     }
 
     //게임 종료
@@ -39,15 +125,81 @@ public class GameRecord {
         this.winner = winner;
     }
 
-    //전체 기록 반환 (복기용) - 첫번째부터 꺼내면서 전달하기. 마지막 요소가 false면 플레이어 수, true면 훈수.
+    // index번째 수 (0부터)
+    public int getX(int index) { return entry(index) & 0xF; }
+    public int getY(int index) { return (entry(index) >> Y_SHIFT) & 0xF; }
+    public boolean isSpectator(int index) { return (entry(index) & SPECTATOR_BIT) != 0; }
+    public String getPlayerId(int index) { return ids[(entry(index) >> ID_SHIFT) & ID_MASK]; }
+    public int getSpectatorColor(int index) {
+        int entry = entry(index);
+        return (entry & SPECTATOR_BIT) != 0 ? colors[(entry >> COLOR_SHIFT) & COLOR_MASK] : 0;
+    }
+
+    // 흑돌의 수인지 (훈수가 아닌 수에만 의미가 있음)
+    public boolean isPlayer1Move(int index) { return ((entry(index) >> ID_SHIFT) & ID_MASK) == 0; }
+
+    private int entry(int index) {
+        if (index < 0 || index >= moveCount) {
+            throw new IndexOutOfBoundsException("수 번호: " + index + ", 기록 수: " + moveCount);
+        }
+        return moves[index];
+    }
+
+    // index번째 수를 MoveRecord로 (클라이언트 전송용)
+    public MoveRecord getMove(int index) {
+        return new MoveRecord(getPlayerId(index), getX(index), getY(index), isSpectator(index), getSpectatorColor(index));
+    }
+
+    //전체 기록 (복기용) - 복사하지 않는 읽기 전용 뷰. 요소를 꺼낼 때만 MoveRecord를 만든다.
     public List<MoveRecord> getAllMoves() {
-        return new ArrayList<>(moveQueue);
+        return new MovesView();
+    }
+
+    private class MovesView extends AbstractList<MoveRecord> implements RandomAccess {
+        @Override
+        public MoveRecord get(int index) {
+            return getMove(index);
+        }
+
+        @Override
+        public int size() {
+            return moveCount;
+        }
+    }
+
+    // 복기 데이터로 변환 (클라이언트 전송, 보관용)
+    public ReplayData toReplayData() {
+        ReplayData.Builder builder = new ReplayData.Builder(getPlayer1Id(), getPlayer2Id());
+        for (int i = 0; i < moveCount; i++) {
+            if (isSpectator(i)) {
+                builder.suggestion(getPlayerId(i), getX(i), getY(i), getSpectatorColor(i));
+            } else {
+                builder.stone(getX(i), getY(i));
+            }
+        }
+        return builder.winner(winner).build();
+    }
+
+    // 복기 데이터에서 기록 복원
+    static GameRecord fromReplayData(ReplayData data) {
+        GameRecord record = new GameRecord(data.getPlayer1Id(), data.getPlayer2Id());
+        for (int i = 0; i < data.size(); i++) {
+            if (data.isSuggestion(i)) {
+                record.addSpectatorSuggestion(data.getPlayerId(i), data.getX(i), data.getY(i), data.getAdviceColor(i));
+            } else {
+                record.addPlayerMove(data.getPlayerId(i), data.getX(i), data.getY(i));
+            }
+        }
+        record.endGame(data.getWinner());
+        return record;
     }
 
     //잡다한 getters
-    public String getPlayer1Id() { return player1Id; }
-    public String getPlayer2Id() { return player2Id; }
+    public String getPlayer1Id() { return ids[0]; }
+    public String getPlayer2Id() { return ids[1]; }
     public String getWinner() { return winner; }
     public int getTotalMoves() { return currentMoveNumber; }
-    public int getMoveCount() { return moveQueue.size(); }
-}
\ No newline at end of file
+    public int getMoveCount() { return moveCount; }
+    public long getArchiveId() { return archiveId; }
+    void setArchiveId(long archiveId) { this.archiveId = archiveId; }
+}
@@ -1,10 +1,10 @@
 package omok_server;
 
+import omok_shared.BitBoard;
 import omok_shared.OmokMsg;
 import java.util.*;
 
 public class GameRoom {
-    private static final int BOARD_SIZE = 15;
     private static final int BLACK = 1;
     private static final int WHITE = 2;
     private static final int MAX_ADVICE_REQUESTS = 5;  // 게임당 최대 훈수 요청 횟수
@@ -34,9 +34,9 @@ public class GameRoom {
     // 게임 상태
     private boolean gameStarted;           // 게임 시작 여부
     private int currentTurn;               // 현재 턴 (0: 흑돌, 1: 백돌)
-    private int[][] board;                 // 오목판 상태
+    private final ThreatBoard board = new ThreatBoard();  // 오목판 상태 (금수/오목 자리를 두기마다 갱신)
     private GameRecord gameRecord;         // 게임 기록 (복기용)
-    private OmokRuleChecker ruleChecker;   // 금수 확인
+    private volatile long lastActivity = System.currentTimeMillis();   // 참가자가 마지막으로 메시지를 보낸 시각
 
     // 훈수 시스템
     private Map<String, Integer> adviceRequestCount;  // 플레이어별 훈수 요청 횟수
@@ -45,9 +45,14 @@ public class GameRoom {
     private Map<String, Integer> spectatorColors;     // 관전자별 고유 색상
     private String selectedAdvisor;                   // 선택된 관전자 ID
 
+    // 방 상태 보호용 락 (가상 스레드가 캐리어 스레드를 점유하지 않도록 synchronized 대신 사용)
+    // 기다린 시간은 JFR 이벤트 omok.LockWait로 남는다
+    private final MonitoredLock lock;
+
     // 생성자
     public GameRoom(String title, Player owner, OmokServer server) {
         this.roomId = UUID.randomUUID().toString();
+        this.lock = new MonitoredLock("room", roomId);
         this.title = title;
         this.owner = owner;
         this.server = server;
@@ -60,8 +65,6 @@ public class GameRoom {
         // 게임 상태 초기화
         this.gameStarted = false;
         this.currentTurn = 0;
-        this.board = new int[BOARD_SIZE][BOARD_SIZE];
-        this.ruleChecker = new OmokRuleChecker();
 
         // 훈수 시스템 초기화
         this.adviceRequestCount = new HashMap<>();
@@ -73,24 +76,29 @@ public class GameRoom {
     // =======================================================================================
 
     // 플레이어가 방에 입장
-    public synchronized boolean enterPlayer(Player player) {
-        // 게임이 시작된 경우 입장 불가
-        if (gameStarted) {
-            return false;
-        }
+    public boolean enterPlayer(Player player) {
+        lock.lock();
+        try {
+            // 게임이 시작된 경우 입장 불가
+            if (gameStarted) {
+                return false;
+            }
 
-        // 플레이어가 2명 미만이면 플레이어로 추가
-        if (players.size() < 2) {
-            players.add(player);
-        } else {
-            // 2명 이상이면 관전자로 추가
-            spectators.add(player);
-            assignSpectatorColor(player.getClientHandler().getUid());
-            player.getClientHandler().send(
-                    new OmokMsg("SERVER", OmokMsg.MODE_WAITING_STRING, "관전자로 입장하였습니다.")
-            );
+            // 플레이어가 2명 미만이면 플레이어로 추가
+            if (players.size() < 2) {
+                players.add(player);
+            } else {
+                // 2명 이상이면 관전자로 추가
+                spectators.add(player);
+                assignSpectatorColor(player.getClientHandler().getUid());
+                player.getClientHandler().send(
+                        new OmokMsg("SERVER", OmokMsg.MODE_WAITING_STRING, "관전자로 입장하였습니다.")
+                );
+            }
+            return true;
+        } finally {
+            lock.unlock();
         }
-        return true;
     }
 
     // 관전자에게 고유 색상 할당 (훈수 표시용)
@@ -105,38 +113,43 @@ public class GameRoom {
     }
 
     // 플레이어가 방에서 퇴장 (게임 진행 중 퇴장 시 자동 기권)
-    public synchronized void exitPlayer(Player player) {
-        String playerId = player.getClientHandler().getUid();
-        boolean wasPlayer = false;
-
-        // 플레이어 목록에서 제거
-        for (int i = 0; i < players.size(); i++) {
-            Player p = players.get(i);
-            if (p.getClientHandler().getUid().equals(playerId)) {
-                players.remove(i); // 리스트에서 제거
-                wasPlayer = true;  // 플레이어가 찾았으니 체크
-                break; // 찾았으니 루프 종료
+    public void exitPlayer(Player player) {
+        lock.lock();
+        try {
+            String playerId = player.getClientHandler().getUid();
+            boolean wasPlayer = false;
+
+            // 플레이어 목록에서 제거
+            for (int i = 0; i < players.size(); i++) {
+                Player p = players.get(i);
+                if (p.getClientHandler().getUid().equals(playerId)) {
+                    players.remove(i); // 리스트에서 제거
+                    wasPlayer = true;  // 플레이어가 찾았으니 체크
+                    break; // 찾았으니 루프 종료
+                }
             }
-        }
 
-        // 관전자 목록에서도 제거 시도
-        spectators.remove(player);
-        spectatorColors.remove(playerId);
+            // 관전자 목록에서도 제거 시도
+            spectators.remove(player);
+            spectatorColors.remove(playerId);
 
-        // 게임 진행 중에 플레이어가 나가면 자동 기권 처리
-        if (gameStarted && wasPlayer) {
-            handlePlayerDisconnect(playerId);
-        }
+            // 게임 진행 중에 플레이어가 나가면 자동 기권 처리
+            if (gameStarted && wasPlayer) {
+                handlePlayerDisconnect(playerId);
+            }
 
-        // 방에 아무도 없으면 방 삭제
-        if (players.isEmpty()) {
-            server.removeRoom(this);
-        } else if (player.equals(owner)) {
-            // 방장이 나가면 첫 번째 플레이어를 방장으로 변경
-            owner = players.get(0);
-        }
+            // 방에 아무도 없으면 방 삭제
+            if (players.isEmpty()) {
+                server.removeRoom(this);
+            } else if (player.equals(owner)) {
+                // 방장이 나가면 첫 번째 플레이어를 방장으로 변경
+                owner = players.get(0);
+            }
 
-        notifySpectatorCount();
+            notifySpectatorCount();
+        } finally {
+            lock.unlock();
+        }
     }
 
     // 플레이어 연결 끊김 처리 (자동 기권)
@@ -148,13 +161,14 @@ public class GameRoom {
             String message = playerId + "님이 연결이 끊어졌습니다. " + winnerId + "님이 승리했습니다!";
             broadcastGameRoom(new OmokMsg("SERVER", OmokMsg.MODE_GAME_OVER, message));
 
-            // 전적 업데이트
-            server.updateUserStats(winnerId, true);
-            server.updateUserStats(playerId, false);
+            // 전적 업데이트 및 기록 보관
+            server.recordGameResult(winnerId, playerId);
+            server.archiveGame(gameRecord);
 
             // 복기용 수 개수 전송
             sendMoveCount();
             gameStarted = false;
+            server.notifyRoomStatus(this);
         }
     }
 
@@ -162,37 +176,42 @@ public class GameRoom {
     // ======================================================================================
 
     // 게임 시작 처리
-    public synchronized void startGame() {
-        // 플레이어 2명 미만이면 시작 불가
-        if (players.size() < 2) {
-            owner.getClientHandler().send(
-                    new OmokMsg("SERVER", OmokMsg.MODE_START,
-                            "FAILED:플레이어가 2명이 되어야 시작할 수 있습니다.")
-            );
-            return;
-        }
+    public void startGame() {
+        lock.lock();
+        try {
+            // 플레이어 2명 미만이면 시작 불가
+            if (players.size() < 2) {
+                owner.getClientHandler().send(
+                        new OmokMsg("SERVER", OmokMsg.MODE_START,
+                                "FAILED:플레이어가 2명이 되어야 시작할 수 있습니다.")
+                );
+                return;
+            }
 
-        // 게임 상태 초기화
-        initGame();
+            // 게임 상태 초기화
+            initGame();
 
-        // 관전자 설정
-        setupSpectators();
+            // 관전자 설정
+            setupSpectators();
 
-        // 모든 참가자에게 게임 시작 알림
-        broadcastGameStart();
+            // 모든 참가자에게 게임 시작 알림
+            broadcastGameStart();
 
-        // 첫 턴 알림
-        broadcastTurn();
+            // 첫 턴 알림
+            broadcastTurn();
 
-        // 로비에 방 목록 갱신 (게임중 상태 표시)
-        server.broadcastRoomListToAll();
+            // 로비에 방 상태 갱신 (게임중 상태 표시)
+            server.notifyRoomStatus(this);
+        } finally {
+            lock.unlock();
+        }
     }
 
     // 게임 상태 초기화
     private void initGame() {
         gameStarted = true;
         currentTurn = 0;
-        board = new int[BOARD_SIZE][BOARD_SIZE];
+        board.clear();
 
         // 훈수 요청 횟수 초기화
         adviceRequestCount.clear();
@@ -207,12 +226,11 @@ public class GameRoom {
 
     // 관전자 설정
     private void setupSpectators() {
+        OutboundFrame spectatorFrame = OutboundFrame.of(new OmokMsg("SERVER", OmokMsg.MODE_WAITING_STRING, "SPECTATOR"));
         for (Player spectator : spectators) {
             String spectatorId = spectator.getClientHandler().getUid();
             assignSpectatorColor(spectatorId);
-            spectator.getClientHandler().send(
-                    new OmokMsg("SERVER", OmokMsg.MODE_WAITING_STRING, "SPECTATOR")
-            );
+            spectator.getClientHandler().send(spectatorFrame);
         }
     }
 
@@ -236,50 +254,72 @@ public class GameRoom {
     // ================================================================================
 
     // 플레이어가 돌을 놓음 처리
-    public synchronized boolean placeStone(String playerId, int x, int y) {
-        if (!gameStarted) return false;
+    public boolean placeStone(String playerId, int x, int y) {
+        ServerEvents.PlaceStone event = new ServerEvents.PlaceStone();
+        event.begin();
+        lock.lock();
+        try {
+            if (!gameStarted) return false;
+
+            // 현재 턴 플레이어인지 확인
+            Player currentPlayer = players.get(currentTurn);
+            if (!currentPlayer.getClientHandler().getUid().equals(playerId)) {
+                return false;
+            }
 
-        // 현재 턴 플레이어인지 확인
-        Player currentPlayer = players.get(currentTurn);
-        if (!currentPlayer.getClientHandler().getUid().equals(playerId)) {
-            return false;
-        }
+            // 유효한 위치인지 확인
+            if (!isValidPosition(x, y)) {
+                return false;
+            }
 
-        // 유효한 위치인지 확인
-        if (!isValidPosition(x, y)) {
-            return false;
-        }
+            // 돌 놓기
+            int color = (currentTurn == 0) ? BLACK : WHITE;
+            // 금수/승리 여부는 두기 전의 위협 정보에서 읽는다
+            long ruleStart = System.nanoTime();
+            boolean forbidden = color == BLACK && board.isForbidden(x, y);
+            boolean win = checkWin(x, y, color);
+            boolean forbiddenChanged = board.place(x, y, color);
+            long ruleNanos = System.nanoTime() - ruleStart;
+            server.getMetrics().ruleCheck(ruleNanos);
+            event.ruleCheck = ruleNanos;
+            event.broadcastStarted();
+
+            // 흑돌인 경우 금수 체크
+            if (forbidden) {
+                event.result = "금수";
+                return handleForbiddenMove(playerId, x, y);
+            }
 
-        // 돌 놓기
-        int color = (currentTurn == 0) ? BLACK : WHITE;
-        board[y][x] = color;
+            // 정상 수 기록
+            gameRecord.addPlayerMove(playerId, x, y);
+            clearAdviceState();
 
-        // 흑돌인 경우 금수 체크
-        if (color == BLACK && ruleChecker.isForbiddenMove(board, x, y)) {
-            return handleForbiddenMove(playerId, x, y);
-        }
+            // 모든 참가자에게 돌이 놓인 위치 전송
+            broadcastGameRoom(new OmokMsg(playerId, OmokMsg.MODE_STONE_PLACED, x, y, color));
 
-        // 정상 수 기록
-        gameRecord.addPlayerMove(playerId, x, y);
-        clearAdviceState();
-
-        // 모든 참가자에게 돌이 놓인 위치 전송
-        broadcastGameRoom(new OmokMsg(playerId, OmokMsg.MODE_STONE_PLACED, x, y, color));
+            // 승리 조건 확인
+            if (win) {
+                event.result = "승리";
+                return handleGameWin(playerId);
+            }
 
-        // 승리 조건 확인
-        if (checkWin(x, y, color)) {
-            return handleGameWin(playerId);
+            // 턴 변경
+            currentTurn = (currentTurn + 1) % 2;
+            if (forbiddenChanged) {
+                broadcastForbiddenPoints();
+            }
+            broadcastTurn();
+            event.result = "착수";
+            return true;
+        } finally {
+            event.finish(this, playerId, players.size() + spectators.size());
+            lock.unlock();
         }
-
-        // 턴 변경
-        currentTurn = (currentTurn + 1) % 2;
-        broadcastTurn();
-        return true;
     }
 
     // 유효한 위치인지 확인
     private boolean isValidPosition(int x, int y) {
-        return x >= 0 && x < BOARD_SIZE && y >= 0 && y < BOARD_SIZE && board[y][x] == 0;
+        return BitBoard.isInside(x, y) && board.board().isEmpty(x, y);
     }
 
     // 금수 처리
@@ -311,14 +351,19 @@ public class GameRoom {
 
     // 전적 업데이트 및 게임 종료
     private void updateStatsAndFinish(String winnerId, String loserId) {
-        server.updateUserStats(winnerId, true);
-        server.updateUserStats(loserId, false);
+        server.recordGameResult(winnerId, loserId);
+        server.archiveGame(gameRecord);
         sendMoveCount();
         gameStarted = false;
+        server.notifyRoomStatus(this);
     }
 
-    // 복기를 위한 수 개수 전송
+    // 복기를 위한 전체 기록과 수 개수 전송 (클라이언트는 받은 기록으로 서버에 묻지 않고 복기한다)
     private void sendMoveCount() {
+        OmokMsg replay = new OmokMsg("SERVER", OmokMsg.MODE_REPLAY_DATA);
+        replay.setData(gameRecord.toReplayData().toByteArray());
+        broadcastGameRoom(replay);
+
         int count = gameRecord.getMoveCount();
         broadcastGameRoom(new OmokMsg("SERVER", OmokMsg.MODE_RESULT_COUNT, String.valueOf(count)));
     }
@@ -326,116 +371,131 @@ public class GameRoom {
     // 승리 조건 확인
     // ============================================================================================================
 
-    // 승리 조건 확인 (5개 연속)
+    // 승리 조건 확인 (두면 5개 이상 연속이 되는 자리인지)
     private boolean checkWin(int x, int y, int color) {
-        int[][] directions = {{1,0}, {0,1}, {1,1}, {1,-1}};
-        for (int[] dir : directions) {
-            int count = 1;
-            count += countStones(x, y, dir[0], dir[1], color);
-            count += countStones(x, y, -dir[0], -dir[1], color);
-            if (count >= 5) return true;
-        }
-        return false;
-    }
-
-    // 특정 방향으로 연속된 돌 개수 세기
-    private int countStones(int x, int y, int dx, int dy, int color) {
-        int count = 0;
-        int nx = x + dx;
-        int ny = y + dy;
-        while (nx >= 0 && nx < BOARD_SIZE && ny >= 0 && ny < BOARD_SIZE &&
-                board[ny][nx] == color) {
-            count++;
-            nx += dx;
-            ny += dy;
-        }
-        return count;
+        return board.isWinningMove(x, y, color);
+    }
+
+    // 흑 금수 자리를 모두에게 전송 (클라이언트가 판 위에 표시)
+    private void broadcastForbiddenPoints() {
+        OmokMsg msg = new OmokMsg("SERVER", OmokMsg.MODE_FORBIDDEN_POINTS);
+        msg.setData(board.forbiddenPoints());
+        broadcastGameRoom(msg);
     }
 
     // 훈수 시스템
     // =======================================================================================
 
     // 플레이어가 훈수 요청
-    public synchronized void requestAdvice(String playerId) {
-        if (!gameStarted) return;
-
-        // 현재 턴 플레이어인지 확인
-        if (!isCurrentPlayer(playerId)) {
-            sendMessage(playerId, "자신의 차례일 때만 훈수를 요청할 수 있습니다.");
-            return;
-        }
+    public void requestAdvice(String playerId) {
+        lock.lock();
+        try {
+            if (!gameStarted) return;
+
+            // 현재 턴 플레이어인지 확인
+            if (!isCurrentPlayer(playerId)) {
+                sendMessage(playerId, "자신의 차례일 때만 훈수를 요청할 수 있습니다.");
+                return;
+            }
 
-        // 훈수 요청 횟수 초과 확인
-        if (isAdviceLimitExceeded(playerId)) {
-            Player currentPlayer = findPlayerByUid(playerId);
-            currentPlayer.getClientHandler().send(
-                    new OmokMsg("SERVER", OmokMsg.MODE_ADVICE_LIMIT_EXCEEDED,
-                            "훈수 요청 횟수를 모두 사용했습니다. (최대 " + MAX_ADVICE_REQUESTS + "회)")
-            );
-            return;
-        }
+            // 훈수 요청 횟수 초과 확인
+            if (isAdviceLimitExceeded(playerId)) {
+                Player currentPlayer = findPlayerByUid(playerId);
+                currentPlayer.getClientHandler().send(
+                        new OmokMsg("SERVER", OmokMsg.MODE_ADVICE_LIMIT_EXCEEDED,
+                                "훈수 요청 횟수를 모두 사용했습니다. (최대 " + MAX_ADVICE_REQUESTS + "회)")
+                );
+                return;
+            }
 
-        // 관전자 존재 여부 확인
-        if (spectators.isEmpty()) {
-            sendMessage(playerId, "현재 관전자가 없습니다.");
-            return;
-        }
+            // 관전자 존재 여부 확인
+            if (spectators.isEmpty()) {
+                sendMessage(playerId, "현재 관전자가 없습니다.");
+                return;
+            }
 
-        // 훈수 요청 상태 저장
-        startAdviceRequest(playerId);
+            // 훈수 요청 상태 저장
+            startAdviceRequest(playerId);
 
-        // 모든 관전자에게 훈수 요청 알림
-        broadcastAdviceRequest(playerId);
+            // 모든 관전자에게 훈수 요청 알림
+            broadcastAdviceRequest(playerId);
 
-        // 요청자에게 대기 메시지
-        sendAdviceWaitMessage(playerId);
+            // 요청자에게 대기 메시지
+            sendAdviceWaitMessage(playerId);
+        } finally {
+            lock.unlock();
+        }
     }
 
     // 관전자가 훈수 제공 의사 표시
-    public synchronized void offerAdvice(String spectatorId) {
-        if (currentAdviceRequester == null) return;
-        if (!isSpectator(spectatorId)) return;
+    public void offerAdvice(String spectatorId) {
+        lock.lock();
+        try {
+            if (currentAdviceRequester == null) return;
+            if (!isSpectator(spectatorId)) return;
 
-        adviceOffers.add(spectatorId);
-        sendAdviceOffersList();
+            adviceOffers.add(spectatorId);
+            sendAdviceOffersList();
+        } finally {
+            lock.unlock();
+        }
     }
 
     // 플레이어가 훈수해줄 관전자 선택
-    public synchronized void selectAdvisor(String playerId, String advisorId) {
-        if (!playerId.equals(currentAdviceRequester)) return;
-        if (!adviceOffers.contains(advisorId)) return;
+    public void selectAdvisor(String playerId, String advisorId) {
+        lock.lock();
+        try {
+            if (!playerId.equals(currentAdviceRequester)) return;
+            if (!adviceOffers.contains(advisorId)) return;
 
-        selectedAdvisor = advisorId;
-        adviceRequestCount.put(playerId, adviceRequestCount.get(playerId) + 1);
+            selectedAdvisor = advisorId;
+            adviceRequestCount.put(playerId, adviceRequestCount.get(playerId) + 1);
 
-        // 선택된 관전자에게 알림
-        notifySelectedAdvisor(playerId, advisorId);
+            // 선택된 관전자에게 알림
+            notifySelectedAdvisor(playerId, advisorId);
 
-        // 요청자에게 알림
-        notifyRequester(playerId, advisorId);
+            // 요청자에게 알림
+            notifyRequester(playerId, advisorId);
 
-        // 선택되지 않은 관전자들에게 알림
-        notifyUnselectedAdvisors(advisorId);
+            // 선택되지 않은 관전자들에게 알림
+            notifyUnselectedAdvisors(advisorId);
+        } finally {
+            lock.unlock();
+        }
     }
 
     // 관전자의 훈수 처리
-    public synchronized void handleSuggestion(String spectatorId, int x, int y) {
-        if (!gameStarted) return;
+    public void handleSuggestion(String spectatorId, int x, int y) {
+        lock.lock();
+        try {
+            if (!gameStarted) return;
+
+            // 판 밖의 좌표는 기록하지 않는다
+            if (!BitBoard.isInside(x, y)) {
+                sendMessage(spectatorId, "잘못된 훈수 위치입니다.");
+                return;
+            }
 
-        // 선택된 관전자인지 확인
-        if (!isSelectedAdvisor(spectatorId)) {
-            sendMessage(spectatorId, "현재 훈수가 선택되지 않았습니다.");
-            return;
-        }
+            // 선택된 관전자인지 확인
+            if (!isSelectedAdvisor(spectatorId)) {
+                sendMessage(spectatorId, "현재 훈수가 선택되지 않았습니다.");
+                return;
+            }
 
-        // 현재 턴 플레이어에게 훈수 전송
-        Player currentPlayer = players.get(currentTurn);
-        int adviceColor = spectatorColors.getOrDefault(spectatorId, 0xFF0000);
-        gameRecord.addSpectatorSuggestion(spectatorId, x, y, adviceColor);
+            // 현재 턴 플레이어에게 훈수 전송
+            Player currentPlayer = players.get(currentTurn);
+            int adviceColor = spectatorColors.getOrDefault(spectatorId, 0xFF0000);
+            // 복기 데이터에 담을 수 있는 훈수 관전자 수를 넘으면 훈수는 전하되 기록하지 않는다
+            if (gameRecord.canRecordSuggestion(spectatorId)) {
+                gameRecord.addSpectatorSuggestion(spectatorId, x, y, adviceColor);
+            }
 
-        OmokMsg suggestionMsg = new OmokMsg(spectatorId, OmokMsg.MODE_SUGGESTION_RECEIVED, x, y, 3);
-        suggestionMsg.setAdviceColor(adviceColor);
-        currentPlayer.getClientHandler().send(suggestionMsg);
+            OmokMsg suggestionMsg = new OmokMsg(spectatorId, OmokMsg.MODE_SUGGESTION_RECEIVED, x, y, 3);
+            suggestionMsg.setAdviceColor(adviceColor);
+            currentPlayer.getClientHandler().send(suggestionMsg);
+        } finally {
+            lock.unlock();
+        }
     }
 
     // --- 훈수 시스템 메서드 ---
@@ -456,8 +516,8 @@ public class GameRoom {
     }
 
     private void broadcastAdviceRequest(String playerId) {
-        OmokMsg adviceRequest = new OmokMsg("SERVER", OmokMsg.MODE_ADVICE_REQUEST_BROADCAST,
-                playerId + "님이 훈수를 요청했습니다. 훈수를 제공하시겠습니까?");
+        OutboundFrame adviceRequest = OutboundFrame.of(new OmokMsg("SERVER", OmokMsg.MODE_ADVICE_REQUEST_BROADCAST,
+                playerId + "님이 훈수를 요청했습니다. 훈수를 제공하시겠습니까?"));
         for (Player spectator : spectators) {
             spectator.getClientHandler().send(adviceRequest);
         }
@@ -537,19 +597,24 @@ public class GameRoom {
     // ====================================================================================
 
     // 플레이어 기권 처리
-    public synchronized void handleSurrender(String playerId) {
-        if (!gameStarted) return;
+    public void handleSurrender(String playerId) {
+        lock.lock();
+        try {
+            if (!gameStarted) return;
 
-        Player surrenderer = findPlayerByUid(playerId);
-        if (surrenderer == null) return;
+            Player surrenderer = findPlayerByUid(playerId);
+            if (surrenderer == null) return;
 
-        String winnerId = findOpponentId(playerId);
-        if (winnerId != null) {
-            gameRecord.endGame(winnerId);
-            String message = playerId + "님이 기권했습니다. " + winnerId + "님이 승리했습니다!";
-            broadcastGameRoom(new OmokMsg("SERVER", OmokMsg.MODE_GAME_OVER, message));
+            String winnerId = findOpponentId(playerId);
+            if (winnerId != null) {
+                gameRecord.endGame(winnerId);
+                String message = playerId + "님이 기권했습니다. " + winnerId + "님이 승리했습니다!";
+                broadcastGameRoom(new OmokMsg("SERVER", OmokMsg.MODE_GAME_OVER, message));
 
-            updateStatsAndFinish(winnerId, playerId);
+                updateStatsAndFinish(winnerId, playerId);
+            }
+        } finally {
+            lock.unlock();
         }
     }
 
@@ -564,14 +629,16 @@ public class GameRoom {
         broadcastGameRoom(new OmokMsg("SERVER", OmokMsg.MODE_TURN_CHANGED, turnMsg));
     }
 
-    // 방의 모든 참가자(플레이어 + 관전자)에게 메시지 전송
+    // 방의 모든 참가자(플레이어 + 관전자)에게 메시지 전송 (한 번만 인코딩)
     public void broadcastGameRoom(OmokMsg msg) {
+        OutboundFrame frame = OutboundFrame.of(msg);
         for (Player player : players) {
-            player.getClientHandler().send(msg);
+            player.getClientHandler().send(frame);
         }
         for (Player spectator : spectators) {
-            spectator.getClientHandler().send(msg);
+            spectator.getClientHandler().send(frame);
         }
+        server.getMetrics().roomBroadcast(players.size() + spectators.size());
     }
 
     // 특정 사용자에게 메시지 전송
@@ -585,15 +652,49 @@ public class GameRoom {
         }
     }
 
-    // 플레이어들에게 관전자 수 알림
+    // 플레이어들에게 관전자 수 알림 (짧은 시간 안의 변경은 한 번으로 묶음)
     private void notifySpectatorCount() {
-        if (gameStarted) {
-            OmokMsg countMsg = new OmokMsg("SERVER", OmokMsg.MODE_SPECTATOR_COUNT,
-                    String.valueOf(spectators.size()));
-            for (Player player : players) {
-                player.getClientHandler().send(countMsg);
+        server.getCoalescer().request(NotificationCoalescer.SPECTATORS, roomId, () -> {
+            lock.lock();
+            try {
+                if (gameStarted) {
+                    OutboundFrame countFrame = OutboundFrame.of(new OmokMsg("SERVER", OmokMsg.MODE_SPECTATOR_COUNT,
+                            String.valueOf(spectators.size())));
+                    for (Player player : players) {
+                        player.getClientHandler().send(countFrame);
+                    }
+                }
+            } finally {
+                lock.unlock();
             }
-        }
+        });
+    }
+
+    // 방 참가자 목록 변경 알림 (짧은 시간 안의 변경은 한 번으로 묶음)
+    public void notifyParticipantsChanged() {
+        server.getCoalescer().request(NotificationCoalescer.ROOM_USERS, roomId, () -> {
+            lock.lock();
+            try {
+                broadcastGameRoom(new OmokMsg("SERVER", OmokMsg.MODE_REFRESH_GAME_USER_LIST, getPlayersForClient()));
+            } finally {
+                lock.unlock();
+            }
+        });
+    }
+
+    // 방 정보(제목, 방장) 변경 알림 (짧은 시간 안의 변경은 한 번으로 묶음)
+    public void notifyRoomInfoChanged() {
+        server.getCoalescer().request(NotificationCoalescer.ROOM_INFO, roomId, () -> {
+            lock.lock();
+            try {
+                if (!players.isEmpty()) {
+                    broadcastGameRoom(new OmokMsg("SERVER", OmokMsg.MODE_ROOM_INFO,
+                            title + ", " + owner.getClientHandler().getUid()));
+                }
+            } finally {
+                lock.unlock();
+            }
+        });
     }
 
     // 클라이언트에 표시할 참가자 목록 문자열 생성
@@ -661,6 +762,19 @@ public class GameRoom {
     public String getTitle() { return title; }
     public Player getOwner() { return owner; }
     public int getPlayerCount() { return players.size(); }
+    public int getSpectatorCount() { return spectators.size(); }
     public boolean isGameStarted() { return gameStarted; }
     public GameRecord getGameRecord() { return gameRecord; }
+    public long getLastActivity() { return lastActivity; }
+
+    // 현재(또는 마지막) 게임의 수. 게임 기록이 없으면 0
+    public int getMoveCount() {
+        GameRecord record = gameRecord;
+        return record != null ? record.getMoveCount() : 0;
+    }
+
+    // 참가자의 메시지를 받았을 때 (ClientHandler에서 호출)
+    void touch(long now) {
+        lastActivity = now;
+    }
 }
\ No newline at end of file
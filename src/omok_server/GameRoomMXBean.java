@@ -0,0 +1,14 @@
+package omok_server;
+
+// 게임 방 하나의 상태 (JMX, omok:type=Room,port=<포트>,id=<방 ID>)
+public interface GameRoomMXBean {
+    String getRoomId();
+    String getTitle();
+    String getStatus();             // 대기중 / 게임중
+    String getOwner();
+    int getPlayerCount();
+    int getSpectatorCount();
+    int getMoveCount();             // 현재(또는 마지막) 게임의 수
+    long getLastActivity();         // 참가자가 마지막으로 메시지를 보낸 시각 (epoch ms)
+    long getIdleSeconds();
+}
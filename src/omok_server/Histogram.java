@@ -0,0 +1,122 @@
+package omok_server;
+
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+// 칸이 고정된 히스토그램 (시간(ns), 수신자 수 등 0 이상의 정수 값)
+// 2^subBits까지는 1 단위, 그 위로는 2의 거듭제곱 구간마다 2^subBits칸으로 나눈다. (2^41까지)
+// 기본은 subBits = 2 (4칸, 상대 오차 25% 이내). 칸을 늘리면 오차가 줄고 칸 수는 늘어난다. (5이면 약 3%)
+// 칸마다 LongAdder에 더하기만 하므로 여러 스레드가 락 없이 동시에 기록해도 서로 막지 않는다.
+// 읽기(백분위 등)는 그 순간의 근삿값이다.
+class Histogram {
+    private static final int DEFAULT_SUB_BITS = 2;
+    private static final int MAX_EXPONENT = 40;
+    private static final long MAX_VALUE = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    private final int subBits;
+    private final int sub;
+    private final LongAdder[] counts;
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+    Histogram() {
+        this(DEFAULT_SUB_BITS);
+    }
+
+    Histogram(int subBits) {
+        if (subBits < 0 || subBits > MAX_EXPONENT) {
+            throw new IllegalArgumentException("subBits: " + subBits);
+        }
+        this.subBits = subBits;
+        this.sub = 1 << subBits;
+        this.counts = new LongAdder[(MAX_EXPONENT - subBits + 2) * sub];
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = new LongAdder();
+        }
+    }
+
+    void record(long value) {
+        long v = Math.min(MAX_VALUE, Math.max(0, value));
+        counts[index(v)].increment();
+        sum.add(v);
+        max.accumulate(v);
+    }
+
+    // 모두 0으로 (기록 중에 부르면 그 사이 기록 일부가 빠질 수 있다)
+    void reset() {
+        for (LongAdder count : counts) {
+            count.reset();
+        }
+        sum.reset();
+        max.reset();
+    }
+
+    long count() {
+        long total = 0;
+        for (LongAdder count : counts) {
+            total += count.sum();
+        }
+        return total;
+    }
+
+    long sum() {
+        return sum.sum();
+    }
+
+    long max() {
+        return max.get();
+    }
+
+    double mean() {
+        long n = count();
+        return n == 0 ? 0 : (double) sum() / n;
+    }
+
+    // 백분위 값 (q는 0 ~ 1). 해당 칸의 위쪽 경계이며 최댓값을 넘지 않는다. 기록이 없으면 0
+    long percentile(double q) {
+        long[] snapshot = new long[counts.length];
+        long total = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts[i].sum();
+            total += snapshot[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(q * total));
+        long seen = 0;
+        for (int i = 0; i < snapshot.length; i++) {
+            seen += snapshot[i];
+            if (seen >= rank) {
+                return Math.min(upperBound(i), max());
+            }
+        }
+        return max();
+    }
+
+    // 칸별 개수 (칸 i의 위쪽 경계는 upperBound(i))
+    long[] bucketCounts() {
+        long[] snapshot = new long[counts.length];
+        for (int i = 0; i < snapshot.length; i++) {
+            snapshot[i] = counts[i].sum();
+        }
+        return snapshot;
+    }
+
+    int index(long value) {
+        if (value < sub) {
+            return (int) value;
+        }
+        int shift = 63 - Long.numberOfLeadingZeros(value) - subBits;
+        return (shift + 1) * sub + (int) ((value >>> shift) - sub);
+    }
+
+    long upperBound(int index) {
+        if (index < sub) {
+            return index;
+        }
+        int shift = index / sub - 1;
+        long lower = (long) (index % sub + sub) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -0,0 +1,164 @@
+package omok_server;
+
+import omok_shared.OmokMsg;
+
+// 로비 목록(접속자, 방) 변경 알림
+// 변경이 생길 때마다 순번(seq)을 붙인 델타 메시지를 보내고, 순번이 빈 것을 발견한 클라이언트는 전체 목록(스냅샷)을 다시 요청한다.
+// 스냅샷을 요청한 적이 없는 클라이언트(기존 클라이언트)에게는 예전처럼 바뀐 쪽의 전체 목록을 보낸다.
+// 목록 변경, 순번 부여, 전송 대기열에 넣기를 한 락 안에서 하므로 스냅샷과 델타의 순서가 어긋나지 않는다.
+// 기존 클라이언트용 전체 목록은 순번이 없으므로 NotificationCoalescer로 묶어서 최신 목록만 보낸다.
+class LobbyFeed {
+    private final OmokServer server;
+    private final UserRegistry users;
+    private final RoomRegistry rooms;
+    private final NotificationCoalescer coalescer;
+    private final MonitoredLock lock = new MonitoredLock("lobby", null);   // 기다린 시간은 JFR 이벤트 omok.LockWait
+    private long seq = 1;   // 현재 목록의 순번 (스냅샷에 담기고, 변경마다 1씩 증가)
+
+    LobbyFeed(OmokServer server, UserRegistry users, RoomRegistry rooms, NotificationCoalescer coalescer) {
+        this.server = server;
+        this.users = users;
+        this.rooms = rooms;
+        this.coalescer = coalescer;
+    }
+
+    // 로그인 알림 (연결은 접속할 때 이미 등록되어 있다)
+    void userJoined(String uid) {
+        lock.lock();
+        try {
+            publish(OmokMsg.MODE_USER_JOINED, uid, false);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 연결 제거. 이미 제거되었으면 false
+    boolean userLeft(OmokServer.ClientHandler handler) {
+        lock.lock();
+        try {
+            if (!users.remove(handler)) {
+                return false;
+            }
+            if (handler.getUid() != null) {
+                publish(OmokMsg.MODE_USER_LEFT, handler.getUid(), false);
+            }
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void roomAdded(GameRoom room) {
+        lock.lock();
+        try {
+            rooms.add(room);
+            publish(OmokMsg.MODE_ROOM_ADDED,
+                    room.getRoomId() + "|" + room.getTitle() + "|" + room.getRoomStatus(), true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 방 제거. 이미 제거되었으면 false
+    boolean roomRemoved(GameRoom room) {
+        lock.lock();
+        try {
+            if (!rooms.remove(room)) {
+                return false;
+            }
+            publish(OmokMsg.MODE_ROOM_REMOVED, room.getRoomId(), true);
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 방 상태(대기중/게임중) 변경
+    void roomStatusChanged(GameRoom room) {
+        lock.lock();
+        try {
+            if (rooms.find(room.getRoomId()) != room) {
+                return;
+            }
+            publish(OmokMsg.MODE_ROOM_STATUS, room.getRoomId() + "|" + room.getRoomStatus(), true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 현재 순번의 전체 목록을 보내고, 이후로는 델타를 보낸다
+    void sendSnapshot(OmokServer.ClientHandler handler) {
+        lock.lock();
+        try {
+            OmokMsg userList = new OmokMsg("SERVER", OmokMsg.MODE_REFRESH_USER_LIST, server.getAllLUsers());
+            OmokMsg roomList = new OmokMsg("SERVER", OmokMsg.MODE_REFRESH_ROOM_LIST, server.getAllRooms());
+            userList.setSeq(seq);
+            roomList.setSeq(seq);
+            handler.send(userList);
+            handler.send(roomList);
+            handler.setLobbyDeltas(true);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 기존 방식의 전체 목록 한 개 전송 (순번 없음)
+    void sendFullList(OmokServer.ClientHandler handler, boolean roomList) {
+        handler.send(fullList(roomList));
+    }
+
+    // 락을 잡은 상태에서 호출. 델타 수신자에게는 델타를 바로 보내고, 나머지에게는 전체 목록 전송을 예약한다.
+    private void publish(int mode, String message, boolean roomList) {
+        OmokMsg delta = new OmokMsg("SERVER", mode, message);
+        delta.setSeq(++seq);
+        OutboundFrame deltaFrame = OutboundFrame.of(delta);
+        ServerEvents.LobbyBroadcast event = new ServerEvents.LobbyBroadcast();
+        event.begin();
+        boolean fullListNeeded = false;
+        int recipients = 0;
+        for (OmokServer.ClientHandler user : users.all()) {
+            if (user.isLobbyDeltas()) {
+                user.send(deltaFrame);
+                recipients++;
+            } else {
+                fullListNeeded = true;
+            }
+        }
+        server.getMetrics().lobbyBroadcast(recipients);
+        event.finish(deltaFrame, recipients);
+        if (fullListNeeded) {
+            coalescer.request(roomList ? NotificationCoalescer.LOBBY_ROOMS : NotificationCoalescer.LOBBY_USERS,
+                    null, () -> sendFullListToAll(roomList));
+        }
+    }
+
+    // 델타를 받지 않는 모든 클라이언트에게 최신 전체 목록 전송 (알림 묶기 스레드)
+    // 목록은 락 밖에서 만든다. 그 뒤에 바뀐 내용은 publish가 다시 예약한다.
+    // 받는 쪽 확인과 대기열에 넣기는 락 안에서 한다. 그 사이에 sendSnapshot으로 델타로 바뀐 클라이언트에게
+    // 스냅샷보다 늦게 순번 없는 목록이 가면, 클라이언트가 순번을 그대로 둔 채 목록을 바꿔 델타가 어긋난다.
+    private void sendFullListToAll(boolean roomList) {
+        OutboundFrame fullFrame = OutboundFrame.of(fullList(roomList));
+        ServerEvents.LobbyBroadcast event = new ServerEvents.LobbyBroadcast();
+        event.begin();
+        int recipients = 0;
+        lock.lock();
+        try {
+            for (OmokServer.ClientHandler user : users.all()) {
+                if (!user.isLobbyDeltas()) {
+                    user.send(fullFrame);
+                    recipients++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+        server.getMetrics().lobbyBroadcast(recipients);
+        event.finish(fullFrame, recipients);
+    }
+
+    private OmokMsg fullList(boolean roomList) {
+        return roomList
+                ? new OmokMsg("SERVER", OmokMsg.MODE_REFRESH_ROOM_LIST, server.getAllRooms())
+                : new OmokMsg("SERVER", OmokMsg.MODE_REFRESH_USER_LIST, server.getAllLUsers());
+    }
+}
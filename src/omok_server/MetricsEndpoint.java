@@ -0,0 +1,258 @@
+package omok_server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// 지표 HTTP 엔드포인트 (127.0.0.1에만 열림)
+//   GET /metrics       Prometheus 텍스트 형식
+//   GET /metrics.json  같은 내용의 JSON
+// 요청은 데몬 스레드 하나가 처리한다. 값은 요청마다 서버에서 새로 읽는다.
+class MetricsEndpoint {
+    private static final double[] QUANTILES = {0.5, 0.99};
+
+    private final OmokServer server;
+    private final HttpServer http;
+    private final ExecutorService executor;
+
+    private MetricsEndpoint(OmokServer server, HttpServer http, ExecutorService executor) {
+        this.server = server;
+        this.http = http;
+        this.executor = executor;
+    }
+
+    static MetricsEndpoint start(OmokServer server, int port) throws IOException {
+        HttpServer http = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "omok-metrics-http");
+            thread.setDaemon(true);
+            return thread;
+        });
+        MetricsEndpoint endpoint = new MetricsEndpoint(server, http, executor);
+        http.createContext("/metrics", endpoint::handle);
+        http.setExecutor(executor);
+        http.start();
+        return endpoint;
+    }
+
+    int port() {
+        return http.getAddress().getPort();
+    }
+
+    void stop() {
+        http.stop(0);
+        executor.shutdown();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                respond(exchange, 405, "text/plain", "GET만 지원합니다.\n");
+            } else if (path.equals("/metrics")) {
+                respond(exchange, 200, "text/plain; version=0.0.4", text(server));
+            } else if (path.equals("/metrics.json")) {
+                respond(exchange, 200, "application/json", json(server));
+            } else {
+                respond(exchange, 404, "text/plain", "/metrics 또는 /metrics.json\n");
+            }
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String type, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", type + "; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    // ==== Prometheus 텍스트 형식 ====
+
+    static String text(OmokServer server) {
+        ServerMetrics metrics = server.getMetrics();
+        ServerMetrics.Gauges gauges = ServerMetrics.Gauges.of(server);
+        StringBuilder sb = new StringBuilder(4096);
+
+        gauge(sb, "omok_start_time_seconds", "", metrics.startedAt() / 1000.0);
+        gauge(sb, "omok_connected_users", "", gauges.users);
+        gauge(sb, "omok_rooms", "{status=\"waiting\"}", gauges.waitingRooms);
+        gauge(sb, "omok_rooms", "{status=\"playing\"}", gauges.playingRooms);
+        gauge(sb, "omok_spectators", "", gauges.spectators);
+        gauge(sb, "omok_room_spectators_max", "", gauges.maxSpectators);
+
+        for (int mode = 0; mode <= ServerMetrics.MAX_MODE; mode++) {
+            String label = "mode=\"" + ServerMetrics.modeName(mode) + "\"";
+            Histogram handling = metrics.handling(mode);
+            if (handling != null) {
+                summary(sb, "omok_inbound_handling_seconds", label, handling);
+            }
+            long out = metrics.outboundMessages(mode);
+            if (out > 0) {
+                gauge(sb, "omok_outbound_messages_total", "{" + label + "}", out);
+                gauge(sb, "omok_outbound_bytes_total", "{" + label + "}", metrics.outboundBytes(mode));
+            }
+        }
+        summary(sb, "omok_rule_check_seconds", null, metrics.ruleCheck());
+
+        for (GameRoom room : server.roomSnapshot()) {
+            String label = "{room=\"" + room.getRoomId() + "\"}";
+            sb.append("omok_room_info{room=\"").append(room.getRoomId())
+                    .append("\",title=\"").append(escapeLabel(room.getTitle()))
+                    .append("\",owner=\"").append(escapeLabel(ownerOf(room)))
+                    .append("\",status=\"").append(room.getRoomStatus()).append("\"} 1\n");
+            gauge(sb, "omok_room_players", label, room.getPlayerCount());
+            gauge(sb, "omok_room_spectators", label, room.getSpectatorCount());
+            gauge(sb, "omok_room_moves", label, room.getMoveCount());
+            gauge(sb, "omok_room_last_activity_seconds", label, room.getLastActivity() / 1000.0);
+        }
+
+        for (OmokServer.ClientHandler handler : server.connectionSnapshot()) {
+            String label = "{connection=\"" + handler.getConnectionId() + "\",uid=\""
+                    + escapeLabel(String.valueOf(handler.getUid())) + "\"}";
+            gauge(sb, "omok_connection_queue_depth", label, handler.getOutboundQueueDepth());
+            gauge(sb, "omok_connection_dropped_total", label, handler.getDroppedMessageCount());
+            gauge(sb, "omok_connection_last_activity_seconds", label, handler.getLastActivity() / 1000.0);
+        }
+        return sb.toString();
+    }
+
+    private static void gauge(StringBuilder sb, String name, String labels, double value) {
+        sb.append(name).append(labels).append(' ');
+        if (value == Math.rint(value) && Math.abs(value) < 1e15) {
+            sb.append((long) value);
+        } else {
+            sb.append(value);
+        }
+        sb.append('\n');
+    }
+
+    // ns 히스토그램을 초 단위 summary로 (분위수, _sum, _count)
+    private static void summary(StringBuilder sb, String name, String label, Histogram histogram) {
+        String prefix = label != null ? label + "," : "";
+        for (double q : QUANTILES) {
+            gauge(sb, name, "{" + prefix + "quantile=\"" + q + "\"}", histogram.percentile(q) / 1e9);
+        }
+        String plain = label != null ? "{" + label + "}" : "";
+        gauge(sb, name + "_sum", plain, histogram.sum() / 1e9);
+        gauge(sb, name + "_count", plain, histogram.count());
+    }
+
+    private static String escapeLabel(String value) {
+        return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+
+    // ==== JSON ====
+
+    static String json(OmokServer server) {
+        ServerMetrics metrics = server.getMetrics();
+        ServerMetrics.Gauges gauges = ServerMetrics.Gauges.of(server);
+        StringBuilder sb = new StringBuilder(4096);
+
+        sb.append("{\"server\":{\"startedAt\":").append(metrics.startedAt())
+                .append(",\"users\":").append(gauges.users)
+                .append(",\"waitingRooms\":").append(gauges.waitingRooms)
+                .append(",\"playingRooms\":").append(gauges.playingRooms)
+                .append(",\"spectators\":").append(gauges.spectators)
+                .append(",\"maxSpectators\":").append(gauges.maxSpectators).append("},\n");
+
+        sb.append("\"modes\":[");
+        boolean first = true;
+        for (int mode = 0; mode <= ServerMetrics.MAX_MODE; mode++) {
+            Histogram handling = metrics.handling(mode);
+            long out = metrics.outboundMessages(mode);
+            if (handling == null && out == 0) {
+                continue;
+            }
+            sb.append(first ? "\n" : ",\n");
+            first = false;
+            sb.append("{\"mode\":\"").append(ServerMetrics.modeName(mode))
+                    .append("\",\"inbound\":").append(handling != null ? handling.count() : 0);
+            if (handling != null) {
+                sb.append(",\"handlingMicros\":");
+                timing(sb, handling);
+            }
+            sb.append(",\"outbound\":").append(out)
+                    .append(",\"outboundBytes\":").append(metrics.outboundBytes(mode)).append('}');
+        }
+        sb.append("],\n\"ruleCheckMicros\":");
+        timing(sb, metrics.ruleCheck());
+
+        sb.append(",\n\"rooms\":[");
+        List<GameRoom> rooms = server.roomSnapshot();
+        for (int i = 0; i < rooms.size(); i++) {
+            GameRoom room = rooms.get(i);
+            sb.append(i == 0 ? "\n" : ",\n");
+            sb.append("{\"id\":").append(quote(room.getRoomId()))
+                    .append(",\"title\":").append(quote(room.getTitle()))
+                    .append(",\"status\":").append(quote(room.getRoomStatus()))
+                    .append(",\"owner\":").append(quote(ownerOf(room)))
+                    .append(",\"players\":").append(room.getPlayerCount())
+                    .append(",\"spectators\":").append(room.getSpectatorCount())
+                    .append(",\"moves\":").append(room.getMoveCount())
+                    .append(",\"lastActivity\":").append(room.getLastActivity()).append('}');
+        }
+
+        sb.append("],\n\"connections\":[");
+        List<OmokServer.ClientHandler> connections = server.connectionSnapshot();
+        for (int i = 0; i < connections.size(); i++) {
+            OmokServer.ClientHandler handler = connections.get(i);
+            sb.append(i == 0 ? "\n" : ",\n");
+            sb.append("{\"id\":").append(handler.getConnectionId())
+                    .append(",\"uid\":").append(quote(handler.getUid()))
+                    .append(",\"room\":").append(quote(handler.getRoomId()))
+                    .append(",\"queueDepth\":").append(handler.getOutboundQueueDepth())
+                    .append(",\"dropped\":").append(handler.getDroppedMessageCount())
+                    .append(",\"connectedAt\":").append(handler.getConnectedAt())
+                    .append(",\"lastActivity\":").append(handler.getLastActivity()).append('}');
+        }
+        sb.append("]}\n");
+        return sb.toString();
+    }
+
+    private static void timing(StringBuilder sb, Histogram histogram) {
+        sb.append("{\"count\":").append(histogram.count())
+                .append(",\"p50\":").append(ServerMonitor.micros(histogram.percentile(0.5)))
+                .append(",\"p99\":").append(ServerMonitor.micros(histogram.percentile(0.99)))
+                .append(",\"max\":").append(ServerMonitor.micros(histogram.max())).append('}');
+    }
+
+    // JSON 문자열 (null이면 null)
+    private static String quote(String value) {
+        if (value == null) {
+            return "null";
+        }
+        StringBuilder sb = new StringBuilder(value.length() + 2).append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"': sb.append("\\\""); break;
+                case '\\': sb.append("\\\\"); break;
+                case '\n': sb.append("\\n"); break;
+                case '\r': sb.append("\\r"); break;
+                case '\t': sb.append("\\t"); break;
+                default:
+                    if (c < 0x20) {
+                        sb.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        sb.append(c);
+                    }
+            }
+        }
+        return sb.append('"').toString();
+    }
+
+    private static String ownerOf(GameRoom room) {
+        String uid = room.getOwner().getClientHandler().getUid();
+        return uid != null ? uid : "";
+    }
+}
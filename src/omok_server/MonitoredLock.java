@@ -0,0 +1,90 @@
+package omok_server;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 기다린 시간을 JFR 이벤트(omok.LockWait)로 남기는 락 (안에 ReentrantLock 하나를 감싼다)
+// 먼저 tryLock으로 바로 잡아 보고(비공정 락의 lock()도 처음에 이렇게 한다), 못 잡았을 때만 이벤트를 만든다.
+// 따라서 경합이 없으면 보통 ReentrantLock과 같다. 기다리는 방법(lock, lockInterruptibly, 시간 제한 tryLock)은 모두 기록한다.
+final class MonitoredLock implements Lock {
+    private final ReentrantLock lock = new ReentrantLock();
+    private final String name;
+    private final String roomId;
+
+    MonitoredLock(String name, String roomId) {
+        this.name = name;
+        this.roomId = roomId;
+    }
+
+    @Override
+    public void lock() {
+        if (lock.tryLock()) {
+            return;
+        }
+        ServerEvents.LockWait event = waitStarted();
+        lock.lock();
+        waitEnded(event);
+    }
+
+    @Override
+    public void lockInterruptibly() throws InterruptedException {
+        if (lock.tryLock()) {
+            return;
+        }
+        ServerEvents.LockWait event = waitStarted();
+        try {
+            lock.lockInterruptibly();
+        } finally {
+            waitEnded(event);
+        }
+    }
+
+    @Override
+    public boolean tryLock() {
+        return lock.tryLock();
+    }
+
+    @Override
+    public boolean tryLock(long time, TimeUnit unit) throws InterruptedException {
+        if (lock.tryLock()) {
+            return true;
+        }
+        ServerEvents.LockWait event = waitStarted();
+        try {
+            return lock.tryLock(time, unit);
+        } finally {
+            waitEnded(event);
+        }
+    }
+
+    @Override
+    public void unlock() {
+        lock.unlock();
+    }
+
+    @Override
+    public Condition newCondition() {
+        return lock.newCondition();
+    }
+
+    private ServerEvents.LockWait waitStarted() {
+        ServerEvents.LockWait event = new ServerEvents.LockWait();
+        event.begin();
+        if (event.isEnabled()) {
+            event.waiters = lock.getQueueLength();
+        }
+        return event;
+    }
+
+    // 잡았든 못 잡았든(시간 초과, 인터럽트) 기다린 시간을 남긴다
+    private void waitEnded(ServerEvents.LockWait event) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.lock = name;
+            event.roomId = roomId;
+            event.commit();
+        }
+    }
+}
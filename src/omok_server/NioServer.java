@@ -0,0 +1,340 @@
+package omok_server;
+
+import omok_shared.OmokMsg;
+import omok_shared.OmokWire;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Selector 기반 서버 코어
+// 수락 스레드 하나가 연결을 받아 소수의 이벤트 루프에 나눠 주고,
+// 각 이벤트 루프는 논블로킹으로 프레임을 읽어 ClientHandler에 전달한다.
+class NioServer {
+    private final OmokServer server;
+    private final int port;
+    private final EventLoop[] loops;
+    private ServerSocketChannel serverChannel;
+    private int nextLoop = 0;
+
+    NioServer(OmokServer server, int port, int loopCount) {
+        this.server = server;
+        this.port = port;
+        this.loops = new EventLoop[loopCount];
+    }
+
+    // 이벤트 루프 시작 후 연결 수락 (호출한 스레드에서 블로킹)
+    void run() throws IOException {
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(port));
+        for (int i = 0; i < loops.length; i++) {
+            loops[i] = new EventLoop(i);
+            loops[i].start();
+        }
+        server.printDisplay("NIO 서버가 시작되었습니다. (이벤트 루프 " + loops.length + "개)");
+        server.printListening();
+
+        try {
+            while (serverChannel.isOpen()) {
+                SocketChannel channel = serverChannel.accept();
+                server.printDisplay("클라이언트가 연결되었습니다: "
+                        + ((InetSocketAddress) channel.getRemoteAddress()).getAddress().getHostAddress());
+
+                // 이벤트 루프에 라운드 로빈으로 배정
+                EventLoop loop = loops[nextLoop];
+                nextLoop = (nextLoop + 1) % loops.length;
+                loop.register(channel);
+            }
+        } finally {
+            close();
+        }
+    }
+
+    // 서버 채널과 이벤트 루프 종료
+    void close() {
+        try {
+            if (serverChannel != null) {
+                serverChannel.close();
+            }
+        } catch (IOException e) {
+            System.err.println("서버 채널 닫기 오류> " + e.getMessage());
+        }
+        for (EventLoop loop : loops) {
+            if (loop != null) {
+                loop.shutdown();
+            }
+        }
+    }
+
+    // Selector 하나를 담당하는 이벤트 루프 스레드
+    private class EventLoop extends Thread {
+        private final Selector selector;
+        private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
+        private volatile boolean running = true;
+
+        EventLoop(int index) throws IOException {
+            super("omok-nio-" + index);
+            this.selector = Selector.open();
+        }
+
+        // 다른 스레드에서 새 채널 등록 요청
+        void register(SocketChannel channel) {
+            tasks.add(() -> {
+                try {
+                    channel.configureBlocking(false);
+                    channel.setOption(StandardSocketOptions.TCP_NODELAY, true);   // 작은 메시지를 묶지 않고 바로 보낸다
+                    SelectionKey key = channel.register(selector, SelectionKey.OP_READ);
+                    NioConnection conn = new NioConnection(this, channel, key, server.newOutboundQueue());
+                    key.attach(conn);
+                } catch (IOException e) {
+                    closeQuietly(channel);
+                }
+            });
+            selector.wakeup();
+        }
+
+        // 이벤트 루프 스레드에서 실행할 작업 추가
+        void execute(Runnable task) {
+            tasks.add(task);
+            selector.wakeup();
+        }
+
+        void shutdown() {
+            running = false;
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    selector.select();
+                    Runnable task;
+                    while ((task = tasks.poll()) != null) {
+                        task.run();
+                    }
+
+                    Iterator<SelectionKey> it = selector.selectedKeys().iterator();
+                    while (it.hasNext()) {
+                        SelectionKey key = it.next();
+                        it.remove();
+                        NioConnection conn = (NioConnection) key.attachment();
+                        if (!key.isValid()) {
+                            continue;
+                        }
+                        try {
+                            if (key.isWritable()) {
+                                conn.flush();
+                            }
+                            if (key.isValid() && key.isReadable()) {
+                                conn.onReadable();
+                            }
+                        } catch (IOException | RuntimeException e) {
+                            conn.closeAndNotify();
+                        }
+                    }
+                }
+            } catch (IOException e) {
+                server.printDisplay("이벤트 루프 오류: " + e.getMessage());
+            } finally {
+                for (SelectionKey key : selector.keys()) {
+                    if (key.attachment() instanceof NioConnection) {
+                        ((NioConnection) key.attachment()).closeAndNotify();
+                    }
+                }
+                try {
+                    selector.close();
+                } catch (IOException e) {
+                    System.err.println("Selector 닫기 오류> " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    // 채널 하나의 읽기/쓰기 상태
+    // 보낼 프레임은 제한된 대기열에 쌓이고, 소켓 버퍼가 허용하는 만큼만 논블로킹으로 쓴다.
+    private class NioConnection implements Connection {
+        private final EventLoop loop;
+        private final SocketChannel channel;
+        private final SelectionKey key;
+        private ByteBuffer readBuffer = ByteBuffer.allocate(4096);
+        private final OutboundQueue queue;
+        private ByteBuffer current;   // 쓰다 만 프레임
+        private final Object writeLock = new Object();
+        private OmokServer.ClientHandler handler;   // 핸드셰이크 이후 생성
+        private byte codec = OmokWire.CODEC_SERIAL;
+        private OutboundFrame.Format format;
+        private volatile boolean closed = false;
+
+        NioConnection(EventLoop loop, SocketChannel channel, SelectionKey key, OutboundQueue queue) {
+            this.loop = loop;
+            this.channel = channel;
+            this.key = key;
+            this.queue = queue;
+        }
+
+        // 읽을 수 있는 데이터가 있을 때 호출 (이벤트 루프 스레드)
+        void onReadable() throws IOException {
+            int n = channel.read(readBuffer);
+            if (n < 0) {
+                closeAndNotify();
+                return;
+            }
+            readBuffer.flip();
+            try {
+                if (handler == null && !readHandshake()) {
+                    return;
+                }
+                while (handler != null && readBuffer.remaining() >= 4) {
+                    int length = readBuffer.getInt(readBuffer.position());
+                    if (length < 0 || length > OmokWire.MAX_FRAME_SIZE) {
+                        throw new IOException("프레임 크기 오류: " + length);
+                    }
+                    if (readBuffer.remaining() < 4 + length) {
+                        ensureCapacity(4 + length);
+                        break;
+                    }
+                    int start = readBuffer.position() + 4;
+                    OmokMsg msg = OmokWire.decode(readBuffer.array(), readBuffer.arrayOffset() + start, length, codec);
+                    readBuffer.position(start + length);
+
+                    // 기존 메시지 처리 로직으로 전달
+                    if (!handler.handleMessage(msg)) {
+                        closeAndNotify();
+                        return;
+                    }
+                }
+            } finally {
+                if (!closed) {
+                    readBuffer.compact();
+                }
+            }
+        }
+
+        // 핸드셰이크 처리. 아직 데이터가 부족하면 false
+        private boolean readHandshake() throws IOException {
+            if (readBuffer.remaining() < 2) {
+                return false;
+            }
+            int head = readBuffer.getShort(readBuffer.position()) & 0xFFFF;
+            if (OmokWire.isLegacyStream(head)) {
+                throw new IOException("NIO 모드는 프레임 프로토콜 클라이언트만 지원합니다.");
+            }
+            if (readBuffer.remaining() < OmokWire.HANDSHAKE_SIZE) {
+                return false;
+            }
+            if (readBuffer.getInt() != OmokWire.MAGIC) {
+                throw new IOException("알 수 없는 프로토콜입니다.");
+            }
+            codec = OmokWire.negotiate(readBuffer.get());
+            format = OutboundFrame.Format.ofCodec(codec);
+            synchronized (writeLock) {
+                current = ByteBuffer.wrap(new byte[]{codec});
+            }
+            flush();
+
+            handler = server.acceptConnection(this);
+            return true;
+        }
+
+        // 프레임이 버퍼보다 크면 버퍼 확장
+        private void ensureCapacity(int size) {
+            if (readBuffer.capacity() < size) {
+                ByteBuffer bigger = ByteBuffer.allocate(Math.max(size, readBuffer.capacity() * 2));
+                bigger.put(readBuffer);
+                bigger.flip();
+                readBuffer = bigger;
+            }
+        }
+
+        @Override
+        public void write(OutboundFrame frame) throws IOException {
+            if (closed) {
+                throw new IOException("연결이 닫혔습니다.");
+            }
+            if (!queue.offer(frame)) {
+                if (queue.isClosed()) {
+                    throw new IOException("연결이 닫혔습니다.");
+                }
+                // 퇴장 처리는 이벤트 루프 스레드에서
+                loop.execute(this::closeAndNotify);
+                throw new IOException("전송 대기열이 가득 차서 연결을 종료합니다.");
+            }
+            flush();
+        }
+
+        // 대기 중인 프레임 전송. 소켓 버퍼가 가득 차면 OP_WRITE를 걸고 이벤트 루프에 맡긴다.
+        void flush() throws IOException {
+            synchronized (writeLock) {
+                while (current != null || (current = nextBuffer()) != null) {
+                    channel.write(current);
+                    if (current.hasRemaining()) {
+                        if (!key.isValid()) {
+                            throw new IOException("연결이 닫혔습니다.");
+                        }
+                        key.interestOpsOr(SelectionKey.OP_WRITE);
+                        key.selector().wakeup();
+                        return;
+                    }
+                    current = null;
+                }
+                if (key.isValid() && (key.interestOps() & SelectionKey.OP_WRITE) != 0) {
+                    key.interestOpsAnd(~SelectionKey.OP_WRITE);
+                }
+            }
+        }
+
+        // 대기열의 다음 프레임 (프레임 바이트는 공유되므로 감싸기만 하고 복사하지 않는다)
+        private ByteBuffer nextBuffer() throws IOException {
+            OutboundFrame frame = queue.poll();
+            if (frame == null) {
+                return null;
+            }
+            byte[] bytes = frame.bytes(format);
+            server.getMetrics().outbound(frame.mode(), bytes.length);
+            return ByteBuffer.wrap(bytes);
+        }
+
+        // 연결을 닫고 핸들러에 퇴장 처리 요청
+        void closeAndNotify() {
+            if (closed) {
+                return;
+            }
+            close();
+            if (handler != null) {
+                handler.connectionClosed();
+            }
+        }
+
+        @Override
+        public void close() {
+            closed = true;
+            queue.close();
+            key.cancel();
+            closeQuietly(channel);
+        }
+
+        @Override
+        public int queueDepth() {
+            return queue.depth();
+        }
+
+        @Override
+        public long droppedCount() {
+            return queue.droppedCount();
+        }
+    }
+
+    private static void closeQuietly(Channel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            System.err.println("채널 닫기 오류> " + e.getMessage());
+        }
+    }
+}
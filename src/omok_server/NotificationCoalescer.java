@@ -0,0 +1,95 @@
+package omok_server;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// "상태가 바뀌었다" 알림 묶기
+// 같은 주제(방 목록, 접속자 목록, 방 참가자 목록, 관전자 수 등)에 대한 알림이 짧은 시간 안에 여러 번 오면
+// 첫 요청 때 한 번만 예약하고, 예약 시각에 그때의 최신 상태를 한 번 보낸다.
+// 따라서 전송 작업은 만들 때의 값을 붙잡지 말고 실행될 때 상태를 읽어야 한다.
+class NotificationCoalescer {
+    // 알림 종류 (통계 구분용)
+    static final String LOBBY_ROOMS = "lobby-rooms";       // 기존 클라이언트용 전체 방 목록
+    static final String LOBBY_USERS = "lobby-users";       // 기존 클라이언트용 전체 접속자 목록
+    static final String USER_STATS = "user-stats";        // 전적 목록
+    static final String ROOM_USERS = "room-users";        // 방 참가자 목록
+    static final String ROOM_INFO = "room-info";          // 방 정보 (제목, 방장)
+    static final String SPECTATORS = "spectators";        // 관전자 수
+
+    public static final long DEFAULT_WINDOW_MILLIS = 5;
+
+    private final long windowMillis;
+    private final ScheduledExecutorService scheduler;
+    private final ConcurrentHashMap<String, Boolean> pending = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    // 종류별 요청/전송 횟수
+    private static final class Counter {
+        final LongAdder requested = new LongAdder();
+        final LongAdder sent = new LongAdder();
+    }
+
+    // windowMillis가 0 이하이면 묶지 않고 바로 보낸다
+    NotificationCoalescer(long windowMillis) {
+        this.windowMillis = windowMillis;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "omok-coalescer");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    // 알림 요청. 같은 종류와 key의 알림이 이미 예약되어 있으면 합쳐진다.
+    void request(String kind, String key, Runnable send) {
+        Counter counter = counters.computeIfAbsent(kind, k -> new Counter());
+        counter.requested.increment();
+        if (windowMillis <= 0) {
+            counter.sent.increment();
+            send.run();
+            return;
+        }
+
+        String topic = key == null ? kind : kind + ":" + key;
+        if (pending.putIfAbsent(topic, Boolean.TRUE) == null) {
+            scheduler.schedule(() -> {
+                // 전송 전에 지워야 전송 중에 들어온 변경이 다음 알림으로 예약된다
+                pending.remove(topic);
+                counter.sent.increment();
+                try {
+                    send.run();
+                } catch (RuntimeException e) {
+                    System.err.println("알림 전송 오류 (" + topic + ")> " + e.getMessage());
+                }
+            }, windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // 합쳐져서 보내지 않은 알림 수 (예약 중인 것 제외)
+    long savedCount() {
+        long saved = 0;
+        for (Counter counter : counters.values()) {
+            saved += counter.requested.sum() - counter.sent.sum();
+        }
+        return saved - pending.size();
+    }
+
+    // 종류별 요청/전송/절약 횟수 요약
+    String summary() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, Counter> entry : new TreeMap<>(counters).entrySet()) {
+            long requested = entry.getValue().requested.sum();
+            long sent = entry.getValue().sent.sum();
+            if (!sb.isEmpty()) {
+                sb.append(", ");
+            }
+            sb.append(entry.getKey()).append(" 요청 ").append(requested)
+                    .append(" / 전송 ").append(sent);
+        }
+        return sb.append(" (절약 ").append(savedCount()).append(")").toString();
+    }
+}
@@ -1,6 +1,11 @@
 package omok_server;
+
+import omok_shared.BitBoard;
+
 // 외부 참조 코드
-public class OmokRuleChecker {
+// 문자열 패턴으로 판정하는 기준 구현 (같은 결과를 표로 내는 것이 PatternRuleChecker).
+// 렌주 규칙과 다른 국면이 있어 서버는 RenjuRuleChecker(ThreatBoard)로 판정한다.
+public class OmokRuleChecker implements ForbiddenMoveChecker {
 
     private static final int BLACK = 1;
     private static final int WALL = 3; // 보드 밖
@@ -9,6 +14,18 @@ public class OmokRuleChecker {
     private static final int[] DX = {1, 0, 1, 1};
     private static final int[] DY = {0, 1, 1, -1};
 
+    // 비트보드를 배열로 옮겨 판정 (기준 구현이므로 속도보다 원래 코드를 그대로 쓰는 것을 우선)
+    @Override
+    public boolean isForbiddenMove(BitBoard board, int x, int y) {
+        int[][] array = new int[15][15];
+        for (int ny = 0; ny < 15; ny++) {
+            for (int nx = 0; nx < 15; nx++) {
+                array[ny][nx] = board.get(nx, ny);
+            }
+        }
+        return isForbiddenMove(array, x, y);
+    }
+
     public boolean isForbiddenMove(int[][] board, int x, int y) {
         // 주의: GameRoom에서 이미 board[y][x]에 흑돌(1)을 놓고 호출했다고 가정.
 
@@ -70,7 +87,7 @@ public class OmokRuleChecker {
         if (s.contains("11111")) return false; // 5목은 승리이므로 금수 아님
 
         // 4목 패턴 목록
-        String[] patterns = { "1111", "11101", "10111", "11011", "11101" };
+        String[] patterns = { "1111", "11101", "10111", "11011" };
 
         for (String p : patterns) {
             if (s.contains(p)) {
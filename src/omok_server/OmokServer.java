@@ -1,133 +1,122 @@
 package omok_server;
 
-import omok_shared.MoveRecord;
 import omok_shared.OmokMsg;
+import omok_shared.ReplayData;
 
-import javax.swing.*;
-import java.awt.*;
-import java.awt.event.ActionEvent;
-import java.awt.event.ActionListener;
-import java.io.*;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketException;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
-import java.util.Vector;
-
-public class OmokServer extends JFrame {
+import java.nio.file.Paths;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 오목 서버 본체
+// GUI 없이도 동작하며, 로그는 ServerLog로 내보낸다. (GUI는 OmokServerFrame)
+public final class OmokServer {
     private int port;
+    private ServerMode mode;
     private ServerSocket serverSocket = null;
-    private Vector<ClientHandler> users;           // 접속한 모든 클라이언트
-    private Vector<GameRoom> rooms = new Vector<>();  // 생성된 모든 게임 방
-    private Map<String, UserStats> userStatsMap = new HashMap<>();  // 사용자별 전적
+    private NioServer nioServer = null;
+    private final UserRegistry users = new UserRegistry();  // 접속한 모든 클라이언트
+    private final RoomRegistry rooms = new RoomRegistry();   // 생성된 모든 게임 방
+    private final LobbyFeed lobby;                           // 로비 목록 변경 알림
+    private final NotificationCoalescer coalescer;           // 상태 변경 알림 묶기
+    private final UserStatsStore statsStore;                 // 사용자별 전적
+    private final GameArchive archive;                       // 끝난 게임 기록 (null이면 보관하지 않음)
+    private final ServerMetrics metrics = new ServerMetrics();   // 메시지/브로드캐스트 지표
+    private final ServerMonitor monitor;                     // JMX MBean, 지표 HTTP 엔드포인트
+    private final AtomicLong nextConnectionId = new AtomicLong(1);
+    private final int outboundQueueCapacity;                         // 연결별 송신 대기열 크기
+    private final OutboundQueue.OverflowPolicy overflowPolicy;
+    private final ServerLog log;
 
     private Thread acceptThread = null;
-    private JTextArea textArea;
-    private JButton connectButton;
-    private JButton disconnectButton;
-    private JButton exitButton;
-
-    public OmokServer(int port) {
-        super("Omok Server");
-
-        setSize(400, 300);
-        setLocationRelativeTo(null);
 
-        buildGUI();
-
-        setDefaultCloseOperation(EXIT_ON_CLOSE);
-        setVisible(true);
-
-        this.port = port;
+    public OmokServer(ServerConfig config, ServerLog log) {
+        this.port = config.getPort();
+        this.mode = config.getMode();
+        this.outboundQueueCapacity = config.getOutboundQueueCapacity();
+        this.overflowPolicy = config.getOverflowPolicy();
+        this.coalescer = new NotificationCoalescer(config.getCoalesceMillis());
+        this.log = log;
+        this.statsStore = openStatsStore(config.getDataDir());
+        this.archive = openArchive(config.getDataDir());
+        this.lobby = new LobbyFeed(this, users, rooms, coalescer);
+        this.monitor = new ServerMonitor(this, mode, port, config.getMetricsPort());
     }
 
-    private void buildGUI() {
-        add(createDisplayPanel(), BorderLayout.CENTER);
-        add(createControlPanel(), BorderLayout.SOUTH);
+    // 데이터 디렉터리의 전적을 복원. 디렉터리가 없거나 읽을 수 없으면 메모리에만 보관
+    private UserStatsStore openStatsStore(String dataDir) {
+        if (dataDir.isEmpty()) {
+            return new UserStatsStore(this, coalescer);
+        }
+        try {
+            long startTime = System.nanoTime();
+            UserStatsStore store = UserStatsStore.open(this, coalescer, new StatsJournal(Paths.get(dataDir)));
+            printDisplay("전적 " + store.size() + "명 복원 ("
+                    + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime) + "ms)");
+            return store;
+        } catch (IOException e) {
+            printDisplay("전적 복원 실패, 메모리에만 보관합니다: " + e.getMessage());
+            return new UserStatsStore(this, coalescer);
+        }
     }
 
-    // 서버 로그 출력 패널
-    private JPanel createDisplayPanel() {
-        JPanel panel = new JPanel(new BorderLayout());
-        textArea = new JTextArea();
-        textArea.setEditable(false);
-        JScrollPane scrollPane = new JScrollPane(textArea);
-        panel.add(scrollPane, BorderLayout.CENTER);
-
-        return panel;
+    // 데이터 디렉터리의 게임 기록 보관소 열기
+    private GameArchive openArchive(String dataDir) {
+        if (dataDir.isEmpty()) {
+            return null;
+        }
+        try {
+            GameArchive opened = new GameArchive(Paths.get(dataDir, "games"));
+            printDisplay("게임 기록 " + opened.size() + "개 보관 중");
+            return opened;
+        } catch (IOException e) {
+            printDisplay("게임 기록 보관소를 열 수 없습니다: " + e.getMessage());
+            return null;
+        }
     }
 
-    // 서버 제어 버튼 패널
-    private JPanel createControlPanel() {
-        JPanel panel = new JPanel(new GridLayout(1, 0));
-
-        connectButton = new JButton("서버 시작");
-        disconnectButton = new JButton("서버 종료");
-        exitButton = new JButton("종료");
-
-        // 서버 시작 버튼
-        connectButton.addActionListener(new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                acceptThread = new Thread(new Runnable() {
-                    @Override
-                    public void run() {
-                        startServer();
-                    }
-                });
-                acceptThread.start();
-
-                connectButton.setEnabled(false);
-                disconnectButton.setEnabled(true);
-                exitButton.setEnabled(false);
-            }
-        });
-
-        // 서버 종료 버튼
-        disconnectButton.addActionListener(new ActionListener() {
-            @Override
-            public void actionPerformed(ActionEvent e) {
-                disconnect();
-
-                connectButton.setEnabled(true);
-                disconnectButton.setEnabled(false);
-                exitButton.setEnabled(true);
-            }
-        });
-
-        // 프로그램 종료 버튼
-        exitButton.addActionListener(new ActionListener() {
+    // 연결 수락 스레드를 만들어 서버 시작
+    public void start() {
+        monitor.start();
+        acceptThread = new Thread(new Runnable() {
             @Override
-            public void actionPerformed(ActionEvent ae) {
-                try {
-                    if (serverSocket != null) {
-                        serverSocket.close();
-                    }
-                } catch (IOException e) {
-                    System.err.println("닫기 오류> " + e.getMessage());
-                }
-                System.exit(-1);
+            public void run() {
+                startServer();
             }
-        });
-
-        panel.add(connectButton);
-        panel.add(disconnectButton);
-        panel.add(exitButton);
-
-        disconnectButton.setEnabled(false);
+        }, "omok-accept");
+        acceptThread.start();
+    }
 
-        return panel;
+    // 서버 종료
+    public void stop() {
+        disconnect();
+        statsStore.checkpoint();
+        if (archive != null) {
+            archive.sync();
+        }
+        printDisplay("알림 묶기: " + coalescer.summary());
+        printDisplay("서버 지표\n" + metrics.summary(this));
+        monitor.stop();
     }
 
     // 서버 시작 및 클라이언트 연결 대기
     private void startServer() {
+        if (mode == ServerMode.NIO) {
+            startNioServer();
+            return;
+        }
+
         Socket clientSocket = null;
         try {
             serverSocket = new ServerSocket(port);
             printDisplay("서버가 시작되었습니다.");
-            users = new Vector<ClientHandler>();
+            printListening();
 
             // 클라이언트 연결 대기
             while (acceptThread == Thread.currentThread()) {
@@ -135,10 +124,17 @@ public class OmokServer extends JFrame {
                 printDisplay("클라이언트가 연결되었습니다: "
                         + clientSocket.getInetAddress().getHostAddress());
 
-                // 각 클라이언트를 별도 스레드로 처리
+                // 각 클라이언트를 별도 스레드로 처리 (모드에 따라 플랫폼/가상 스레드)
+                // 스레드 이름에 연결 ID를 붙여 스레드 덤프, JFR 이벤트를 연결(ConnectionMXBean)과 맞춰 볼 수 있게 한다
                 ClientHandler clientHandler = new ClientHandler(clientSocket);
                 users.add(clientHandler);
-                clientHandler.start();
+                monitor.connectionOpened(clientHandler);
+                String threadName = "omok-client-" + clientHandler.getConnectionId();
+                if (mode == ServerMode.VIRTUAL) {
+                    Thread.ofVirtual().name(threadName).start(clientHandler);
+                } else {
+                    new Thread(clientHandler, threadName).start();
+                }
             }
         } catch(SocketException e) {
             printDisplay("서버 소켓 종료");
@@ -159,6 +155,30 @@ public class OmokServer extends JFrame {
         }
     }
 
+    // NIO 서버 시작 (이벤트 루프 기반)
+    private void startNioServer() {
+        int loopCount = Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        nioServer = new NioServer(this, port, loopCount);
+        try {
+            nioServer.run();
+        } catch (IOException e) {
+            printDisplay("서버 소켓 종료");
+        }
+    }
+
+    // NIO 이벤트 루프에서 핸드셰이크가 끝난 연결 등록
+    ClientHandler acceptConnection(Connection connection) {
+        ClientHandler clientHandler = new ClientHandler(connection);
+        users.add(clientHandler);
+        monitor.connectionOpened(clientHandler);
+        return clientHandler;
+    }
+
+    // 새 연결에 붙일 송신 대기열
+    OutboundQueue newOutboundQueue() {
+        return new OutboundQueue(outboundQueueCapacity, overflowPolicy);
+    }
+
     // 서버 종료
     private void disconnect() {
         try {
@@ -166,6 +186,10 @@ public class OmokServer extends JFrame {
             if (serverSocket != null) {
                 serverSocket.close();
             }
+            if (nioServer != null) {
+                nioServer.close();
+                nioServer = null;
+            }
         } catch (IOException e) {
             System.err.println("서버 소켓 닫기 오류> " + e.getMessage());
             System.exit(-1);
@@ -173,333 +197,117 @@ public class OmokServer extends JFrame {
     }
 
     // 서버 로그 출력
-    private void printDisplay(String message) {
-        SwingUtilities.invokeLater(() -> {                                                   //<<외부 참조>>
-            textArea.append(message + "\n");
-            textArea.setCaretPosition(textArea.getDocument().getLength());
-        });
+    void printDisplay(String message) {
+        log.log(message);
+    }
+
+    // 연결 대기를 시작한 시점 출력 (JVM 시작부터 걸린 시간 포함)
+    void printListening() {
+        printDisplay("포트 " + port + "에서 대기 중 (" + mode + ", 시작 후 "
+                + ManagementFactory.getRuntimeMXBean().getUptime() + " ms)");
     }
 
     // 게임 방 제거 (참가자가 모두 나간 경우)
     public void removeRoom(GameRoom room) {
-        synchronized (rooms) {
-            if (rooms.remove(room)) {
-                printDisplay(room.getTitle() + " 방이 제거됨");
-                broadcastRoomListToAll();
-            }
+        if (lobby.roomRemoved(room)) {
+            monitor.roomRemoved(room);
+            printDisplay(room.getTitle() + " 방이 제거됨");
         }
     }
 
-    // 사용자 전적 정보를 저장하는 클래스
-    class UserStats {
-        private int wins;
-        private int losses;
+    // 게임 결과를 전적에 반영 (전적 스레드에서 처리)
+    public void recordGameResult(String winnerId, String loserId) {
+        statsStore.recordResult(winnerId, loserId);
+    }
 
-        public UserStats() {
-            this.wins = 0;
-            this.losses = 0;
+    // 끝난 게임 기록 보관 (보관 스레드에서 처리)
+    void archiveGame(GameRecord record) {
+        if (archive != null) {
+            long gameId = archive.archive(record);
+            printDisplay("게임 기록 보관 #" + gameId + " (" + record.getPlayer1Id() + " vs " + record.getPlayer2Id() + ")");
         }
+    }
 
-        public void addWin() { wins++; }
-        public void addLoss() { losses++; }
-
-        public String getStatsString() {
-            return "(승:" + wins + " 패:" + losses + ")";
-        }
+    // 보관된 게임 기록 읽기. 없으면 null
+    GameRecord loadArchivedGame(long gameId) throws IOException {
+        return archive != null ? archive.load(gameId) : null;
     }
 
-    // 사용자 전적 업데이트
-    public synchronized void updateUserStats(String userId, boolean won) {
-        if (!userStatsMap.containsKey(userId)) {
-            userStatsMap.put(userId, new UserStats());
-        }
+    // 사용자의 전적 문자열 가져오기
+    public String getUserStatsString(String userId) {
+        return statsStore.getStatsString(userId);
+    }
 
-        if (won) {
-            userStatsMap.get(userId).addWin();
-        } else {
-            userStatsMap.get(userId).addLoss();
-        }
+    // 로비에 방 상태(대기중/게임중) 변경 알림
+    public void notifyRoomStatus(GameRoom room) {
+        lobby.roomStatusChanged(room);
+    }
 
-        // 모든 클라이언트에게 업데이트된 전적 전송
-        broadcastUserStats();
+    // 상태 변경 알림 묶기 (GameRoom에서 사용)
+    NotificationCoalescer getCoalescer() {
+        return coalescer;
     }
 
-    // 사용자의 전적 문자열 가져오기
-    public String getUserStatsString(String userId) {
-        if (userStatsMap.containsKey(userId)) {
-            return " " + userStatsMap.get(userId).getStatsString();
-        }
-        return "";
+    // 서버 지표 (연결, GameRoom, LobbyFeed에서 기록)
+    ServerMetrics getMetrics() {
+        return metrics;
     }
 
-    // 모든 클라이언트에게 방 목록 전송
-    public void broadcastRoomListToAll() {
-        String allRooms = getAllRooms();
-        OmokMsg roomListMsg = new OmokMsg("SERVER", OmokMsg.MODE_REFRESH_ROOM_LIST, allRooms);
-        synchronized (users) {
-            for (ClientHandler user : users) {
-                user.send(roomListMsg);
-            }
-        }
+    // 생성 순서대로 정렬한 방 목록 복사본
+    List<GameRoom> roomSnapshot() {
+        return rooms.snapshot();
     }
 
-    // 모든 클라이언트에게 전적 정보 전송
-    private void broadcastUserStats() {
-        StringBuilder statsBuilder = new StringBuilder();
-        for (Map.Entry<String, UserStats> entry : userStatsMap.entrySet()) {
-            if (statsBuilder.length() > 0) {
-                statsBuilder.append(",");
-            }
-            statsBuilder.append(entry.getKey()).append(":")
-                    .append(entry.getValue().getStatsString());
-        }
+    // 접속 중인 모든 클라이언트 (전송용)
+    Collection<ClientHandler> connectedUsers() {
+        return users.all();
+    }
 
-        OmokMsg statsMsg = new OmokMsg("SERVER", OmokMsg.MODE_USER_STATS, statsBuilder.toString());
-        for (ClientHandler user : users) {
-            user.send(statsMsg);
-        }
+    // 접속 순서대로 정렬한 연결 목록 복사본
+    List<ClientHandler> connectionSnapshot() {
+        return users.snapshot();
     }
 
-    // 클라이언트 연결을 처리하는 스레드
-    public class ClientHandler extends Thread {
+    // 클라이언트 연결을 처리하는 핸들러
+    // 블로킹 모드에서는 연결마다 스레드에서 run()을 실행하고, NIO 모드에서는 이벤트 루프가 handleMessage()를 호출한다.
+    public class ClientHandler implements Runnable {
         private Socket clientSocket;
+        private Connection connection;
         private String uid;
         private Player myPlayer;
-        private ObjectOutputStream out;
-        private GameRoom myRoom = null;
+        private volatile GameRoom myRoom = null;       // 지표 스레드에서도 읽음
+        private final long connectionId = nextConnectionId.getAndIncrement();
+        private final long connectedAt = System.currentTimeMillis();
+        private volatile long lastActivity = connectedAt;   // 마지막으로 메시지를 받은 시각 (epoch ms)
+        private volatile boolean lobbyDeltas = false;   // 로비 목록을 델타로 받는 클라이언트인지
+        private ReplayCursor replayCursor;             // 복기 위치 (방의 게임 기록이 바뀌면 새로 만듦)
+        private GameRecord archivedReplay;             // 요청한 보관 기록 (있으면 방의 기록 대신 복기, 방을 옮기면 지움)
 
         public ClientHandler(Socket clientSocket) {
             this.clientSocket = clientSocket;
         }
 
-        // 클라이언트로부터 메시지 수신 및 처리
+        ClientHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        // 클라이언트로부터 메시지 수신 (블로킹 모드)
         private void receiveMessages(Socket cs) {
             try {
-                out = new ObjectOutputStream(new BufferedOutputStream(cs.getOutputStream()));
-                out.flush();
-                ObjectInputStream in = new ObjectInputStream(new BufferedInputStream(cs.getInputStream()));
-                String message;
+                // 착수 등 작은 메시지를 바로 보낸다 (Nagle 알고리즘이 켜져 있으면 지연 ACK와 겹쳐 수십 ms씩 늦어진다)
+                cs.setTcpNoDelay(true);
+                StreamConnection streamConnection = StreamConnection.open(cs, newOutboundQueue(), metrics);
+                this.connection = streamConnection;
+                // 송신은 별도 writer가 담당 (수신 스레드와 같은 종류)
+                streamConnection.startWriter(Thread.currentThread().isVirtual()
+                        ? Thread.ofVirtual().name("omok-writer-" + connectionId)
+                        : Thread.ofPlatform().name("omok-writer-" + connectionId));
                 OmokMsg msg;
 
                 // 메시지 수신 루프
-                while ((msg = (OmokMsg) in.readObject()) != null) {
-                    if (msg.getMode() == OmokMsg.MODE_LOGIN) {
-                        // 로그인 처리
-                        uid = msg.getUserID();
-                        printDisplay("새 참가자: " + uid);
-                        printDisplay("현재 참가자수: " + users.size());
-
-                        // 전적 초기화
-                        if (!userStatsMap.containsKey(uid)) {
-                            userStatsMap.put(uid, new UserStats());
-                        }
-
-                        // 현재 사용자 목록과 방 목록 전송
-                        String allUserIds = OmokServer.this.getAllLUsers();
-                        broadcastLobby(new OmokMsg("SERVER", OmokMsg.MODE_REFRESH_USER_LIST, allUserIds));
-                        String allRooms = OmokServer.this.getAllRooms();
-                        broadcastLobby(new OmokMsg("SERVER", OmokMsg.MODE_REFRESH_ROOM_LIST, allRooms));
-                        broadcastUserStats();
-
-                    } else if (msg.getMode() == OmokMsg.MODE_LOGOUT) {
-                        // 로그아웃
+                while ((msg = streamConnection.read()) != null) {
+                    if (!handleMessage(msg)) {
                         break;
-
-                    } else if (msg.getMode() == OmokMsg.MODE_LOBBY_STRING) {
-                        // 로비 채팅
-                        message = uid + ": " + msg.getMessage();
-                        printDisplay(message);
-                        broadcastLobby(msg);
-
-                    } else if (msg.getMode() == OmokMsg.MODE_MAKE_ROOM) {
-                        // 방 만들기
-                        String roomTitle = msg.getMessage();
-                        Player owner = new Player(this);
-                        this.myPlayer = owner;
-
-                        GameRoom newRoom = new GameRoom(roomTitle, owner, OmokServer.this);
-                        synchronized (OmokServer.this.rooms) {
-                            OmokServer.this.rooms.add(newRoom);
-                        }
-                        this.myRoom = newRoom;
-                        printDisplay(roomTitle + " 생성 완료");
-
-                        // 모든 클라이언트에게 방 목록 갱신
-                        String allRooms = OmokServer.this.getAllRooms();
-                        broadcastLobby(new OmokMsg("SERVER", OmokMsg.MODE_REFRESH_ROOM_LIST, allRooms));
-                        broadcastLobby(new OmokMsg("SERVER", OmokMsg.MODE_LOBBY_STRING, roomTitle + " 생성 완료"));
-
-                        // 방 생성자에게 방 정보 전송
-                        send(new OmokMsg("SERVER", OmokMsg.MODE_ROOM_ENTERED, newRoom.getTitle()));
-                        String roomInfo = roomTitle + ", " + owner.getClientHandler().getUid();
-                        send(new OmokMsg("SERVER", OmokMsg.MODE_ROOM_INFO, roomInfo));
-                        newRoom.broadcastGameRoom(new OmokMsg("SERVER", OmokMsg.MODE_REFRESH_GAME_USER_LIST, newRoom.getPlayersForClient()));
-
-                    } else if (msg.getMode() == OmokMsg.MODE_JOIN_ROOM) {
-                        // 방 입장
-                        GameRoom gameRoom = findGameRoom(msg.getMessage());
-
-                        if (gameRoom == null) {
-                            send(new OmokMsg("SERVER", OmokMsg.MODE_LOBBY_STRING, "존재하지 않는 방입니다."));
-                            continue;
-                        }
-
-                        this.myPlayer = new Player(this);
-                        this.myRoom = gameRoom;
-                        boolean joinSuccess = gameRoom.enterPlayer(myPlayer);
-
-                        if (!joinSuccess) {
-                            // 게임 진행 중이라 입장 실패
-                            send(new OmokMsg("SERVER", OmokMsg.MODE_LOBBY_STRING, "게임이 진행 중이라 입장할 수 없습니다."));
-                            this.myRoom = null;
-                            this.myPlayer = null;
-                        } else {
-                            // 입장 성공
-                            send(new OmokMsg("SERVER", OmokMsg.MODE_ROOM_ENTERED, msg.getMessage()));
-                            String roomInfo = gameRoom.getTitle() + ", " + gameRoom.getOwner().getClientHandler().getUid();
-                            send(new OmokMsg("SERVER", OmokMsg.MODE_ROOM_INFO, roomInfo));
-                            gameRoom.broadcastGameRoom(new OmokMsg("SERVER", OmokMsg.MODE_REFRESH_GAME_USER_LIST, gameRoom.getPlayersForClient()));
-                        }
-
-                    } else if (msg.getMode() == OmokMsg.MODE_EXIT_ROOM) {
-                        // 방 나가기
-                        this.myRoom.exitPlayer(myPlayer);
-                        if (this.myRoom.getPlayerCount() > 0) {
-                            String roomInfo = this.myRoom.getTitle() + ", " + this.myRoom.getOwner().getClientHandler().getUid();
-                            this.myRoom.broadcastGameRoom(new OmokMsg("SERVER", OmokMsg.MODE_ROOM_INFO, roomInfo));
-                            this.myRoom.broadcastGameRoom(new OmokMsg("SERVER", OmokMsg.MODE_REFRESH_GAME_USER_LIST, this.myRoom.getPlayersForClient()));
-                        }
-                        this.myRoom = null;
-                        this.myPlayer = null;
-
-                        String allRooms = OmokServer.this.getAllRooms();
-                        broadcastLobby(new OmokMsg("SERVER", OmokMsg.MODE_REFRESH_ROOM_LIST, allRooms));
-                        send(new OmokMsg("SERVER", OmokMsg.MODE_EXIT_ROOM, "SUCCESS"));
-
-                    } else if(msg.getMode() == OmokMsg.MODE_WAITING_STRING) {
-                        // 대기실 채팅
-                        message = uid + ": " + msg.getMessage();
-                        printDisplay(message);
-                        this.myRoom.broadcastGameRoom(msg);
-
-                    } else if(msg.getMode() == OmokMsg.MODE_GAME_START) {
-                        // 게임 시작
-                        if (this.myRoom.getPlayerCount() > 1) {
-                            if (this.myRoom.getOwner().equals(myPlayer)) {
-                                this.myRoom.startGame();
-                            } else {
-                                send(new OmokMsg("SERVER", OmokMsg.MODE_START, "FAILED:방장만 게임을 시작할 수 있습니다."));
-                            }
-                        } else {
-                            send(new OmokMsg("SERVER", OmokMsg.MODE_START, "FAILED:플레이어가 2명이 되어야 시작할 수 있습니다."));
-                        }
-
-                    } else if (msg.getMode() == OmokMsg.MODE_PLACE_STONE) {
-                        // 돌 놓기
-                        if (this.myRoom != null && this.myRoom.isGameStarted()) {
-                            int x = msg.getX();
-                            int y = msg.getY();
-                            boolean success = this.myRoom.placeStone(uid, x, y);
-
-                            if (!success) {
-                                send(new OmokMsg("SERVER", OmokMsg.MODE_WAITING_STRING,
-                                        "잘못된 위치이거나 당신의 차례가 아닙니다."));
-                            }
-                        }
-
-                    } else if (msg.getMode() == OmokMsg.MODE_SUGGEST_MOVE) {
-                        // 관전자 훈수
-                        if (this.myRoom != null && this.myRoom.isGameStarted()) {
-                            int x = msg.getX();
-                            int y = msg.getY();
-                            this.myRoom.handleSuggestion(uid, x, y);
-                        }
-
-                    } else if(msg.getMode() == OmokMsg.MODE_REQUEST_ADVICE) {
-                        // 플레이어 훈수 요청
-                        if (this.myRoom != null && this.myRoom.isGameStarted()) {
-                            this.myRoom.requestAdvice(uid);
-                        }
-
-                    } else if (msg.getMode() == OmokMsg.MODE_OFFER_ADVICE) {
-                        // 관전자 훈수 제공 의사 표시
-                        if (this.myRoom != null && this.myRoom.isGameStarted()) {
-                            this.myRoom.offerAdvice(uid);
-                        }
-
-                    } else if (msg.getMode() == OmokMsg.MODE_SELECT_ADVISOR) {
-                        // 플레이어가 관전자 선택
-                        if (this.myRoom != null && this.myRoom.isGameStarted()) {
-                            String selectedAdvisorId = msg.getMessage();
-                            this.myRoom.selectAdvisor(uid, selectedAdvisorId);
-                        }
-
-                    } else if (msg.getMode() == OmokMsg.MODE_GAME_CHAT) {
-                        // 게임 중 채팅
-                        if (this.myRoom != null && this.myRoom.isGameStarted()) {
-                            String chatMessage = msg.getMessage();
-                            OmokMsg chatBroadcast = new OmokMsg(uid, OmokMsg.MODE_GAME_CHAT, chatMessage);
-                            this.myRoom.broadcastGameRoom(chatBroadcast);
-                            printDisplay("[게임 채팅] " + uid + ": " + chatMessage);
-                        }
-
-                    } else if (msg.getMode() == OmokMsg.MODE_REPLAY_PREV) {
-                        // 복기 - 이전 수
-                        int currentIndex = Integer.parseInt(msg.getCurrentIndex()); // 현재의 Index 값을 받아오기
-                        MoveRecord prevRecord;
-                        prevRecord = this.myRoom.getGameRecord().getAllMoves().get(currentIndex); // Index 값에 해당하는 MoveRecord 객체 가져오기
-                        // 해당 객체의 ID 값이 Owner와 같은지 비교 후 알맞은 색을 선택해서 클라이언트에 전송
-                        if (Objects.equals(prevRecord.getPlayerId(), this.myRoom.getOwner().getClientHandler().getUid())) {
-                            send(new OmokMsg("SERVER", OmokMsg.MODE_REPLAY_PREV, prevRecord.getX(), prevRecord.getY(), 1));
-                        } else {
-                            send(new OmokMsg("SERVER", OmokMsg.MODE_REPLAY_PREV, prevRecord.getX(), prevRecord.getY(), 2));
-                        }
-                        --currentIndex; // Index 값을 하나 낮추기
-                        if (currentIndex != -1) {
-                            prevRecord = this.myRoom.getGameRecord().getAllMoves().get(currentIndex); // Index 값에 해당하는 MoveRecord 객체 가져오기
-                            // 반복문을 통해서 훈수에 대한 기록을 전부 클라이언트에 전송
-                            while (prevRecord.isSpectator()) {
-                                send(new OmokMsg("SERVER", OmokMsg.MODE_REPLAY_PREV, prevRecord.getX(), prevRecord.getY(), 3, prevRecord.getSpectatorColor()));
-                                --currentIndex;
-                                if (currentIndex == -1) {
-                                    break;
-                                }
-                                prevRecord = this.myRoom.getGameRecord().getAllMoves().get(currentIndex);
-                            }
-                        }
-                        // 현재까지 진행한 Index 값을 클라이언트에 전송
-                        send(new OmokMsg("SERVER", OmokMsg.MODE_CURRENT_COUNT, String.valueOf(currentIndex)));
-
-                    } else if (msg.getMode() == OmokMsg.MODE_REPLAY_NEXT) {
-                        // 복기 - 다음 수
-                        int currentIndex = Integer.parseInt(msg.getCurrentIndex()); // 현재의 Index 값을 받아오기
-                        int endIndex = Integer.parseInt(msg.getEndIndex()); // 해당 게임에 대한 마지막 수의 Index 값을 받아오기
-                        // 현재 수 Index가 마지막 수의 Index와 같지 않으면 진행
-                        if (currentIndex != endIndex - 1) {
-                            MoveRecord nextRecord;
-                            ++currentIndex;
-                            nextRecord = this.myRoom.getGameRecord().getAllMoves().get(currentIndex);
-                            // 만약 현재의 수가 훈수이면 진행
-                            while (nextRecord.isSpectator()) {
-                                send(new OmokMsg("SERVER", OmokMsg.MODE_REPLAY_NEXT, nextRecord.getX(), nextRecord.getY(), 3, nextRecord.getSpectatorColor()));
-                                ++currentIndex;
-                                nextRecord = this.myRoom.getGameRecord().getAllMoves().get(currentIndex);
-                            }
-                            // 해당 객체의 ID 값이 Owner와 같은지 비교 후 알맞은 색을 선택해서 클라이언트에 전송
-                            if (Objects.equals(nextRecord.getPlayerId(), this.myRoom.getOwner().getClientHandler().getUid())) {
-                                send(new OmokMsg("SERVER", OmokMsg.MODE_REPLAY_NEXT, nextRecord.getX(), nextRecord.getY(), 1));
-                            } else {
-                                send(new OmokMsg("SERVER", OmokMsg.MODE_REPLAY_NEXT, nextRecord.getX(), nextRecord.getY(), 2));
-                            }
-                        }
-                        // 현재까지 진행한 Index 값을 클라이언트에 전송
-                        send(new OmokMsg("SERVER", OmokMsg.MODE_CURRENT_COUNT, String.valueOf(currentIndex)));
-
-                    } else if(msg.getMode() == OmokMsg.MODE_SURRENDER) {
-                        // 기권
-                        if (this.myRoom != null && this.myRoom.isGameStarted()) {
-                            this.myRoom.handleSurrender(uid);
-                        }
                     }
                 }
 
@@ -516,6 +324,9 @@ public class OmokServer extends JFrame {
                 printDisplay("잘못된 객체가 전달되었습니다.");
 
             } finally {
+                if (connection != null) {
+                    connection.close();
+                }
                 try {
                     if (cs != null) {
                         cs.close();
@@ -526,68 +337,389 @@ public class OmokServer extends JFrame {
             }
         }
 
+        // 수신한 메시지 하나 처리. 로그아웃이면 false 반환 (모드별 처리 시간을 지표에 기록)
+        boolean handleMessage(OmokMsg msg) {
+            long startTime = System.nanoTime();
+            lastActivity = System.currentTimeMillis();
+            GameRoom room = myRoom;
+            if (room != null) {
+                room.touch(lastActivity);
+            }
+            try {
+                return dispatch(msg);
+            } finally {
+                metrics.inbound(msg.getMode(), System.nanoTime() - startTime);
+            }
+        }
+
+        // 메시지 모드별 처리
+        private boolean dispatch(OmokMsg msg) {
+            String message;
+
+            if (msg.getMode() == OmokMsg.MODE_LOGIN) {
+                // 로그인 처리
+                uid = msg.getUserID();
+                printDisplay("새 참가자: " + uid);
+                printDisplay("현재 참가자수: " + users.size());
+
+                // 접속자 추가 알림과 현재 방 목록, 전체 전적 전송
+                lobby.userJoined(uid);
+                lobby.sendFullList(this, true);
+                send(statsStore.fullTable());
+
+                // 처음 보는 사용자면 전적 생성 (다른 클라이언트에는 이 사용자의 전적만 알림)
+                statsStore.ensureUser(uid);
+
+            } else if (msg.getMode() == OmokMsg.MODE_LOBBY_SNAPSHOT_REQUEST) {
+                // 로비 전체 목록 요청 (이후 델타 수신)
+                lobby.sendSnapshot(this);
+
+            } else if (msg.getMode() == OmokMsg.MODE_LOGOUT) {
+                // 로그아웃
+                return false;
+
+            } else if (msg.getMode() == OmokMsg.MODE_LOBBY_STRING) {
+                // 로비 채팅
+                message = uid + ": " + msg.getMessage();
+                printDisplay(message);
+                broadcastLobby(msg);
+
+            } else if (msg.getMode() == OmokMsg.MODE_MAKE_ROOM) {
+                // 방 만들기
+                String roomTitle = msg.getMessage();
+                Player owner = new Player(this);
+                this.myPlayer = owner;
+
+                GameRoom newRoom = new GameRoom(roomTitle, owner, OmokServer.this);
+                this.myRoom = newRoom;
+                this.archivedReplay = null;
+                printDisplay(roomTitle + " 생성 완료");
+
+                // 모든 클라이언트에게 방 추가 알림
+                lobby.roomAdded(newRoom);
+                monitor.roomAdded(newRoom);
+                broadcastLobby(new OmokMsg("SERVER", OmokMsg.MODE_LOBBY_STRING, roomTitle + " 생성 완료"));
+
+                // 방 생성자에게 방 정보 전송
+                send(new OmokMsg("SERVER", OmokMsg.MODE_ROOM_ENTERED, newRoom.getTitle()));
+                String roomInfo = roomTitle + ", " + owner.getClientHandler().getUid();
+                send(new OmokMsg("SERVER", OmokMsg.MODE_ROOM_INFO, roomInfo));
+                newRoom.notifyParticipantsChanged();
+
+            } else if (msg.getMode() == OmokMsg.MODE_JOIN_ROOM) {
+                // 방 입장
+                GameRoom gameRoom = findGameRoom(msg.getMessage());
+
+                if (gameRoom == null) {
+                    send(new OmokMsg("SERVER", OmokMsg.MODE_LOBBY_STRING, "존재하지 않는 방입니다."));
+                    return true;
+                }
+
+                this.myPlayer = new Player(this);
+                this.myRoom = gameRoom;
+                this.archivedReplay = null;
+                boolean joinSuccess = gameRoom.enterPlayer(myPlayer);
+
+                if (!joinSuccess) {
+                    // 게임 진행 중이라 입장 실패
+                    send(new OmokMsg("SERVER", OmokMsg.MODE_LOBBY_STRING, "게임이 진행 중이라 입장할 수 없습니다."));
+                    this.myRoom = null;
+                    this.myPlayer = null;
+                } else {
+                    // 입장 성공
+                    send(new OmokMsg("SERVER", OmokMsg.MODE_ROOM_ENTERED, msg.getMessage()));
+                    String roomInfo = gameRoom.getTitle() + ", " + gameRoom.getOwner().getClientHandler().getUid();
+                    send(new OmokMsg("SERVER", OmokMsg.MODE_ROOM_INFO, roomInfo));
+                    gameRoom.notifyParticipantsChanged();
+                }
+
+            } else if (msg.getMode() == OmokMsg.MODE_EXIT_ROOM) {
+                // 방 나가기
+                this.myRoom.exitPlayer(myPlayer);
+                if (this.myRoom.getPlayerCount() > 0) {
+                    this.myRoom.notifyRoomInfoChanged();
+                    this.myRoom.notifyParticipantsChanged();
+                }
+                this.myRoom = null;
+                this.myPlayer = null;
+                this.archivedReplay = null;
+
+                send(new OmokMsg("SERVER", OmokMsg.MODE_EXIT_ROOM, "SUCCESS"));
+
+            } else if(msg.getMode() == OmokMsg.MODE_WAITING_STRING) {
+                // 대기실 채팅
+                message = uid + ": " + msg.getMessage();
+                printDisplay(message);
+                this.myRoom.broadcastGameRoom(msg);
+
+            } else if(msg.getMode() == OmokMsg.MODE_GAME_START) {
+                // 게임 시작
+                if (this.myRoom.getPlayerCount() > 1) {
+                    if (this.myRoom.getOwner().equals(myPlayer)) {
+                        this.myRoom.startGame();
+                    } else {
+                        send(new OmokMsg("SERVER", OmokMsg.MODE_START, "FAILED:방장만 게임을 시작할 수 있습니다."));
+                    }
+                } else {
+                    send(new OmokMsg("SERVER", OmokMsg.MODE_START, "FAILED:플레이어가 2명이 되어야 시작할 수 있습니다."));
+                }
+
+            } else if (msg.getMode() == OmokMsg.MODE_PLACE_STONE) {
+                // 돌 놓기
+                if (this.myRoom != null && this.myRoom.isGameStarted()) {
+                    int x = msg.getX();
+                    int y = msg.getY();
+                    boolean success = this.myRoom.placeStone(uid, x, y);
+
+                    if (!success) {
+                        send(new OmokMsg("SERVER", OmokMsg.MODE_WAITING_STRING,
+                                "잘못된 위치이거나 당신의 차례가 아닙니다."));
+                    }
+                }
+
+            } else if (msg.getMode() == OmokMsg.MODE_SUGGEST_MOVE) {
+                // 관전자 훈수
+                if (this.myRoom != null && this.myRoom.isGameStarted()) {
+                    int x = msg.getX();
+                    int y = msg.getY();
+                    this.myRoom.handleSuggestion(uid, x, y);
+                }
+
+            } else if(msg.getMode() == OmokMsg.MODE_REQUEST_ADVICE) {
+                // 플레이어 훈수 요청
+                if (this.myRoom != null && this.myRoom.isGameStarted()) {
+                    this.myRoom.requestAdvice(uid);
+                }
+
+            } else if (msg.getMode() == OmokMsg.MODE_OFFER_ADVICE) {
+                // 관전자 훈수 제공 의사 표시
+                if (this.myRoom != null && this.myRoom.isGameStarted()) {
+                    this.myRoom.offerAdvice(uid);
+                }
+
+            } else if (msg.getMode() == OmokMsg.MODE_SELECT_ADVISOR) {
+                // 플레이어가 관전자 선택
+                if (this.myRoom != null && this.myRoom.isGameStarted()) {
+                    String selectedAdvisorId = msg.getMessage();
+                    this.myRoom.selectAdvisor(uid, selectedAdvisorId);
+                }
+
+            } else if (msg.getMode() == OmokMsg.MODE_GAME_CHAT) {
+                // 게임 중 채팅
+                if (this.myRoom != null && this.myRoom.isGameStarted()) {
+                    String chatMessage = msg.getMessage();
+                    OmokMsg chatBroadcast = new OmokMsg(uid, OmokMsg.MODE_GAME_CHAT, chatMessage);
+                    this.myRoom.broadcastGameRoom(chatBroadcast);
+                    printDisplay("[게임 채팅] " + uid + ": " + chatMessage);
+                }
+
+            } else if (msg.getMode() == OmokMsg.MODE_REPLAY_PREV) {
+                // 복기 - 이전 수
+                ReplayCursor cursor = replayCursor();
+                Integer index = cursor != null ? replayNumber(msg.getCurrentIndex()) : null;
+                if (index != null) {
+                    cursor.seek(index); // 현재의 Index 값에 맞추기
+                    cursor.prev(this::send);
+                    // 현재까지 진행한 Index 값을 클라이언트에 전송
+                    send(new OmokMsg("SERVER", OmokMsg.MODE_CURRENT_COUNT, String.valueOf(cursor.position())));
+                }
+
+            } else if (msg.getMode() == OmokMsg.MODE_REPLAY_NEXT) {
+                // 복기 - 다음 수
+                ReplayCursor cursor = replayCursor();
+                Integer index = cursor != null ? replayNumber(msg.getCurrentIndex()) : null;
+                if (index != null) {
+                    cursor.seek(index);
+                    cursor.next(this::send);
+                    send(new OmokMsg("SERVER", OmokMsg.MODE_CURRENT_COUNT, String.valueOf(cursor.position())));
+                }
+
+            } else if (msg.getMode() == OmokMsg.MODE_REPLAY_JUMP) {
+                // 복기 - N번째 수로 이동 (판 전체 전송)
+                ReplayCursor cursor = replayCursor();
+                Integer moveNumber = cursor != null ? replayNumber(msg.getMessage()) : null;
+                if (moveNumber != null) {
+                    byte[] board = cursor.jump(moveNumber);
+                    send(new OmokMsg("SERVER", OmokMsg.MODE_REPLAY_BOARD, ReplayData.boardString(board)));
+                    send(new OmokMsg("SERVER", OmokMsg.MODE_CURRENT_COUNT, String.valueOf(cursor.position())));
+                }
+
+            } else if (msg.getMode() == OmokMsg.MODE_ARCHIVED_REPLAY) {
+                // 보관된 게임 복기 (게임 번호)
+                sendArchivedReplay(msg.getMessage());
+
+            } else if(msg.getMode() == OmokMsg.MODE_SURRENDER) {
+                // 기권
+                if (this.myRoom != null && this.myRoom.isGameStarted()) {
+                    this.myRoom.handleSurrender(uid);
+                }
+            }
+            return true;
+        }
+
+        // 보관된 게임 기록을 읽어 복기 기록과 수 개수 전송. 이후 이전/다음 수 요청도 이 기록으로 처리한다
+        private void sendArchivedReplay(String gameIdText) {
+            long gameId;
+            try {
+                gameId = Long.parseLong(gameIdText != null ? gameIdText.trim() : "");
+            } catch (NumberFormatException e) {
+                send(new OmokMsg("SERVER", OmokMsg.MODE_LOBBY_STRING, "잘못된 게임 번호입니다."));
+                return;
+            }
+            GameRecord record;
+            try {
+                record = loadArchivedGame(gameId);
+            } catch (IOException e) {
+                printDisplay("게임 기록 읽기 실패: " + e.getMessage());
+                record = null;
+            }
+            if (record == null) {
+                send(new OmokMsg("SERVER", OmokMsg.MODE_LOBBY_STRING, "보관된 게임 기록이 없습니다: #" + gameId));
+                return;
+            }
+            archivedReplay = record;
+            OmokMsg replay = new OmokMsg("SERVER", OmokMsg.MODE_REPLAY_DATA);
+            replay.setData(record.toReplayData().toByteArray());
+            send(replay);
+            send(new OmokMsg("SERVER", OmokMsg.MODE_RESULT_COUNT, String.valueOf(record.getMoveCount())));
+        }
+
+        // 복기 요청에 담긴 위치/수 번호. 비었거나 숫자가 아니면 알리고 null (요청은 무시)
+        private Integer replayNumber(String text) {
+            try {
+                return Integer.parseInt(text != null ? text.trim() : "");
+            } catch (NumberFormatException e) {
+                send(new OmokMsg("SERVER", OmokMsg.MODE_LOBBY_STRING, "잘못된 복기 위치입니다."));
+                return null;
+            }
+        }
+
+        // 요청한 보관 기록 또는 방의 마지막 게임 기록에 대한 복기 위치. 기록이 없으면 null
+        private ReplayCursor replayCursor() {
+            GameRecord record = archivedReplay != null ? archivedReplay
+                    : myRoom != null ? myRoom.getGameRecord() : null;
+            if (record == null) {
+                return null;
+            }
+            if (replayCursor == null || replayCursor.record() != record) {
+                replayCursor = new ReplayCursor(record);
+            }
+            return replayCursor;
+        }
+
+        // NIO 연결이 닫혔을 때 호출
+        void connectionClosed() {
+            handleDisconnect();
+            printDisplay("클라이언트 연결 끊김: " + uid);
+        }
+
         // 연결 끊김 처리
         private void handleDisconnect() {
-            // 중복 실행 방지
-            if (!users.contains(this)) {
+            // 중복 실행 방지 (제거와 함께 로비에 퇴장 알림)
+            if (!lobby.userLeft(this)) {
                 return;
             }
-
-            users.remove(this);
+            monitor.connectionClosed(this);
 
             // 게임 룸에서 제거 (게임 중이면 자동 기권 처리됨)
             if (this.myRoom != null && this.myPlayer != null) {
                 this.myRoom.exitPlayer(myPlayer);
 
                 if (this.myRoom.getPlayerCount() > 0) {
-                    String roomInfo = this.myRoom.getTitle() + ", " +
-                            this.myRoom.getOwner().getClientHandler().getUid();
-                    this.myRoom.broadcastGameRoom(
-                            new OmokMsg("SERVER", OmokMsg.MODE_ROOM_INFO, roomInfo)
-                    );
-                    this.myRoom.broadcastGameRoom(
-                            new OmokMsg("SERVER", OmokMsg.MODE_REFRESH_GAME_USER_LIST,
-                                    this.myRoom.getPlayersForClient())
-                    );
+                    this.myRoom.notifyRoomInfoChanged();
+                    this.myRoom.notifyParticipantsChanged();
                 }
 
                 this.myRoom = null;
                 this.myPlayer = null;
             }
-
-            // 전체 사용자 목록 갱신
-            String allUserIds = OmokServer.this.getAllLUsers();
-            broadcastLobby(new OmokMsg("SERVER", OmokMsg.MODE_REFRESH_USER_LIST, allUserIds));
-
-            // 방 목록 갱신
-            OmokServer.this.broadcastRoomListToAll();
         }
 
         // 클라이언트에게 메시지 전송
-        synchronized void send(OmokMsg msg) {
+        void send(OmokMsg msg) {
+            send(OutboundFrame.of(msg));
+        }
+
+        // 인코딩된 프레임 전송 (브로드캐스트 시 같은 프레임을 공유)
+        // JFR 이벤트 omok.Send가 켜져 있으면 임계값보다 오래 걸린 전송을 남긴다.
+        void send(OutboundFrame frame) {
             try {
-                if (out == null) {
+                if (connection == null) {
+                    return;
+                }
+                ServerEvents.Send event = new ServerEvents.Send();
+                if (!event.isEnabled()) {
+                    connection.write(frame);
                     return;
                 }
-                out.writeObject(msg);
-                out.flush();
-                out.reset();
+                event.begin();
+                connection.write(frame);
+                event.end();
+                if (event.shouldCommit()) {
+                    event.uid = uid;
+                    event.mode = ServerMetrics.modeName(frame.mode());
+                    event.queueDepth = connection.queueDepth();
+                    event.commit();
+                }
             } catch (IOException e) {
                 System.err.println("전송 오류 (" + uid + "): " + e.getMessage());
             }
         }
 
+        // 전송 대기 중인 메시지 수
+        int getOutboundQueueDepth() {
+            return connection != null ? connection.queueDepth() : 0;
+        }
+
+        // 대기열이 가득 차서 버린 메시지 수
+        long getDroppedMessageCount() {
+            return connection != null ? connection.droppedCount() : 0;
+        }
+
         // 로비에 있는 모든 클라이언트에게 메시지 전송
         private void broadcastLobby(OmokMsg msg) {
-            for (ClientHandler user : users) {
-                user.send(msg);
+            OutboundFrame frame = OutboundFrame.of(msg);
+            ServerEvents.LobbyBroadcast event = new ServerEvents.LobbyBroadcast();
+            event.begin();
+            int recipients = 0;
+            for (ClientHandler user : users.all()) {
+                user.send(frame);
+                recipients++;
             }
+            metrics.lobbyBroadcast(recipients);
+            event.finish(frame, recipients);
         }
 
         String getUid() {
             return uid;
         }
 
+        long getConnectionId() {
+            return connectionId;
+        }
+
+        long getConnectedAt() {
+            return connectedAt;
+        }
+
+        long getLastActivity() {
+            return lastActivity;
+        }
+
+        // 들어가 있는 방 ID (로비에 있으면 null)
+        String getRoomId() {
+            GameRoom room = myRoom;
+            return room != null ? room.getRoomId() : null;
+        }
+
+        boolean isLobbyDeltas() {
+            return lobbyDeltas;
+        }
+
+        void setLobbyDeltas(boolean lobbyDeltas) {
+            this.lobbyDeltas = lobbyDeltas;
+        }
+
         @Override
         public void run() {
             receiveMessages(clientSocket);
@@ -596,26 +728,20 @@ public class OmokServer extends JFrame {
 
     // 방 ID로 게임 방 찾기
     public GameRoom findGameRoom(String roomId) {
-        synchronized (rooms) {
-            for (GameRoom room : rooms) {
-                if (room.getRoomId().equals(roomId)) {
-                    return room;
-                }
-            }
-        }
-        return null;
+        return rooms.find(roomId);
     }
 
-    // 접속한 모든 사용자 ID를 쉼표로 구분한 문자열로 반환
+    // 접속한 모든 사용자 ID를 쉼표로 구분한 문자열로 반환 (로그인 전 연결은 제외)
     public String getAllLUsers() {
         StringBuilder allLUsers = new StringBuilder();
-        synchronized (users) {
-            for (ClientHandler user : users) {
-                if (!allLUsers.isEmpty()) {
-                    allLUsers.append(",");
-                }
-                allLUsers.append(user.getUid());
+        for (ClientHandler user : users.all()) {
+            if (user.getUid() == null) {
+                continue;
             }
+            if (!allLUsers.isEmpty()) {
+                allLUsers.append(",");
+            }
+            allLUsers.append(user.getUid());
         }
         return allLUsers.toString();
     }
@@ -623,25 +749,41 @@ public class OmokServer extends JFrame {
     // 모든 게임 방 정보를 문자열로 반환  (roomId|제목|상태)
     public String getAllRooms() {
         StringBuilder allRooms = new StringBuilder();
-        synchronized (rooms) {
-            if (rooms.isEmpty()) {
-                return allRooms.toString();
-            }
-            for (GameRoom room : rooms) {
-                if (!allRooms.isEmpty()) {
-                    allRooms.append(",");
-                }
-                allRooms.append(room.getRoomId());
-                allRooms.append("|");
-                allRooms.append(room.getTitle());
-                allRooms.append("|");
-                allRooms.append(room.getRoomStatus());
+        for (GameRoom room : rooms.all()) {
+            if (!allRooms.isEmpty()) {
+                allRooms.append(",");
             }
+            allRooms.append(room.getRoomId());
+            allRooms.append("|");
+            allRooms.append(room.getTitle());
+            allRooms.append("|");
+            allRooms.append(room.getRoomStatus());
         }
         return allRooms.toString();
     }
 
+    // 실행 인자는 ServerConfig.USAGE 참고. --headless이거나 화면이 없는 환경이면 GUI 없이 바로 시작한다.
     public static void main(String[] args) {
-        new OmokServer(54322);
+        ServerConfig config;
+        try {
+            config = ServerConfig.parse(args);
+        } catch (IOException | IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(ServerConfig.USAGE);
+            System.exit(1);
+            return;
+        }
+
+        if (config.isHeadless() || java.awt.GraphicsEnvironment.isHeadless()) {
+            ServerLog log = ServerLog.console(config.getLogQueueCapacity());
+            OmokServer server = new OmokServer(config, log);
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                server.stop();
+                log.close();
+            }));
+            server.start();
+        } else {
+            new OmokServerFrame(config);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,119 @@
+package omok_server;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.awt.event.ActionListener;
+import java.util.List;
+
+// 서버 제어 GUI
+// 서버 시작/종료 버튼과 로그 창만 담당하고, 서버 동작은 OmokServer가 한다.
+public class OmokServerFrame extends JFrame {
+    private static final int MAX_LOG_LINES = 1000;   // 로그 창에 남겨 두는 최대 줄 수
+
+    private final OmokServer server;
+    private JTextArea textArea;
+    private JButton connectButton;
+    private JButton disconnectButton;
+    private JButton exitButton;
+
+    public OmokServerFrame(ServerConfig config) {
+        super("Omok Server (" + config.getMode() + ")");
+
+        setSize(400, 300);
+        setLocationRelativeTo(null);
+
+        buildGUI();
+
+        setDefaultCloseOperation(EXIT_ON_CLOSE);
+        setVisible(true);
+
+        this.server = new OmokServer(config, new ServerLog(config.getLogQueueCapacity(), this::appendLog));
+    }
+
+    private void buildGUI() {
+        add(createDisplayPanel(), BorderLayout.CENTER);
+        add(createControlPanel(), BorderLayout.SOUTH);
+    }
+
+    // 서버 로그 출력 패널
+    private JPanel createDisplayPanel() {
+        JPanel panel = new JPanel(new BorderLayout());
+        textArea = new JTextArea();
+        textArea.setEditable(false);
+        JScrollPane scrollPane = new JScrollPane(textArea);
+        panel.add(scrollPane, BorderLayout.CENTER);
+
+        return panel;
+    }
+
+    // 서버 제어 버튼 패널
+    private JPanel createControlPanel() {
+        JPanel panel = new JPanel(new GridLayout(1, 0));
+
+        connectButton = new JButton("서버 시작");
+        disconnectButton = new JButton("서버 종료");
+        exitButton = new JButton("종료");
+
+        // 서버 시작 버튼
+        connectButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                server.start();
+
+                connectButton.setEnabled(false);
+                disconnectButton.setEnabled(true);
+                exitButton.setEnabled(false);
+            }
+        });
+
+        // 서버 종료 버튼
+        disconnectButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                server.stop();
+
+                connectButton.setEnabled(true);
+                disconnectButton.setEnabled(false);
+                exitButton.setEnabled(true);
+            }
+        });
+
+        // 프로그램 종료 버튼
+        exitButton.addActionListener(new ActionListener() {
+            @Override
+            public void actionPerformed(ActionEvent ae) {
+                server.stop();
+                System.exit(-1);
+            }
+        });
+
+        panel.add(connectButton);
+        panel.add(disconnectButton);
+        panel.add(exitButton);
+
+        disconnectButton.setEnabled(false);
+
+        return panel;
+    }
+
+    // 로그 스레드가 모은 줄을 한 번에 추가하고, 오래된 줄은 잘라낸다
+    private void appendLog(List<String> lines) {
+        StringBuilder text = new StringBuilder();
+        for (String line : lines) {
+            text.append(line).append('\n');
+        }
+        SwingUtilities.invokeLater(() -> {                                                   //<<외부 참조>>
+            textArea.append(text.toString());
+            int excess = textArea.getLineCount() - MAX_LOG_LINES;
+            if (excess > 0) {
+                try {
+                    textArea.replaceRange("", 0, textArea.getLineEndOffset(excess - 1));
+                } catch (Exception e) {
+                    textArea.setText("");
+                }
+            }
+            textArea.setCaretPosition(textArea.getDocument().getLength());
+        });
+    }
+}
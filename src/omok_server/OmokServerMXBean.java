@@ -0,0 +1,26 @@
+package omok_server;
+
+import java.util.Map;
+
+// 서버 전체 상태 (JMX, omok:type=Server,port=<포트>)
+// 모드별 값은 OmokMsg의 MODE_ 이름(MODE_ 제외)을 키로 한다.
+public interface OmokServerMXBean {
+    String getMode();
+    int getPort();
+    long getStartedAt();            // 시작 시각 (epoch ms)
+    long getUptimeSeconds();
+
+    int getConnectedUsers();
+    int getWaitingRooms();
+    int getPlayingRooms();
+    int getSpectators();
+    int getMaxSpectators();         // 한 방의 최대 관전자 수
+
+    Map<String, Long> getInboundMessages();
+    Map<String, Double> getHandlingP99Micros();
+    Map<String, Long> getOutboundMessages();
+    Map<String, Long> getOutboundBytes();
+    double getRuleCheckP99Micros();
+
+    String getSummary();            // 종료 시 로그에 남기는 것과 같은 요약
+}
@@ -0,0 +1,91 @@
+package omok_server;
+
+import omok_shared.OmokMsg;
+import omok_shared.OmokWire;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// 한 번 인코딩해서 여러 연결에 그대로 쓰는 전송 프레임
+// 연결마다 전송 형식이 다를 수 있으므로 형식별 바이트를 처음 필요할 때 한 번만 만들어 둔다.
+// 만들어진 바이트 배열은 수정하지 않으므로 여러 스레드가 공유해도 된다.
+final class OutboundFrame {
+    // 연결별 전송 형식
+    enum Format {
+        LEGACY_STREAM,   // 기존 ObjectOutputStream 클라이언트 (writeObject + reset 과 같은 바이트)
+        SERIAL_FRAME,    // 길이 + 자바 직렬화 본문
+        BINARY_FRAME;    // 길이 + 이진 코덱 본문
+
+        static Format ofCodec(byte codec) {
+            return codec == OmokWire.CODEC_BINARY ? BINARY_FRAME : SERIAL_FRAME;
+        }
+    }
+
+    private static final int STREAM_HEADER_SIZE = 4;   // 0xACED + 버전
+    private static final byte TC_RESET = 0x79;
+
+    private final OmokMsg msg;
+    private final AtomicReferenceArray<byte[]> encoded = new AtomicReferenceArray<>(Format.values().length);
+
+    private OutboundFrame(OmokMsg msg) {
+        this.msg = msg;
+    }
+
+    static OutboundFrame of(OmokMsg msg) {
+        return new OutboundFrame(msg);
+    }
+
+    OmokMsg message() {
+        return msg;
+    }
+
+    int mode() {
+        return msg.getMode();
+    }
+
+    // 해당 형식의 전송 바이트 (처음 호출할 때만 인코딩)
+    byte[] bytes(Format format) throws IOException {
+        byte[] bytes = encoded.get(format.ordinal());
+        if (bytes == null) {
+            bytes = encode(format);
+            if (!encoded.compareAndSet(format.ordinal(), null, bytes)) {
+                bytes = encoded.get(format.ordinal());
+            }
+        }
+        return bytes;
+    }
+
+    // 이미 인코딩된 형식 중 가장 큰 바이트 수 (아직 인코딩하지 않았으면 0)
+    int encodedSize() {
+        int size = 0;
+        for (int i = 0; i < encoded.length(); i++) {
+            byte[] bytes = encoded.get(i);
+            if (bytes != null) {
+                size = Math.max(size, bytes.length);
+            }
+        }
+        return size;
+    }
+
+    private byte[] encode(Format format) throws IOException {
+        switch (format) {
+            case LEGACY_STREAM:
+                // 새 스트림에 쓴 뒤 스트림 헤더를 떼고 reset 표시를 붙인다
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+                try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+                    oos.writeObject(msg);
+                }
+                byte[] stream = bytes.toByteArray();
+                byte[] legacy = Arrays.copyOfRange(stream, STREAM_HEADER_SIZE, stream.length + 1);
+                legacy[legacy.length - 1] = TC_RESET;
+                return legacy;
+            case BINARY_FRAME:
+                return OmokWire.encodeFrame(msg, OmokWire.CODEC_BINARY);
+            default:
+                return OmokWire.encodeFrame(msg, OmokWire.CODEC_SERIAL);
+        }
+    }
+}
@@ -0,0 +1,151 @@
+package omok_server;
+
+import omok_shared.OmokMsg;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+// 연결별 송신 대기열
+// 방/서버 락을 잡은 채 호출되는 send()는 대기열에 넣기만 하고, 실제 소켓 쓰기는 연결별 writer가 한다.
+// 대기열이 가득 차면 정책에 따라 채팅/로비 갱신 같은 메시지부터 버리거나 연결을 끊는다.
+// 게임 진행에 필요한 메시지(착수, 게임 종료 등)는 어떤 정책에서도 버리지 않는다.
+class OutboundQueue {
+    // 대기열이 가득 찼을 때의 정책
+    enum OverflowPolicy {
+        DROP_OLDEST,   // 버려도 되는 메시지 중 가장 오래된 것부터 버림
+        DISCONNECT     // 연결 종료
+    }
+
+    public static final int DEFAULT_CAPACITY = 256;
+    private static final int CRITICAL_HEADROOM = 64;   // 버릴 수 없는 메시지를 위해 추가로 허용하는 개수
+
+    private final ArrayDeque<OutboundFrame> frames = new ArrayDeque<>();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition notEmpty = lock.newCondition();
+    private final int capacity;
+    private final OverflowPolicy policy;
+    private final AtomicLong dropped = new AtomicLong();
+    private boolean closed = false;
+
+    OutboundQueue(int capacity, OverflowPolicy policy) {
+        this.capacity = capacity;
+        this.policy = policy;
+    }
+
+    // 버려도 되는 메시지인지 (나중에 오는 메시지가 같은 정보를 대신하거나 놓쳐도 게임에 지장이 없는 것)
+    // 순번이 붙은 로비 스냅샷과 델타, 바뀐 사용자만 담은 전적은 빠지면 목록이 어긋나므로 버리지 않는다.
+    static boolean isDroppable(OutboundFrame frame) {
+        switch (frame.mode()) {
+            case OmokMsg.MODE_REFRESH_USER_LIST:
+            case OmokMsg.MODE_REFRESH_ROOM_LIST:
+                return frame.message().getSeq() == 0;
+            case OmokMsg.MODE_LOBBY_STRING:
+            case OmokMsg.MODE_GAME_CHAT:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    // 프레임 추가. 연결을 끊어야 하면 false
+    boolean offer(OutboundFrame frame) {
+        lock.lock();
+        try {
+            if (closed) {
+                return false;
+            }
+            if (frames.size() >= capacity) {
+                if (policy == OverflowPolicy.DISCONNECT) {
+                    return false;
+                }
+                if (!dropOldestDroppable()) {
+                    if (isDroppable(frame)) {
+                        // 비울 자리가 없으면 새로 들어온 메시지를 버림
+                        dropped.incrementAndGet();
+                        return true;
+                    }
+                    if (frames.size() >= capacity + CRITICAL_HEADROOM) {
+                        return false;
+                    }
+                }
+            }
+            frames.addLast(frame);
+            notEmpty.signal();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private boolean dropOldestDroppable() {
+        Iterator<OutboundFrame> it = frames.iterator();
+        while (it.hasNext()) {
+            if (isDroppable(it.next())) {
+                it.remove();
+                dropped.incrementAndGet();
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 다음 프레임을 기다려서 꺼냄 (블로킹 writer용). 대기열이 닫히면 null
+    OutboundFrame take() throws InterruptedException {
+        lock.lock();
+        try {
+            while (frames.isEmpty() && !closed) {
+                notEmpty.await(1, TimeUnit.SECONDS);
+            }
+            return frames.pollFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 다음 프레임을 꺼냄 (NIO용). 없으면 null
+    OutboundFrame poll() {
+        lock.lock();
+        try {
+            return frames.pollFirst();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    void close() {
+        lock.lock();
+        try {
+            closed = true;
+            frames.clear();
+            notEmpty.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    boolean isClosed() {
+        lock.lock();
+        try {
+            return closed;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    int depth() {
+        lock.lock();
+        try {
+            return frames.size();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    long droppedCount() {
+        return dropped.get();
+    }
+}
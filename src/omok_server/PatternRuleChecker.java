@@ -0,0 +1,93 @@
+package omok_server;
+
+import omok_shared.BitBoard;
+
+// 표를 찾아 금수를 판정하는 검사기 (판정 결과는 OmokRuleChecker와 같다)
+// 서버는 렌주 규칙(RenjuRuleChecker)으로 판정하므로 기존 규칙의 빠른 기준 구현으로만 남긴다. (RuleBenchmark에서 확인)
+// 놓은 돌을 가운데로 한 방향의 11칸 중 가운데를 뺀 10칸을 3진수로 만든다: 0 빈칸, 1 흑, 2 막힘(백 또는 판 밖).
+// (백돌 자리를 볼 때는 백을 1, 흑을 막힘으로 바꾸어 같은 표를 쓴다.)
+// OmokRuleChecker의 패턴에는 백과 판 밖이 나오지 않으므로 둘을 구분할 필요가 없어 3^10 = 59049칸짜리 표 하나로 충분하다.
+// 표에는 그 줄의 오목/장목/4목/열린 3목 여부가 들어 있고, 판정 중에는 객체를 만들지 않는다.
+public class PatternRuleChecker implements ForbiddenMoveChecker {
+    private static final int RADIUS = 5;
+
+    static final int FIVE = 1;       // 줄 안에 11111이 있음 (OmokRuleChecker는 이때 4목으로 치지 않음)
+    static final int OVERLINE = 2;   // 가운데를 지나는 여섯 이상
+    static final int FOUR = 4;       // 4목 (OmokRuleChecker.checkFour)
+    static final int THREE = 8;      // 열린 3목 (OmokRuleChecker.checkOpenThree, 4목이 아닐 때만)
+    static final int WIN = 16;       // 가운데를 지나는 다섯 이상 (GameRoom의 승리 조건)
+
+    // 표는 처음 판정할 때 만든다 (서버는 RenjuRuleChecker만 쓰므로 시작할 때 만들지 않는다)
+    private static final class Table {
+        static final byte[] PATTERNS = build();
+    }
+
+    private static byte[] build() {
+        byte[] patterns = new byte[59049];
+        char[] line = new char[2 * RADIUS + 1];
+        for (int code = 0; code < patterns.length; code++) {
+            // 가장 낮은 자리가 줄의 왼쪽 끝 (RenjuRuleChecker.lineCode와 같은 순서)
+            int rest = code;
+            for (int k = 0; k <= 2 * RADIUS; k++) {
+                if (k == RADIUS) {
+                    line[k] = '1';
+                    continue;
+                }
+                line[k] = (char) ('0' + rest % 3);
+                rest /= 3;
+            }
+            patterns[code] = (byte) classify(new String(line));
+        }
+        return patterns;
+    }
+
+    @Override
+    public boolean isForbiddenMove(BitBoard board, int x, int y) {
+        return isForbidden(pattern(board, x, y, 0, BitBoard.BLACK), pattern(board, x, y, 1, BitBoard.BLACK),
+                pattern(board, x, y, 2, BitBoard.BLACK), pattern(board, x, y, 3, BitBoard.BLACK));
+    }
+
+    // 네 방향의 패턴으로 금수 판정: 장목, 4목 둘 이상, 열린 3목 둘 이상 (한 방향은 4목과 3목 중 하나만 가진다)
+    static boolean isForbidden(int p0, int p1, int p2, int p3) {
+        if (((p0 | p1 | p2 | p3) & OVERLINE) != 0) {
+            return true;
+        }
+        int fours = (p0 & FOUR) + (p1 & FOUR) + (p2 & FOUR) + (p3 & FOUR);
+        int threes = (p0 & THREE) + (p1 & THREE) + (p2 & THREE) + (p3 & THREE);
+        return fours >= 2 * FOUR || threes >= 2 * THREE;
+    }
+
+    // (x, y)에 color 돌이 있다고 보고 dir 방향 줄의 패턴 (FIVE, OVERLINE, FOUR, THREE, WIN 조합)
+    // (x, y) 자체는 읽지 않으므로 빈 칸이면 "여기에 두면"의 패턴이 된다.
+    static int pattern(BitBoard board, int x, int y, int dir, int color) {
+        return Table.PATTERNS[RenjuRuleChecker.lineCode(board, x, y, dir, color)];
+    }
+
+    // 한 줄(11칸, 가운데가 놓은 흑돌)을 OmokRuleChecker와 같은 규칙으로 분류
+    private static int classify(String s) {
+        int result = 0;
+        boolean five = s.contains("11111");
+        if (five) {
+            result |= FIVE;
+        }
+        int run = 1;
+        for (int k = RADIUS + 1; k < s.length() && s.charAt(k) == '1'; k++) run++;
+        for (int k = RADIUS - 1; k >= 0 && s.charAt(k) == '1'; k--) run++;
+        if (run >= 5) {
+            result |= WIN;
+        }
+        if (run >= 6) {
+            result |= OVERLINE;
+        }
+        boolean fourShape = s.contains("1111") || s.contains("11101") || s.contains("10111") || s.contains("11011");
+        if (!five && fourShape
+                && (s.contains("01111") || s.contains("11110")
+                || s.contains("10111") || s.contains("11011") || s.contains("11101"))) {
+            result |= FOUR;
+        } else if (!fourShape
+                && (s.contains("01110") || s.contains("010110") || s.contains("011010"))) {
+            result |= THREE;
+        }
+        return result;
+    }
+}
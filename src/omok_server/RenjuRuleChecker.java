@@ -0,0 +1,274 @@
+package omok_server;
+
+import omok_shared.BitBoard;
+
+// 렌주 규칙의 흑 금수 판정
+// - 정확히 다섯(오목)을 만들면 다른 조건과 상관없이 금수가 아니다.
+// - 장목(여섯 이상), 사사(4목 둘 이상, 한 줄 안의 두 4목 포함)는 금수.
+// - 삼삼은 "진짜" 열린 3목이 둘 이상일 때만 금수. 열린 3목은 한 수를 더 두어 열린 4(양쪽 모두 정확히 다섯이 되는 4)를
+//   만들 수 있어야 하고, 그 한 수 자체가 금수가 아니어야 한다. 이 확인은 같은 판정을 재귀로 부른다.
+// 한 줄의 정보(오목, 장목, 4목 개수, 열린 4를 만드는 자리)는 줄 11칸만 보면 정해지므로 표로 미리 만들고,
+// 재귀 판정 결과는 판의 Zobrist 해시 + 칸을 키로 고정 크기 표에 기억한다. (해시 비트로 칸을 정하고, 겹치면 덮어쓴다)
+// OmokRuleChecker(문자열 패턴)와 달리 백돌과 판 밖을 막힘으로 똑같이 보고, 가운데 돌을 지나는 모양만 센다.
+public class RenjuRuleChecker implements ForbiddenMoveChecker {
+    private static final int RADIUS = 5;
+    private static final int WIDTH = 2 * RADIUS + 1;
+    private static final int CELLS = BitBoard.SIZE * BitBoard.SIZE;
+    private static final int BLACK = BitBoard.BLACK;
+    private static final int DEFAULT_MEMO_SIZE = 1024;   // 키 8바이트 + 값 1바이트씩, 약 9KB
+
+    // 줄 정보 비트
+    static final int FIVE = 1;               // 가운데를 지나는 정확히 다섯
+    static final int OVERLINE = 2;           // 가운데를 지나는 여섯 이상
+    private static final int FOUR_SHIFT = 2; // 가운데를 지나는 4목 개수 (0 ~ 2)
+    private static final int FOUR_MASK = 3;
+    private static final int CANDIDATE_SHIFT = 4;  // 두면 가운데를 지나는 열린 4가 되는 자리 (줄 11칸 중 위치 비트)
+
+    private static final int[] LINES = new int[59049];
+    // 10비트 마스크 -> 각 비트를 3진수 자리로 펼친 값
+    private static final int[] SPREAD = new int[1 << (2 * RADIUS)];
+    // 방향 * 225 + 칸 -> 줄 안 위치, 판 안 칸 마스크
+    private static final int[] POSITION = new int[BitBoard.DIRECTIONS * CELLS];
+    private static final int[] IN_BOARD = new int[BitBoard.DIRECTIONS * CELLS];
+
+    static {
+        for (int mask = 0; mask < SPREAD.length; mask++) {
+            int value = 0;
+            for (int bit = 2 * RADIUS - 1; bit >= 0; bit--) {
+                value = value * 3 + ((mask >>> bit) & 1);
+            }
+            SPREAD[mask] = value;
+        }
+        for (int dir = 0; dir < BitBoard.DIRECTIONS; dir++) {
+            for (int y = 0; y < BitBoard.SIZE; y++) {
+                for (int x = 0; x < BitBoard.SIZE; x++) {
+                    int i = dir * CELLS + y * BitBoard.SIZE + x;
+                    POSITION[i] = BitBoard.positionOf(x, y, dir);
+                    IN_BOARD[i] = BitBoard.lineCells(x, y, dir);
+                }
+            }
+        }
+        int[] line = new int[WIDTH];
+        for (int code = 0; code < LINES.length; code++) {
+            int rest = code;
+            for (int k = 0; k < WIDTH; k++) {
+                if (k == RADIUS) {
+                    line[k] = 1;
+                    continue;
+                }
+                line[k] = rest % 3;
+                rest /= 3;
+            }
+            LINES[code] = classify(line);
+        }
+    }
+
+    // 기억한 판정 값
+    private static final byte MEMO_EMPTY = 0;
+    private static final byte MEMO_ALLOWED = 1;
+    private static final byte MEMO_FORBIDDEN = 2;
+
+    private final BitBoard scratch = new BitBoard();
+    private final long[] memoKeys;
+    private final byte[] memoValues;   // MEMO_EMPTY이면 빈 칸 (키 0도 쓸 수 있도록 값으로 구분)
+    private final int memoMask;
+
+    public RenjuRuleChecker() {
+        this(DEFAULT_MEMO_SIZE);
+    }
+
+    // 판정 결과를 기억할 칸 수 (2의 거듭제곱으로 올림, 0이면 기억하지 않음)
+    public RenjuRuleChecker(int memoSize) {
+        int size = memoSize <= 0 ? 0 : Integer.highestOneBit(Math.max(1, memoSize - 1)) << 1;
+        this.memoKeys = new long[size];
+        this.memoValues = new byte[size];
+        this.memoMask = size - 1;
+    }
+
+    // (x, y)에 흑돌을 이미 놓은 판에서 그 수가 금수인지
+    @Override
+    public boolean isForbiddenMove(BitBoard board, int x, int y) {
+        scratch.copyFrom(board);
+        return isForbidden(x, y);
+    }
+
+    // 빈 칸 (x, y)에 흑을 두면 금수인지
+    public boolean isForbiddenAt(BitBoard board, int x, int y) {
+        scratch.copyFrom(board);
+        scratch.place(x, y, BLACK);
+        return isForbidden(x, y);
+    }
+
+    // (x, y)를 가운데로 한 dir 방향 줄 정보. (x, y)에 color 돌이 있다고 본다
+    static int lineInfo(BitBoard board, int x, int y, int dir, int color) {
+        return LINES[lineCode(board, x, y, dir, color)];
+    }
+
+    // (x, y)를 가운데로 한 dir 방향 11칸 중 가운데를 뺀 10칸의 3진수 값: 0 빈칸, 1 color 돌, 2 막힘(상대 돌 또는 판 밖)
+    // 가장 낮은 자리가 줄의 왼쪽 끝이다. (x, y) 자체는 읽지 않는다. (PatternRuleChecker도 같은 값을 쓴다)
+    static int lineCode(BitBoard board, int x, int y, int dir, int color) {
+        int i = dir * CELLS + y * BitBoard.SIZE + x;
+        int pos = POSITION[i];
+        // 줄 위치 p를 비트 p + 5로 옮겨 양끝 밖 다섯 칸도 담는다
+        int own = board.lineBits(x, y, dir, color) << RADIUS;
+        int blocked = (board.lineBits(x, y, dir, BitBoard.BLACK + BitBoard.WHITE - color) << RADIUS)
+                | ~(IN_BOARD[i] << RADIUS);
+        return SPREAD[window(own, pos)] + 2 * SPREAD[window(blocked, pos)];
+    }
+
+    // 비트 pos ~ pos + 10에서 가운데(pos + 5)를 뺀 10비트
+    private static int window(int bits, int pos) {
+        int w = bits >>> pos;
+        int low = w & ((1 << RADIUS) - 1);
+        int high = (w >>> (RADIUS + 1)) & ((1 << RADIUS) - 1);
+        return low | (high << RADIUS);
+    }
+
+    static int fours(int info) {
+        return (info >>> FOUR_SHIFT) & FOUR_MASK;
+    }
+
+    static boolean hasThreeCandidate(int info) {
+        return (info >>> CANDIDATE_SHIFT) != 0;
+    }
+
+    // 네 방향의 줄 정보만으로 정해지는 판정: 1 금수, 0 금수 아님, -1 삼삼 후보 (재귀 확인 필요)
+    static int localVerdict(int i0, int i1, int i2, int i3) {
+        int all = i0 | i1 | i2 | i3;
+        if ((all & FIVE) != 0) {
+            return 0;
+        }
+        if ((all & OVERLINE) != 0 || fours(i0) + fours(i1) + fours(i2) + fours(i3) >= 2) {
+            return 1;
+        }
+        int threes = threeCandidate(i0) + threeCandidate(i1) + threeCandidate(i2) + threeCandidate(i3);
+        return threes >= 2 ? -1 : 0;
+    }
+
+    // 4목이 없는 방향에 열린 4 자리가 있으면 1
+    private static int threeCandidate(int info) {
+        return fours(info) == 0 && hasThreeCandidate(info) ? 1 : 0;
+    }
+
+    // scratch 판의 (x, y) 흑돌이 금수인지
+    private boolean isForbidden(int x, int y) {
+        if (memoKeys.length == 0) {
+            return evaluate(x, y);
+        }
+        long key = scratch.hash() ^ ((y * BitBoard.SIZE + x + 1) * 0x9E3779B97F4A7C15L);
+        int slot = (int) (key ^ (key >>> 32)) & memoMask;
+        byte cached = memoValues[slot];
+        if (cached != MEMO_EMPTY && memoKeys[slot] == key) {
+            return cached == MEMO_FORBIDDEN;
+        }
+        boolean result = evaluate(x, y);
+        memoKeys[slot] = key;
+        memoValues[slot] = result ? MEMO_FORBIDDEN : MEMO_ALLOWED;
+        return result;
+    }
+
+    private boolean evaluate(int x, int y) {
+        int i0 = lineInfo(scratch, x, y, 0, BLACK);
+        int i1 = lineInfo(scratch, x, y, 1, BLACK);
+        int i2 = lineInfo(scratch, x, y, 2, BLACK);
+        int i3 = lineInfo(scratch, x, y, 3, BLACK);
+        int verdict = localVerdict(i0, i1, i2, i3);
+        if (verdict >= 0) {
+            return verdict == 1;
+        }
+        // 삼삼 후보: 열린 4 자리 중 금수가 아닌 곳이 있는 방향만 진짜 3목
+        int threes = 0;
+        for (int dir = 0; dir < BitBoard.DIRECTIONS; dir++) {
+            int info = dir == 0 ? i0 : dir == 1 ? i1 : dir == 2 ? i2 : i3;
+            if (threeCandidate(info) == 1 && isRealThree(x, y, dir, info) && ++threes >= 2) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isRealThree(int x, int y, int dir, int info) {
+        for (int bits = info >>> CANDIDATE_SHIFT; bits != 0; bits &= bits - 1) {
+            int k = Integer.numberOfTrailingZeros(bits) - RADIUS;
+            int nx = x + k * BitBoard.DX[dir];
+            int ny = y + k * BitBoard.DY[dir];
+            scratch.place(nx, ny, BLACK);
+            boolean forbidden = isForbidden(nx, ny);
+            scratch.remove(nx, ny);
+            if (!forbidden) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // 한 줄(11칸, 0 빈칸 / 1 흑 / 2 막힘, 가운데는 흑)의 정보
+    private static int classify(int[] line) {
+        int run = run(line);
+        if (run == 5) {
+            return FIVE;
+        }
+        if (run >= 6) {
+            return OVERLINE;
+        }
+        int info = Math.min(fourCount(line), FOUR_MASK) << FOUR_SHIFT;
+        for (int k = 0; k < WIDTH; k++) {
+            if (line[k] != 0) {
+                continue;
+            }
+            line[k] = 1;
+            if (run(line) < 5 && hasStraightFour(line)) {
+                info |= 1 << (CANDIDATE_SHIFT + k);
+            }
+            line[k] = 0;
+        }
+        return info;
+    }
+
+    // 가운데를 지나는 연속한 흑 개수 (줄 끝에 닿으면 여섯 이상이므로 11칸이면 충분)
+    private static int run(int[] line) {
+        int run = 1;
+        for (int k = RADIUS + 1; k < WIDTH && line[k] == 1; k++) run++;
+        for (int k = RADIUS - 1; k >= 0 && line[k] == 1; k--) run++;
+        return run;
+    }
+
+    // 두면 가운데를 지나는 정확히 다섯이 되는 빈 자리 (비트 = 줄 위치)
+    private static int fivePoints(int[] line) {
+        int points = 0;
+        for (int k = 0; k < WIDTH; k++) {
+            if (line[k] != 0) {
+                continue;
+            }
+            line[k] = 1;
+            if (run(line) == 5) {
+                points |= 1 << k;
+            }
+            line[k] = 0;
+        }
+        return points;
+    }
+
+    // 4목 개수: 다섯 자리마다 하나, 단 열린 4(두 자리 사이 네 칸이 모두 흑)는 자리가 둘이어도 하나
+    private static int fourCount(int[] line) {
+        int points = fivePoints(line);
+        int count = Integer.bitCount(points);
+        for (int k = 0; k + 5 < WIDTH; k++) {
+            if ((points & (1 << k)) != 0 && (points & (1 << (k + 5))) != 0) {
+                count--;
+            }
+        }
+        return count;
+    }
+
+    // 가운데를 지나는 열린 4가 있는지
+    private static boolean hasStraightFour(int[] line) {
+        int points = fivePoints(line);
+        for (int k = 0; k + 5 < WIDTH; k++) {
+            if ((points & (1 << k)) != 0 && (points & (1 << (k + 5))) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,125 @@
+package omok_server;
+
+import omok_shared.OmokMsg;
+
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+// 클라이언트 한 명의 복기 위치
+// 게임 기록을 복사하지 않고 번호로 직접 읽으며, 일정 간격(KEYFRAME_INTERVAL 수)마다 판 전체를 저장해 두어
+// "N번째 수로 이동"은 가장 가까운 저장된 판에서 몇 수만 더 두어 만든다.
+// 위치는 기록의 칸 번호(훈수 포함)이며 -1은 빈 판이다. (클라이언트의 currentIndex와 같은 의미)
+class ReplayCursor {
+    static final int BOARD_SIZE = 15;
+    static final int KEYFRAME_INTERVAL = 16;
+    private static final int BLACK = 1;
+    private static final int WHITE = 2;
+    private static final int SUGGESTION = 3;
+
+    private final GameRecord record;
+    private final int[] playerMoveIndex;   // k번째 플레이어 수(0부터)의 기록 칸 번호
+    private final byte[][] keyframes;      // keyframes[k] = 플레이어 수 k * KEYFRAME_INTERVAL개를 둔 판
+    private int position = -1;
+
+    ReplayCursor(GameRecord record) {
+        this.record = record;
+        int count = record.getMoveCount();
+        int[] moveIndex = new int[count];
+        int players = 0;
+        for (int i = 0; i < count; i++) {
+            if (!record.isSpectator(i)) {
+                moveIndex[players++] = i;
+            }
+        }
+        this.playerMoveIndex = Arrays.copyOf(moveIndex, players);
+
+        // 저장된 판 만들기
+        this.keyframes = new byte[players / KEYFRAME_INTERVAL + 1][];
+        byte[] board = new byte[BOARD_SIZE * BOARD_SIZE];
+        keyframes[0] = board.clone();
+        for (int k = 0; k < players; k++) {
+            place(board, playerMoveIndex[k]);
+            if ((k + 1) % KEYFRAME_INTERVAL == 0) {
+                keyframes[(k + 1) / KEYFRAME_INTERVAL] = board.clone();
+            }
+        }
+    }
+
+    GameRecord record() {
+        return record;
+    }
+
+    int position() {
+        return position;
+    }
+
+    // 클라이언트가 알려준 위치로 맞춤 (범위를 벗어나면 무시)
+    void seek(int index) {
+        if (index >= -1 && index < record.getMoveCount()) {
+            position = index;
+        }
+    }
+
+    // 다음 플레이어 수까지 진행. 사이의 훈수와 그 수를 out으로 보낸다.
+    void next(Consumer<OmokMsg> out) {
+        int last = record.getMoveCount() - 1;
+        if (position >= last) {
+            return;
+        }
+        ++position;
+        while (record.isSpectator(position) && position < last) {
+            out.accept(suggestion(OmokMsg.MODE_REPLAY_NEXT, position));
+            ++position;
+        }
+        if (record.isSpectator(position)) {
+            out.accept(suggestion(OmokMsg.MODE_REPLAY_NEXT, position));
+            return;
+        }
+        out.accept(new OmokMsg("SERVER", OmokMsg.MODE_REPLAY_NEXT,
+                record.getX(position), record.getY(position), colorOf(position)));
+    }
+
+    // 현재 플레이어 수를 되돌리고, 그 앞의 훈수를 다시 보여준다.
+    void prev(Consumer<OmokMsg> out) {
+        if (position < 0) {
+            return;
+        }
+        if (record.isSpectator(position)) {
+            // 기록이 훈수로 끝난 경우
+            out.accept(suggestion(OmokMsg.MODE_REPLAY_PREV, position));
+        } else {
+            out.accept(new OmokMsg("SERVER", OmokMsg.MODE_REPLAY_PREV,
+                    record.getX(position), record.getY(position), colorOf(position)));
+        }
+        --position;
+        while (position != -1 && record.isSpectator(position)) {
+            out.accept(suggestion(OmokMsg.MODE_REPLAY_PREV, position));
+            --position;
+        }
+    }
+
+    // 플레이어 수 moveNumber개를 둔 판으로 이동. 판은 y * 15 + x 순서의 0(빈칸)/1(흑)/2(백)
+    byte[] jump(int moveNumber) {
+        int target = Math.max(0, Math.min(moveNumber, playerMoveIndex.length));
+        int frame = target / KEYFRAME_INTERVAL;
+        byte[] board = keyframes[frame].clone();
+        for (int k = frame * KEYFRAME_INTERVAL; k < target; k++) {
+            place(board, playerMoveIndex[k]);
+        }
+        position = target == 0 ? -1 : playerMoveIndex[target - 1];
+        return board;
+    }
+
+    private void place(byte[] board, int index) {
+        board[record.getY(index) * BOARD_SIZE + record.getX(index)] = (byte) colorOf(index);
+    }
+
+    private int colorOf(int index) {
+        return record.isPlayer1Move(index) ? BLACK : WHITE;
+    }
+
+    private OmokMsg suggestion(int mode, int index) {
+        return new OmokMsg("SERVER", mode, record.getX(index), record.getY(index),
+                SUGGESTION, record.getSpectatorColor(index));
+    }
+}
@@ -0,0 +1,65 @@
+package omok_server;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 게임 방 목록
+// roomId로 바로 찾고, 추가/삭제에 락을 잡지 않는다. 생성 순번 순서로도 보관해 목록을 만들 때 정렬하지 않는다.
+class RoomRegistry {
+    private final ConcurrentHashMap<String, Entry> rooms = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, GameRoom> bySeq = new ConcurrentSkipListMap<>();
+    private final AtomicLong nextSeq = new AtomicLong();
+
+    // 생성 순서를 함께 보관
+    private static final class Entry {
+        final long seq;
+        final GameRoom room;
+
+        Entry(long seq, GameRoom room) {
+            this.seq = seq;
+            this.room = room;
+        }
+    }
+
+    void add(GameRoom room) {
+        Entry entry = new Entry(nextSeq.getAndIncrement(), room);
+        bySeq.put(entry.seq, room);
+        Entry replaced = rooms.put(room.getRoomId(), entry);
+        if (replaced != null) {
+            bySeq.remove(replaced.seq);
+        }
+    }
+
+    // 해당 방이 등록되어 있었으면 제거하고 true
+    boolean remove(GameRoom room) {
+        Entry entry = rooms.get(room.getRoomId());
+        if (entry == null || entry.room != room || !rooms.remove(room.getRoomId(), entry)) {
+            return false;
+        }
+        bySeq.remove(entry.seq);
+        return true;
+    }
+
+    GameRoom find(String roomId) {
+        Entry entry = rooms.get(roomId);
+        return entry != null ? entry.room : null;
+    }
+
+    int size() {
+        return rooms.size();
+    }
+
+    // 생성 순서대로 순회하는 방 목록 (락 없이 순회 가능한 뷰)
+    Collection<GameRoom> all() {
+        return bySeq.values();
+    }
+
+    // 생성 순서대로의 방 목록 복사본
+    List<GameRoom> snapshot() {
+        return new ArrayList<>(bySeq.values());
+    }
+}
@@ -0,0 +1,139 @@
+package omok_server;
+
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Properties;
+
+// 서버 실행 설정
+// 명령행 인자(--port=54322 --mode=nio ...)나 설정 파일(--config=server.properties, key=value 형식)에서 읽는다.
+// 같은 항목이 둘 다 있으면 명령행 인자가 우선한다.
+public class ServerConfig {
+    public static final int DEFAULT_PORT = 54322;
+    public static final String DEFAULT_DATA_DIR = "data";
+
+    public static final String USAGE = String.join("\n",
+            "사용법: OmokServer [옵션]",
+            "  --port=<포트>             (기본값 " + DEFAULT_PORT + ")",
+            "  --mode=<blocking|virtual|nio>",
+            "  --headless                GUI 없이 바로 시작",
+            "  --policy=<drop_oldest|disconnect>  송신 대기열이 가득 찼을 때",
+            "  --queue=<크기>            연결별 송신 대기열 크기",
+            "  --log-queue=<크기>        로그 대기열 크기",
+            "  --coalesce-ms=<밀리초>    같은 상태 변경 알림을 묶는 시간 (0이면 묶지 않음)",
+            "  --data-dir=<디렉터리>     전적 저장 위치 (기본값 data, 비우면 저장하지 않음)",
+            "  --metrics-port=<포트>     지표 HTTP 엔드포인트 (127.0.0.1의 /metrics, /metrics.json. 기본값 0은 끔)",
+            "  --config=<파일>           위 항목을 key=value로 적은 설정 파일");
+
+    private int port = DEFAULT_PORT;
+    private ServerMode mode = ServerMode.BLOCKING;
+    private boolean headless = false;
+    private OutboundQueue.OverflowPolicy overflowPolicy = OutboundQueue.OverflowPolicy.DROP_OLDEST;
+    private int outboundQueueCapacity = OutboundQueue.DEFAULT_CAPACITY;
+    private int logQueueCapacity = ServerLog.DEFAULT_CAPACITY;
+    private long coalesceMillis = NotificationCoalescer.DEFAULT_WINDOW_MILLIS;
+    private String dataDir = DEFAULT_DATA_DIR;
+    private int metricsPort = 0;
+
+    // 명령행 인자 해석. 기존 위치 인자 [모드] [정책] [대기열 크기]도 받는다.
+    public static ServerConfig parse(String[] args) throws IOException {
+        Properties props = new Properties();
+        Properties overrides = new Properties();
+        String[] positional = {"mode", "policy", "queue"};
+        int position = 0;
+
+        for (String arg : args) {
+            if (arg.startsWith("--config=")) {
+                try (Reader reader = new FileReader(arg.substring("--config=".length()))) {
+                    props.load(reader);
+                }
+            } else if (arg.equals("--headless")) {
+                overrides.setProperty("headless", "true");
+            } else if (arg.startsWith("--") && arg.contains("=")) {
+                int eq = arg.indexOf('=');
+                overrides.setProperty(arg.substring(2, eq), arg.substring(eq + 1));
+            } else if (!arg.startsWith("--") && position < positional.length) {
+                overrides.setProperty(positional[position++], arg);
+            } else {
+                throw new IllegalArgumentException("알 수 없는 옵션: " + arg);
+            }
+        }
+        props.putAll(overrides);
+
+        ServerConfig config = new ServerConfig();
+        for (String key : props.stringPropertyNames()) {
+            config.set(key, props.getProperty(key).trim());
+        }
+        return config;
+    }
+
+    private void set(String key, String value) {
+        switch (key) {
+            case "port":
+                port = Integer.parseInt(value);
+                break;
+            case "mode":
+                mode = ServerMode.valueOf(value.toUpperCase());
+                break;
+            case "headless":
+                headless = Boolean.parseBoolean(value);
+                break;
+            case "policy":
+                overflowPolicy = OutboundQueue.OverflowPolicy.valueOf(value.toUpperCase());
+                break;
+            case "queue":
+                outboundQueueCapacity = Integer.parseInt(value);
+                break;
+            case "log-queue":
+                logQueueCapacity = Integer.parseInt(value);
+                break;
+            case "coalesce-ms":
+                coalesceMillis = Long.parseLong(value);
+                break;
+            case "data-dir":
+                dataDir = value;
+                break;
+            case "metrics-port":
+                metricsPort = Integer.parseInt(value);
+                break;
+            default:
+                throw new IllegalArgumentException("알 수 없는 설정: " + key);
+        }
+    }
+
+    public int getPort() {
+        return port;
+    }
+
+    public ServerMode getMode() {
+        return mode;
+    }
+
+    public boolean isHeadless() {
+        return headless;
+    }
+
+    OutboundQueue.OverflowPolicy getOverflowPolicy() {
+        return overflowPolicy;
+    }
+
+    int getOutboundQueueCapacity() {
+        return outboundQueueCapacity;
+    }
+
+    public int getLogQueueCapacity() {
+        return logQueueCapacity;
+    }
+
+    public long getCoalesceMillis() {
+        return coalesceMillis;
+    }
+
+    public String getDataDir() {
+        return dataDir;
+    }
+
+    public int getMetricsPort() {
+        return metricsPort;
+    }
+}
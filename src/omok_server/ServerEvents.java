@@ -0,0 +1,143 @@
+package omok_server;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+// JFR(Java Flight Recorder) 이벤트
+// 모두 기본값은 꺼짐이다. JFR 기록이 없으면 이벤트 클래스가 계측되지 않아 begin/commit이 빈 메서드가 되고,
+// 이벤트 객체도 JIT가 없애므로 비용이 없다. 기록 중이라도 꺼진 이벤트는 isEnabled()/shouldCommit()에서 끝난다.
+// 켜는 법 (JDK 17 이상, .jfc에 없는 이벤트라 이름 앞에 +를 붙인다):
+//   java -XX:StartFlightRecording=filename=omok.jfr,+omok.PlaceStone#enabled=true,+omok.LockWait#enabled=true ...
+//   jcmd <pid> JFR.start filename=omok.jfr +omok.Send#enabled=true +omok.Send#threshold=0ms
+final class ServerEvents {
+    private ServerEvents() {
+    }
+
+    @Name("omok.PlaceStone")
+    @Label("착수 처리")
+    @Description("GameRoom.placeStone 한 번. 방 락 대기를 포함한다")
+    @Category({"Omok", "Game"})
+    @Enabled(false)
+    @StackTrace(false)
+    static final class PlaceStone extends Event {
+        @Label("방 ID")
+        String roomId;
+
+        @Label("플레이어")
+        String player;
+
+        @Label("수 번호")
+        int moveNumber;
+
+        @Label("결과")
+        String result = "거부";
+
+        @Label("규칙 판정 시간")
+        @Timespan(Timespan.NANOSECONDS)
+        long ruleCheck;
+
+        @Label("전송 시간")
+        @Description("착수/차례/금수 위치/게임 종료 알림을 보내는 데 걸린 시간")
+        @Timespan(Timespan.NANOSECONDS)
+        long broadcast;
+
+        @Label("수신자 수")
+        int recipients;
+
+        transient long broadcastStart;
+
+        // 전송 시작 (켜져 있을 때만 시각을 잰다)
+        void broadcastStarted() {
+            if (isEnabled()) {
+                broadcastStart = System.nanoTime();
+            }
+        }
+
+        // placeStone이 끝날 때 호출
+        void finish(GameRoom room, String player, int recipients) {
+            end();
+            if (shouldCommit()) {
+                if (broadcastStart != 0) {
+                    broadcast = System.nanoTime() - broadcastStart;
+                }
+                this.roomId = room.getRoomId();
+                this.player = player;
+                this.moveNumber = room.getMoveCount();
+                this.recipients = recipients;
+                commit();
+            }
+        }
+    }
+
+    @Name("omok.Send")
+    @Label("느린 전송")
+    @Description("ClientHandler.send가 임계값보다 오래 걸린 경우 (송신 대기열 락 대기, 연결 끊기 등)")
+    @Category({"Omok", "Network"})
+    @Enabled(false)
+    @Threshold("1 ms")
+    @StackTrace(false)
+    static final class Send extends Event {
+        @Label("사용자")
+        String uid;
+
+        @Label("메시지 모드")
+        String mode;
+
+        @Label("송신 대기열 길이")
+        int queueDepth;
+    }
+
+    @Name("omok.LockWait")
+    @Label("락 대기")
+    @Description("방 락 또는 로비(서버) 락을 바로 잡지 못하고 기다린 시간")
+    @Category({"Omok", "Locking"})
+    @Enabled(false)
+    static final class LockWait extends Event {
+        @Label("락")
+        String lock;
+
+        @Label("방 ID")
+        String roomId;
+
+        @Label("대기 스레드 수")
+        @Description("기다리기 시작할 때 이미 기다리던 스레드 수 (근삿값)")
+        int waiters;
+    }
+
+    @Name("omok.LobbyBroadcast")
+    @Label("로비 브로드캐스트")
+    @Category({"Omok", "Network"})
+    @Enabled(false)
+    @StackTrace(false)
+    static final class LobbyBroadcast extends Event {
+        @Label("메시지 모드")
+        String mode;
+
+        @Label("수신자 수")
+        int recipients;
+
+        @Label("메시지 크기")
+        @Description("인코딩된 프레임 하나의 크기 (형식이 여럿이면 큰 쪽)")
+        @DataAmount
+        int payloadBytes;
+
+        // 모두에게 보낸 뒤 호출 (켜져 있을 때만 크기를 구한다)
+        void finish(OutboundFrame frame, int recipients) {
+            end();
+            if (shouldCommit()) {
+                this.mode = ServerMetrics.modeName(frame.mode());
+                this.recipients = recipients;
+                this.payloadBytes = frame.encodedSize();
+                commit();
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package omok_server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 서버 로그 출력
+// 로그를 남기는 스레드는 제한된 큐에 넣기만 하고, 전용 스레드가 모아서 출력 대상(콘솔, GUI)에 넘긴다.
+// 큐가 가득 차면 로그를 버리고 개수만 세어 두었다가 다음 출력 때 알린다.
+public class ServerLog {
+    public static final int DEFAULT_CAPACITY = 4096;
+    private static final int MAX_BATCH = 256;
+
+    // 모아진 로그 줄을 실제로 출력하는 곳 (로그 스레드에서 호출)
+    public interface Sink {
+        void write(List<String> lines);
+    }
+
+    private final BlockingQueue<String> queue;
+    private final Sink sink;
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public ServerLog(int capacity, Sink sink) {
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.sink = sink;
+        this.writer = new Thread(this::run, "omok-log");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    // 표준 출력으로 내보내는 로그
+    public static ServerLog console(int capacity) {
+        return new ServerLog(capacity, lines -> {
+            for (String line : lines) {
+                System.out.println(line);
+            }
+            System.out.flush();
+        });
+    }
+
+    // 로그 한 줄 추가 (블로킹하지 않음)
+    public void log(String message) {
+        if (!queue.offer(message)) {
+            dropped.incrementAndGet();
+        }
+    }
+
+    // 지금까지 버린 로그 수
+    public long droppedCount() {
+        return dropped.get();
+    }
+
+    // 남은 로그를 출력하고 종료
+    public void close() {
+        running = false;
+        try {
+            writer.join(1000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        List<String> batch = new ArrayList<>(MAX_BATCH);
+        long reportedDrops = 0;
+        while (running || !queue.isEmpty()) {
+            try {
+                String first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+
+                long drops = dropped.get();
+                if (drops > reportedDrops) {
+                    batch.add("(로그 대기열이 가득 차서 " + (drops - reportedDrops) + "줄을 버렸습니다)");
+                    reportedDrops = drops;
+                }
+                sink.write(batch);
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                System.err.println("로그 출력 오류> " + e.getMessage());
+            }
+            batch.clear();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package omok_server;
+
+import omok_shared.OmokMsg;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// 서버 지표
+// 메시지 모드별 수신 수와 처리 시간, 모드별 송신 메시지 수와 바이트, 규칙 판정 시간, 브로드캐스트 수신자 수를 기록한다.
+// 기록은 락 없이 LongAdder(스레드별로 나뉘는 카운터)와 Histogram에 더하기만 하므로 운영 중에도 켜 둔다.
+// 방/접속자/관전자 수처럼 지금의 상태는 기록하지 않고 보고서를 만들 때 서버에서 센다.
+class ServerMetrics {
+    static final int MAX_MODE = 63;   // 이보다 큰 모드는 0번(알 수 없음)에 모은다
+    private static final String[] MODE_NAMES = modeNames();
+
+    private final long startedAt = System.currentTimeMillis();
+
+    // 모드별 (처음 쓰일 때 만든다)
+    private final AtomicReferenceArray<Histogram> handling = new AtomicReferenceArray<>(MAX_MODE + 1);
+    private final LongAdder[] outboundMessages = adders();
+    private final LongAdder[] outboundBytes = adders();
+
+    private final Histogram ruleCheck = new Histogram();     // 착수 한 번의 금수/승리 판정과 위협 정보 갱신 (ns)
+    private final Histogram roomFanOut = new Histogram();    // 방 브로드캐스트 수신자 수
+    private final Histogram lobbyFanOut = new Histogram();   // 로비 브로드캐스트 수신자 수
+
+    // ==== 기록 ====
+
+    // 받은 메시지 하나를 처리하는 데 걸린 시간
+    void inbound(int mode, long nanos) {
+        int slot = slot(mode);
+        Histogram histogram = handling.get(slot);
+        if (histogram == null) {
+            handling.compareAndSet(slot, null, new Histogram());
+            histogram = handling.get(slot);
+        }
+        histogram.record(nanos);
+    }
+
+    // 소켓에 쓴 프레임 하나
+    void outbound(int mode, int bytes) {
+        int slot = slot(mode);
+        outboundMessages[slot].increment();
+        outboundBytes[slot].add(bytes);
+    }
+
+    void ruleCheck(long nanos) {
+        ruleCheck.record(nanos);
+    }
+
+    void roomBroadcast(int recipients) {
+        roomFanOut.record(recipients);
+    }
+
+    void lobbyBroadcast(int recipients) {
+        lobbyFanOut.record(recipients);
+    }
+
+    // ==== 읽기 ====
+
+    long startedAt() {
+        return startedAt;
+    }
+
+    // 해당 모드의 처리 시간 (받은 적이 없으면 null)
+    Histogram handling(int mode) {
+        return handling.get(slot(mode));
+    }
+
+    long inboundCount(int mode) {
+        Histogram histogram = handling(mode);
+        return histogram != null ? histogram.count() : 0;
+    }
+
+    long outboundMessages(int mode) {
+        return outboundMessages[slot(mode)].sum();
+    }
+
+    long outboundBytes(int mode) {
+        return outboundBytes[slot(mode)].sum();
+    }
+
+    Histogram ruleCheck() {
+        return ruleCheck;
+    }
+
+    Histogram roomFanOut() {
+        return roomFanOut;
+    }
+
+    Histogram lobbyFanOut() {
+        return lobbyFanOut;
+    }
+
+    // 모드 이름 (OmokMsg의 MODE_ 상수 이름에서 MODE_를 뗀 것, 모르는 모드는 번호)
+    static String modeName(int mode) {
+        int slot = slot(mode);
+        return MODE_NAMES[slot] != null ? MODE_NAMES[slot] : "MODE_" + mode;
+    }
+
+    // 사람이 읽는 요약 (서버 종료 시 로그 등)
+    String summary(OmokServer server) {
+        StringBuilder sb = new StringBuilder();
+        Gauges gauges = Gauges.of(server);
+        sb.append(String.format("접속 %d명, 방 %d개 (대기 %d, 게임 %d), 관전자 %d명 (방당 최대 %d)%n",
+                gauges.users, gauges.waitingRooms + gauges.playingRooms, gauges.waitingRooms, gauges.playingRooms,
+                gauges.spectators, gauges.maxSpectators));
+        sb.append(String.format("%-26s %10s %10s %10s %10s %10s %12s%n",
+                "모드", "수신", "처리 p50", "처리 p99", "처리 max", "송신", "송신 바이트"));
+        for (int mode = 0; mode <= MAX_MODE; mode++) {
+            long in = inboundCount(mode);
+            long out = outboundMessages(mode);
+            if (in == 0 && out == 0) {
+                continue;
+            }
+            Histogram h = handling(mode);
+            sb.append(String.format("%-26s %10d %10s %10s %10s %10d %12d%n", modeName(mode), in,
+                    h != null ? micros(h.percentile(0.5)) : "-", h != null ? micros(h.percentile(0.99)) : "-",
+                    h != null ? micros(h.max()) : "-", out, outboundBytes(mode)));
+        }
+        sb.append(String.format("규칙 판정 %d회: p50 %s, p99 %s, max %s%n", ruleCheck.count(),
+                micros(ruleCheck.percentile(0.5)), micros(ruleCheck.percentile(0.99)), micros(ruleCheck.max())));
+        sb.append(String.format("방 브로드캐스트 %d회: 수신자 평균 %.1f, p99 %d, max %d%n", roomFanOut.count(),
+                roomFanOut.mean(), roomFanOut.percentile(0.99), roomFanOut.max()));
+        sb.append(String.format("로비 브로드캐스트 %d회: 수신자 평균 %.1f, p99 %d, max %d", lobbyFanOut.count(),
+                lobbyFanOut.mean(), lobbyFanOut.percentile(0.99), lobbyFanOut.max()));
+        return sb.toString();
+    }
+
+    // 지금의 상태 (읽을 때 센다)
+    static final class Gauges {
+        int users;
+        int waitingRooms;
+        int playingRooms;
+        int spectators;
+        int maxSpectators;
+
+        static Gauges of(OmokServer server) {
+            Gauges gauges = new Gauges();
+            gauges.users = server.connectedUsers().size();
+            for (GameRoom room : server.roomSnapshot()) {
+                if (room.isGameStarted()) {
+                    gauges.playingRooms++;
+                } else {
+                    gauges.waitingRooms++;
+                }
+                int spectators = room.getSpectatorCount();
+                gauges.spectators += spectators;
+                gauges.maxSpectators = Math.max(gauges.maxSpectators, spectators);
+            }
+            return gauges;
+        }
+    }
+
+    private static String micros(long nanos) {
+        return String.format("%.1fus", nanos / 1000.0);
+    }
+
+    private static int slot(int mode) {
+        return mode > 0 && mode <= MAX_MODE ? mode : 0;
+    }
+
+    private static LongAdder[] adders() {
+        LongAdder[] adders = new LongAdder[MAX_MODE + 1];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static String[] modeNames() {
+        String[] names = new String[MAX_MODE + 1];
+        for (Field field : OmokMsg.class.getFields()) {
+            if (field.getName().startsWith("MODE_") && field.getType() == int.class
+                    && Modifier.isStatic(field.getModifiers())) {
+                try {
+                    int mode = field.getInt(null);
+                    if (mode > 0 && mode <= MAX_MODE) {
+                        names[mode] = field.getName().substring("MODE_".length());
+                    }
+                } catch (IllegalAccessException ignored) {
+                    // public 상수만 읽으므로 일어나지 않는다
+                }
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,8 @@
+package omok_server;
+
+// 서버 실행 방식
+public enum ServerMode {
+    BLOCKING,   // 연결마다 플랫폼 스레드 하나 (기존 방식)
+    VIRTUAL,    // 연결마다 가상 스레드 하나
+    NIO         // Selector 이벤트 루프
+}
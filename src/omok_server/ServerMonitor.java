@@ -0,0 +1,242 @@
+package omok_server;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// 실행 중인 서버 들여다보기 (JMX MBean 등록, 지표 HTTP 엔드포인트)
+// 서버, 방, 연결마다 MBean을 하나씩 등록하고, 값은 읽을 때 서버 객체에서 바로 가져온다.
+// 서버를 시작해야 등록을 시작하므로, 시작하지 않은 서버(벤치마크 등)는 비용이 없다.
+class ServerMonitor {
+    static final String DOMAIN = "omok";
+
+    private final OmokServer server;
+    private final String mode;
+    private final int port;
+    private final int httpPort;
+    private final MBeanServer mbeans = ManagementFactory.getPlatformMBeanServer();
+    private volatile boolean started = false;
+    private MetricsEndpoint endpoint = null;
+
+    ServerMonitor(OmokServer server, ServerMode mode, int port, int httpPort) {
+        this.server = server;
+        this.mode = mode.name();
+        this.port = port;
+        this.httpPort = httpPort;
+    }
+
+    // 서버 MBean 등록, 설정되어 있으면 HTTP 엔드포인트 시작
+    void start() {
+        started = true;
+        register(name("Server", null), new ServerBean(), OmokServerMXBean.class);
+        if (httpPort > 0) {
+            try {
+                endpoint = MetricsEndpoint.start(server, httpPort);
+                server.printDisplay("지표 엔드포인트: http://127.0.0.1:" + endpoint.port() + "/metrics (.json)");
+            } catch (IOException e) {
+                server.printDisplay("지표 엔드포인트를 열 수 없습니다: " + e.getMessage());
+            }
+        }
+    }
+
+    // 등록한 MBean을 모두 내리고 엔드포인트 종료
+    void stop() {
+        if (!started) {
+            return;
+        }
+        started = false;
+        if (endpoint != null) {
+            endpoint.stop();
+            endpoint = null;
+        }
+        try {
+            for (ObjectName name : mbeans.queryNames(new ObjectName(DOMAIN + ":port=" + port + ",*"), null)) {
+                unregister(name);
+            }
+        } catch (JMException e) {
+            server.printDisplay("MBean 해제 실패: " + e.getMessage());
+        }
+    }
+
+    void roomAdded(GameRoom room) {
+        if (started) {
+            register(name("Room", room.getRoomId()), new RoomBean(room), GameRoomMXBean.class);
+        }
+    }
+
+    void roomRemoved(GameRoom room) {
+        if (started) {
+            unregister(name("Room", room.getRoomId()));
+        }
+    }
+
+    void connectionOpened(OmokServer.ClientHandler handler) {
+        if (started) {
+            register(name("Connection", String.valueOf(handler.getConnectionId())),
+                    new ConnectionBean(handler), ConnectionMXBean.class);
+        }
+    }
+
+    void connectionClosed(OmokServer.ClientHandler handler) {
+        if (started) {
+            unregister(name("Connection", String.valueOf(handler.getConnectionId())));
+        }
+    }
+
+    private <T> void register(ObjectName name, T bean, Class<T> type) {
+        if (name == null) {
+            return;
+        }
+        try {
+            mbeans.registerMBean(new StandardMBean(bean, type, true), name);
+        } catch (JMException e) {
+            server.printDisplay("MBean 등록 실패 (" + name + "): " + e.getMessage());
+        }
+    }
+
+    private void unregister(ObjectName name) {
+        if (name == null) {
+            return;
+        }
+        try {
+            mbeans.unregisterMBean(name);
+        } catch (JMException ignored) {
+            // 이미 내려갔거나 등록에 실패했던 이름
+        }
+    }
+
+    private ObjectName name(String type, String id) {
+        try {
+            return new ObjectName(DOMAIN + ":type=" + type + ",port=" + port
+                    + (id != null ? ",id=" + ObjectName.quote(id) : ""));
+        } catch (JMException e) {
+            server.printDisplay("잘못된 MBean 이름: " + e.getMessage());
+            return null;
+        }
+    }
+
+    static long idleSeconds(long lastActivity) {
+        return Math.max(0, (System.currentTimeMillis() - lastActivity) / 1000);
+    }
+
+    static double micros(long nanos) {
+        return Math.round(nanos / 100.0) / 10.0;
+    }
+
+    // ==== MBean ====
+
+    private final class ServerBean implements OmokServerMXBean {
+        @Override public String getMode() { return mode; }
+        @Override public int getPort() { return port; }
+        @Override public long getStartedAt() { return server.getMetrics().startedAt(); }
+        @Override public long getUptimeSeconds() { return (System.currentTimeMillis() - getStartedAt()) / 1000; }
+
+        @Override public int getConnectedUsers() { return server.connectedUsers().size(); }
+        @Override public int getWaitingRooms() { return gauges().waitingRooms; }
+        @Override public int getPlayingRooms() { return gauges().playingRooms; }
+        @Override public int getSpectators() { return gauges().spectators; }
+        @Override public int getMaxSpectators() { return gauges().maxSpectators; }
+
+        @Override
+        public Map<String, Long> getInboundMessages() {
+            Map<String, Long> values = new LinkedHashMap<>();
+            for (int mode = 0; mode <= ServerMetrics.MAX_MODE; mode++) {
+                long count = server.getMetrics().inboundCount(mode);
+                if (count > 0) {
+                    values.put(ServerMetrics.modeName(mode), count);
+                }
+            }
+            return values;
+        }
+
+        @Override
+        public Map<String, Double> getHandlingP99Micros() {
+            Map<String, Double> values = new LinkedHashMap<>();
+            for (int mode = 0; mode <= ServerMetrics.MAX_MODE; mode++) {
+                Histogram histogram = server.getMetrics().handling(mode);
+                if (histogram != null) {
+                    values.put(ServerMetrics.modeName(mode), micros(histogram.percentile(0.99)));
+                }
+            }
+            return values;
+        }
+
+        @Override
+        public Map<String, Long> getOutboundMessages() {
+            Map<String, Long> values = new LinkedHashMap<>();
+            for (int mode = 0; mode <= ServerMetrics.MAX_MODE; mode++) {
+                long count = server.getMetrics().outboundMessages(mode);
+                if (count > 0) {
+                    values.put(ServerMetrics.modeName(mode), count);
+                }
+            }
+            return values;
+        }
+
+        @Override
+        public Map<String, Long> getOutboundBytes() {
+            Map<String, Long> values = new LinkedHashMap<>();
+            for (int mode = 0; mode <= ServerMetrics.MAX_MODE; mode++) {
+                long bytes = server.getMetrics().outboundBytes(mode);
+                if (bytes > 0) {
+                    values.put(ServerMetrics.modeName(mode), bytes);
+                }
+            }
+            return values;
+        }
+
+        @Override
+        public double getRuleCheckP99Micros() {
+            return micros(server.getMetrics().ruleCheck().percentile(0.99));
+        }
+
+        @Override
+        public String getSummary() {
+            return server.getMetrics().summary(server);
+        }
+
+        private ServerMetrics.Gauges gauges() {
+            return ServerMetrics.Gauges.of(server);
+        }
+    }
+
+    private static final class RoomBean implements GameRoomMXBean {
+        private final GameRoom room;
+
+        RoomBean(GameRoom room) {
+            this.room = room;
+        }
+
+        @Override public String getRoomId() { return room.getRoomId(); }
+        @Override public String getTitle() { return room.getTitle(); }
+        @Override public String getStatus() { return room.getRoomStatus(); }
+        @Override public String getOwner() { return room.getOwner().getClientHandler().getUid(); }
+        @Override public int getPlayerCount() { return room.getPlayerCount(); }
+        @Override public int getSpectatorCount() { return room.getSpectatorCount(); }
+        @Override public int getMoveCount() { return room.getMoveCount(); }
+        @Override public long getLastActivity() { return room.getLastActivity(); }
+        @Override public long getIdleSeconds() { return idleSeconds(room.getLastActivity()); }
+    }
+
+    private static final class ConnectionBean implements ConnectionMXBean {
+        private final OmokServer.ClientHandler handler;
+
+        ConnectionBean(OmokServer.ClientHandler handler) {
+            this.handler = handler;
+        }
+
+        @Override public long getConnectionId() { return handler.getConnectionId(); }
+        @Override public String getUid() { return handler.getUid(); }
+        @Override public String getRoomId() { return handler.getRoomId(); }
+        @Override public int getOutboundQueueDepth() { return handler.getOutboundQueueDepth(); }
+        @Override public long getDroppedMessages() { return handler.getDroppedMessageCount(); }
+        @Override public long getConnectedAt() { return handler.getConnectedAt(); }
+        @Override public long getLastActivity() { return handler.getLastActivity(); }
+        @Override public long getIdleSeconds() { return idleSeconds(handler.getLastActivity()); }
+    }
+}
@@ -0,0 +1,235 @@
+package omok_server;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// 전적 영구 저장 (스냅샷 + 추가 전용 로그)
+// - 로그: [헤더: 매직, 세대][기록: 종류 1바이트, uid 길이 2바이트, uid UTF-8]...
+// - 스냅샷: [매직, 버전, 다음 세대, 사용자 수][uid 길이, uid, 승, 패]...
+// 스냅샷을 새로 쓰면 로그를 다음 세대로 비운다. 시작할 때는 스냅샷을 메모리 매핑해서 읽고,
+// 스냅샷 이후 세대의 로그만 다시 적용한다. (스냅샷 교체 직후 로그를 비우기 전에 꺼져도 중복 적용되지 않는다)
+// 스레드 안전하지 않으므로 전적 스레드 한 곳에서만 호출한다.
+class StatsJournal {
+    private static final int LOG_MAGIC = 0x4F4D4C47;        // "OMLG"
+    private static final int SNAPSHOT_MAGIC = 0x4F4D5353;   // "OMSS"
+    private static final int SNAPSHOT_VERSION = 1;
+    private static final int LOG_HEADER_SIZE = 12;
+    private static final byte RECORD_WIN = 1;
+    private static final byte RECORD_LOSS = 2;
+    private static final int MAX_UID_BYTES = 0xFFFF;
+
+    private final Path snapshotFile;
+    private final Path logFile;
+    private FileChannel log;
+    private long epoch;                 // 현재 로그의 세대
+    private ByteBuffer pending = ByteBuffer.allocate(64 * 1024);   // 아직 파일에 쓰지 않은 기록
+    private long recordsSinceSnapshot = 0;
+
+    StatsJournal(Path dir) throws IOException {
+        Files.createDirectories(dir);
+        this.snapshotFile = dir.resolve("stats.snapshot");
+        this.logFile = dir.resolve("stats.log");
+    }
+
+    // 스냅샷과 로그 꼬리를 읽어 전적을 복원
+    ConcurrentHashMap<String, UserStatsStore.UserStats> load() throws IOException {
+        ConcurrentHashMap<String, UserStatsStore.UserStats> target;
+        long nextEpoch = 0;
+        if (Files.exists(snapshotFile)) {
+            try (FileChannel channel = FileChannel.open(snapshotFile, StandardOpenOption.READ)) {
+                MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                if (buf.remaining() < 20 || buf.getInt() != SNAPSHOT_MAGIC || buf.getInt() != SNAPSHOT_VERSION) {
+                    throw new IOException("전적 스냅샷 형식 오류: " + snapshotFile);
+                }
+                nextEpoch = buf.getLong();
+                int count = buf.getInt();
+                // 사용자 수를 알고 있으므로 처음부터 충분한 크기로 만들어 재해시를 피한다
+                target = new ConcurrentHashMap<>(count + count / 3 + 16);
+                readSnapshotEntries(buf, count, target);
+            }
+        } else {
+            target = new ConcurrentHashMap<>();
+        }
+
+        if (Files.exists(logFile)) {
+            log = FileChannel.open(logFile, StandardOpenOption.READ, StandardOpenOption.WRITE);
+            long logEpoch = readLogEpoch();
+            if (logEpoch >= nextEpoch) {
+                epoch = logEpoch;
+                long end = replayLog(target);
+                // 마지막에 잘린 기록은 버린다
+                log.truncate(end);
+                log.position(end);
+                return target;
+            }
+            log.close();
+        }
+        // 로그가 없거나 이미 스냅샷에 포함된 세대
+        resetLog(nextEpoch);
+        return target;
+    }
+
+    private void readSnapshotEntries(MappedByteBuffer buf, int count,
+                                     Map<String, UserStatsStore.UserStats> target) throws IOException {
+        byte[] uidBytes = new byte[256];
+        try {
+            for (int i = 0; i < count; i++) {
+                int length = buf.getShort() & 0xFFFF;
+                if (uidBytes.length < length) {
+                    uidBytes = new byte[length];
+                }
+                buf.get(uidBytes, 0, length);
+                String uid = new String(uidBytes, 0, length, StandardCharsets.UTF_8);
+                int wins = buf.getInt();
+                target.put(uid, new UserStatsStore.UserStats(wins, buf.getInt()));
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("전적 스냅샷이 잘렸습니다: " + snapshotFile);
+        }
+    }
+
+    private long readLogEpoch() throws IOException {
+        if (log.size() < LOG_HEADER_SIZE) {
+            return -1;
+        }
+        ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_SIZE);
+        while (header.hasRemaining()) {
+            log.read(header, header.position());
+        }
+        header.flip();
+        if (header.getInt() != LOG_MAGIC) {
+            throw new IOException("전적 로그 형식 오류: " + logFile);
+        }
+        return header.getLong();
+    }
+
+    // 로그 기록을 적용하고, 온전한 마지막 기록의 끝 위치를 반환
+    private long replayLog(Map<String, UserStatsStore.UserStats> target) throws IOException {
+        long size = log.size();
+        MappedByteBuffer buf = log.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        buf.position(LOG_HEADER_SIZE);
+        long end = LOG_HEADER_SIZE;
+        byte[] uidBytes = new byte[256];
+        while (buf.remaining() >= 3) {
+            byte kind = buf.get();
+            int length = buf.getShort() & 0xFFFF;
+            if ((kind != RECORD_WIN && kind != RECORD_LOSS) || buf.remaining() < length) {
+                break;
+            }
+            if (uidBytes.length < length) {
+                uidBytes = new byte[length];
+            }
+            buf.get(uidBytes, 0, length);
+            String uid = new String(uidBytes, 0, length, StandardCharsets.UTF_8);
+            UserStatsStore.UserStats stats = target.computeIfAbsent(uid, id -> new UserStatsStore.UserStats(0, 0));
+            if (kind == RECORD_WIN) {
+                stats.addWin();
+            } else {
+                stats.addLoss();
+            }
+            end = buf.position();
+            recordsSinceSnapshot++;
+        }
+        return end;
+    }
+
+    // 결과 기록 추가 (메모리에만 쌓고 flush()에서 한 번에 쓴다)
+    void append(String uid, boolean win) {
+        byte[] bytes = uid.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > MAX_UID_BYTES) {
+            return;
+        }
+        if (pending.remaining() < 3 + bytes.length) {
+            ByteBuffer bigger = ByteBuffer.allocate(Math.max(pending.capacity() * 2, pending.position() + 3 + bytes.length));
+            pending.flip();
+            bigger.put(pending);
+            pending = bigger;
+        }
+        pending.put(win ? RECORD_WIN : RECORD_LOSS);
+        pending.putShort((short) bytes.length);
+        pending.put(bytes);
+        recordsSinceSnapshot++;
+    }
+
+    // 쌓인 기록을 로그 파일에 쓰고 디스크에 반영
+    void flush() throws IOException {
+        if (pending.position() == 0) {
+            return;
+        }
+        pending.flip();
+        while (pending.hasRemaining()) {
+            log.write(pending);
+        }
+        pending.clear();
+        log.force(false);
+    }
+
+    // 마지막 스냅샷 이후 쌓인 기록 수
+    long recordsSinceSnapshot() {
+        return recordsSinceSnapshot;
+    }
+
+    // 현재 전적 전체를 스냅샷으로 쓰고 로그를 다음 세대로 비운다
+    void snapshot(Map<String, UserStatsStore.UserStats> stats) throws IOException {
+        flush();
+        long nextEpoch = epoch + 1;
+        Path tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (OutputStream file = Files.newOutputStream(tmp);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeLong(nextEpoch);
+            // 로그인 스레드가 사용자를 추가할 수 있으므로 개수를 먼저 고정한다 (새 사용자는 0승 0패라 빠져도 된다)
+            List<Map.Entry<String, UserStatsStore.UserStats>> entries = new ArrayList<>(stats.entrySet());
+            out.writeInt(entries.size());
+            for (Map.Entry<String, UserStatsStore.UserStats> entry : entries) {
+                byte[] uid = entry.getKey().getBytes(StandardCharsets.UTF_8);
+                out.writeShort(uid.length);
+                out.write(uid);
+                out.writeInt(entry.getValue().getWins());
+                out.writeInt(entry.getValue().getLosses());
+            }
+        }
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+            channel.force(true);
+        }
+        Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        log.close();
+        resetLog(nextEpoch);
+    }
+
+    // 비어 있는 새 세대 로그 생성
+    private void resetLog(long newEpoch) throws IOException {
+        log = FileChannel.open(logFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.READ, StandardOpenOption.TRUNCATE_EXISTING);
+        ByteBuffer header = ByteBuffer.allocate(LOG_HEADER_SIZE);
+        header.putInt(LOG_MAGIC).putLong(newEpoch).flip();
+        while (header.hasRemaining()) {
+            log.write(header);
+        }
+        log.force(false);
+        epoch = newEpoch;
+        recordsSinceSnapshot = 0;
+    }
+
+    void close() throws IOException {
+        flush();
+        log.close();
+    }
+}
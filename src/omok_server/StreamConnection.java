@@ -0,0 +1,132 @@
+package omok_server;
+
+import omok_shared.OmokMsg;
+import omok_shared.OmokWire;
+
+import java.io.*;
+import java.net.Socket;
+
+// 블로킹 소켓 연결
+// 첫 두 바이트로 기존 ObjectOutputStream 클라이언트와 프레임 클라이언트를 구분한다.
+// 전송은 대기열에 넣기만 하고, 연결마다 붙는 writer 스레드가 소켓에 쓴다.
+class StreamConnection implements Connection {
+    private final Socket socket;
+    private final boolean legacy;
+    private final OutboundQueue queue;
+    private final ServerMetrics metrics;
+    private byte codec = OmokWire.CODEC_SERIAL;
+    private OutboundFrame.Format format;
+    private OutputStream rawOut;
+
+    // 기존 클라이언트용 스트림
+    private ObjectInputStream objectIn;
+    private ObjectOutputStream objectOut;
+
+    // 프레임 클라이언트용 스트림
+    private DataInputStream dataIn;
+    private DataOutputStream dataOut;
+
+    private StreamConnection(Socket socket, boolean legacy, OutboundQueue queue, ServerMetrics metrics) {
+        this.socket = socket;
+        this.legacy = legacy;
+        this.queue = queue;
+        this.metrics = metrics;
+    }
+
+    // 소켓에서 프로토콜을 판별하고 연결 생성
+    static StreamConnection open(Socket socket, OutboundQueue queue, ServerMetrics metrics) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(socket.getInputStream());
+        BufferedOutputStream out = new BufferedOutputStream(socket.getOutputStream());
+
+        in.mark(2);
+        int b1 = in.read();
+        int b2 = in.read();
+        if (b1 < 0 || b2 < 0) {
+            throw new EOFException("핸드셰이크 전에 연결이 끊어졌습니다.");
+        }
+        in.reset();
+
+        StreamConnection conn = new StreamConnection(socket, OmokWire.isLegacyStream((b1 << 8) | b2), queue, metrics);
+        conn.rawOut = out;
+        if (conn.legacy) {
+            // 스트림 헤더만 ObjectOutputStream으로 쓰고, 이후에는 미리 인코딩된 바이트를 그대로 쓴다
+            conn.objectOut = new ObjectOutputStream(out);
+            conn.objectOut.flush();
+            conn.objectIn = new ObjectInputStream(in);
+            conn.format = OutboundFrame.Format.LEGACY_STREAM;
+        } else {
+            conn.dataIn = new DataInputStream(in);
+            conn.dataOut = new DataOutputStream(out);
+            if (conn.dataIn.readInt() != OmokWire.MAGIC) {
+                throw new IOException("알 수 없는 프로토콜입니다.");
+            }
+            conn.codec = OmokWire.negotiate(conn.dataIn.readByte());
+            conn.dataOut.writeByte(conn.codec);
+            conn.dataOut.flush();
+            conn.format = OutboundFrame.Format.ofCodec(conn.codec);
+        }
+        return conn;
+    }
+
+    // 메시지 한 개 수신 (블로킹)
+    OmokMsg read() throws IOException, ClassNotFoundException {
+        if (legacy) {
+            return (OmokMsg) objectIn.readObject();
+        }
+        return OmokWire.readFrame(dataIn, codec);
+    }
+
+    // 대기열을 비우는 writer 스레드 시작 (수신 스레드와 같은 종류의 스레드를 쓴다)
+    void startWriter(Thread.Builder builder) {
+        builder.start(this::writeLoop);
+    }
+
+    // 대기열에서 프레임을 꺼내 소켓에 쓴다. 대기열이 비었을 때만 flush해서 연속된 프레임을 묶어 보낸다.
+    private void writeLoop() {
+        try {
+            OutboundFrame frame;
+            while ((frame = queue.take()) != null) {
+                byte[] bytes = frame.bytes(format);
+                rawOut.write(bytes);
+                metrics.outbound(frame.mode(), bytes.length);
+                if (queue.depth() == 0) {
+                    rawOut.flush();
+                }
+            }
+        } catch (IOException | InterruptedException e) {
+            // 소켓을 닫으면 수신 스레드가 퇴장 처리를 한다
+            close();
+        }
+    }
+
+    @Override
+    public void write(OutboundFrame frame) throws IOException {
+        if (!queue.offer(frame)) {
+            if (queue.isClosed()) {
+                throw new IOException("연결이 닫혔습니다.");
+            }
+            close();
+            throw new IOException("전송 대기열이 가득 차서 연결을 종료합니다.");
+        }
+    }
+
+    @Override
+    public void close() {
+        queue.close();
+        try {
+            socket.close();
+        } catch (IOException e) {
+            System.err.println("닫기 오류> " + e.getMessage());
+        }
+    }
+
+    @Override
+    public int queueDepth() {
+        return queue.depth();
+    }
+
+    @Override
+    public long droppedCount() {
+        return queue.droppedCount();
+    }
+}
@@ -0,0 +1,202 @@
+package omok_server;
+
+import omok_shared.BitBoard;
+
+// 수가 놓일 때마다 갱신되는 위협 정보가 붙은 오목판
+// 빈 칸마다, 색마다, 방향마다 "여기에 두면" 생기는 줄 정보(RenjuRuleChecker의 표)를 들고 있다.
+// 돌 하나가 바꾸는 것은 그 돌을 지나는 네 줄에서 반경 5칸 안의 빈 칸뿐이므로 두기마다 그 칸들만 다시 계산하고,
+// 흑 금수 / 오목 / 4목 / 열린 3목이 되는 칸을 칸 집합(225비트)으로 유지한다.
+// 금수 판정, 승리 판정, 클라이언트의 금수 표시는 모두 두기 전에 이 집합을 한 번 읽으면 된다.
+// 삼삼 후보 칸만은 진짜 3목인지가 멀리 있는 돌에도 달려 있으므로 두기마다 RenjuRuleChecker로 다시 확인한다.
+public final class ThreatBoard {
+    private static final int SIZE = BitBoard.SIZE;
+    private static final int CELLS = SIZE * SIZE;
+    private static final int RADIUS = 5;
+    private static final int SET_WORDS = (CELLS + 63) / 64;
+
+    private final BitBoard board = new BitBoard();
+    private final RenjuRuleChecker renju = new RenjuRuleChecker();
+    // [색 - 1][방향 * 225 + 칸] 빈 칸에 그 색을 두었을 때의 줄 정보
+    private final int[][] lines = new int[2][BitBoard.DIRECTIONS * CELLS];
+
+    // 칸 집합 (비트 y * 15 + x)
+    private final long[] forbidden = new long[SET_WORDS];       // 흑 금수
+    private final long[] lineForbidden = new long[SET_WORDS];   // 줄 정보만으로 금수 (장목, 사사)
+    private final long[] doubleThrees = new long[SET_WORDS];    // 삼삼 후보 (재귀 확인 필요)
+    private final long[][] fives = new long[2][SET_WORDS];      // 두면 다섯 이상 (승리)
+    private final long[][] fours = new long[2][SET_WORDS];      // 두면 4목
+    private final long[][] threes = new long[2][SET_WORDS];     // 두면 열린 3목 모양 (진짜 3목인지는 확인하지 않음)
+
+    public ThreatBoard() {
+        clear();
+    }
+
+    public BitBoard board() {
+        return board;
+    }
+
+    // 빈 판으로 (모든 칸을 다시 계산)
+    public void clear() {
+        board.clear();
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                for (int dir = 0; dir < BitBoard.DIRECTIONS; dir++) {
+                    encode(x, y, dir);
+                }
+                summarize(x, y);
+            }
+        }
+        resolveForbidden();
+    }
+
+    // 돌 놓기 (빈 칸이라고 가정). 흑 금수 칸이 바뀌었으면 true
+    public boolean place(int x, int y, int color) {
+        board.place(x, y, color);
+        clearCell(y * SIZE + x);
+        for (int dir = 0; dir < BitBoard.DIRECTIONS; dir++) {
+            int dx = BitBoard.DX[dir];
+            int dy = BitBoard.DY[dir];
+            for (int k = -RADIUS; k <= RADIUS; k++) {
+                int nx = x + k * dx;
+                int ny = y + k * dy;
+                if (k == 0 || !BitBoard.isInside(nx, ny) || !board.isEmpty(nx, ny)) {
+                    continue;
+                }
+                encode(nx, ny, dir);
+                summarize(nx, ny);
+            }
+        }
+        return resolveForbidden();
+    }
+
+    // (x, y)에 흑을 두면 금수인지
+    public boolean isForbidden(int x, int y) {
+        return contains(forbidden, y * SIZE + x);
+    }
+
+    // (x, y)에 color를 두면 다섯 이상이 되는지
+    public boolean isWinningMove(int x, int y, int color) {
+        return contains(fives[color - 1], y * SIZE + x);
+    }
+
+    // (x, y)에 color를 두면 4목이 되는지
+    public boolean makesFour(int x, int y, int color) {
+        return contains(fours[color - 1], y * SIZE + x);
+    }
+
+    // (x, y)에 color를 두면 열린 3목 모양이 되는지
+    public boolean makesOpenThree(int x, int y, int color) {
+        return contains(threes[color - 1], y * SIZE + x);
+    }
+
+    public int forbiddenCount() {
+        return count(forbidden);
+    }
+
+    // 칸 목록 (y * 15 + x, 작은 칸부터)
+    public byte[] forbiddenPoints() {
+        return points(forbidden);
+    }
+
+    public byte[] winningPoints(int color) {
+        return points(fives[color - 1]);
+    }
+
+    public byte[] fourPoints(int color) {
+        return points(fours[color - 1]);
+    }
+
+    public byte[] threePoints(int color) {
+        return points(threes[color - 1]);
+    }
+
+    // 빈 칸 (x, y)의 dir 방향 줄 정보를 두 색 모두 다시 계산
+    private void encode(int x, int y, int dir) {
+        int i = dir * CELLS + y * SIZE + x;
+        lines[0][i] = RenjuRuleChecker.lineInfo(board, x, y, dir, BitBoard.BLACK);
+        lines[1][i] = RenjuRuleChecker.lineInfo(board, x, y, dir, BitBoard.WHITE);
+    }
+
+    // 빈 칸 (x, y)의 네 방향 줄 정보를 칸 집합에 반영
+    private void summarize(int x, int y) {
+        int cell = y * SIZE + x;
+        for (int c = 0; c < 2; c++) {
+            int[] l = lines[c];
+            int five = 0;
+            int four = 0;
+            int three = 0;
+            for (int i = cell; i < BitBoard.DIRECTIONS * CELLS; i += CELLS) {
+                five |= l[i] & (RenjuRuleChecker.FIVE | RenjuRuleChecker.OVERLINE);
+                four += RenjuRuleChecker.fours(l[i]);
+                three |= RenjuRuleChecker.hasThreeCandidate(l[i]) ? 1 : 0;
+            }
+            set(fives[c], cell, five != 0);
+            set(fours[c], cell, four != 0);
+            set(threes[c], cell, three != 0);
+        }
+        int[] black = lines[0];
+        int verdict = RenjuRuleChecker.localVerdict(
+                black[cell], black[CELLS + cell], black[2 * CELLS + cell], black[3 * CELLS + cell]);
+        set(lineForbidden, cell, verdict == 1);
+        set(doubleThrees, cell, verdict == -1);
+    }
+
+    // 금수 집합을 다시 만든다 (삼삼 후보만 재귀 확인). 바뀌었으면 true
+    private boolean resolveForbidden() {
+        boolean changed = false;
+        for (int w = 0; w < SET_WORDS; w++) {
+            long next = lineForbidden[w];
+            for (long bits = doubleThrees[w]; bits != 0; bits &= bits - 1) {
+                int cell = (w << 6) + Long.numberOfTrailingZeros(bits);
+                if (renju.isForbiddenAt(board, cell % SIZE, cell / SIZE)) {
+                    next |= 1L << cell;
+                }
+            }
+            changed |= next != forbidden[w];
+            forbidden[w] = next;
+        }
+        return changed;
+    }
+
+    // 돌이 놓인 칸은 어느 집합에도 들지 않는다
+    private void clearCell(int cell) {
+        set(lineForbidden, cell, false);
+        set(doubleThrees, cell, false);
+        for (int c = 0; c < 2; c++) {
+            set(fives[c], cell, false);
+            set(fours[c], cell, false);
+            set(threes[c], cell, false);
+        }
+    }
+
+    private static boolean contains(long[] set, int cell) {
+        return (set[cell >>> 6] & (1L << cell)) != 0;
+    }
+
+    private static void set(long[] set, int cell, boolean value) {
+        if (value) {
+            set[cell >>> 6] |= 1L << cell;
+        } else {
+            set[cell >>> 6] &= ~(1L << cell);
+        }
+    }
+
+    private static int count(long[] set) {
+        int n = 0;
+        for (long word : set) {
+            n += Long.bitCount(word);
+        }
+        return n;
+    }
+
+    private static byte[] points(long[] set) {
+        byte[] points = new byte[count(set)];
+        int n = 0;
+        for (int w = 0; w < set.length; w++) {
+            for (long bits = set[w]; bits != 0; bits &= bits - 1) {
+                points[n++] = (byte) ((w << 6) + Long.numberOfTrailingZeros(bits));
+            }
+        }
+        return points;
+    }
+}
@@ -0,0 +1,47 @@
+package omok_server;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// 접속한 클라이언트 목록
+// 연결마다 접속 순번을 붙여 순번 순서로 보관한다. 추가/삭제에 락을 잡지 않고, 순회도 락 없이 접속 순서대로 한다.
+class UserRegistry {
+    private final ConcurrentHashMap<OmokServer.ClientHandler, Long> seqs = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListMap<Long, OmokServer.ClientHandler> bySeq = new ConcurrentSkipListMap<>();
+    private final AtomicLong nextSeq = new AtomicLong();
+
+    // 새 연결 등록 (로그인 전)
+    void add(OmokServer.ClientHandler handler) {
+        long seq = nextSeq.getAndIncrement();
+        seqs.put(handler, seq);
+        bySeq.put(seq, handler);
+    }
+
+    // 연결 제거. 이미 제거되었으면 false
+    boolean remove(OmokServer.ClientHandler handler) {
+        Long seq = seqs.remove(handler);
+        if (seq == null) {
+            return false;
+        }
+        bySeq.remove(seq);
+        return true;
+    }
+
+    int size() {
+        return seqs.size();
+    }
+
+    // 접속 순서대로 순회하는 전체 연결 (락 없이 순회 가능한 뷰)
+    Collection<OmokServer.ClientHandler> all() {
+        return bySeq.values();
+    }
+
+    // 접속 순서대로의 연결 목록 복사본
+    List<OmokServer.ClientHandler> snapshot() {
+        return new ArrayList<>(bySeq.values());
+    }
+}
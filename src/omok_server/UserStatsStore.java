@@ -0,0 +1,207 @@
+package omok_server;
+
+import omok_shared.OmokMsg;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// 사용자 전적 저장소
+// 전적은 사용자별 원자적 카운터로 보관하고, 게임 결과 반영은 전용 스레드에서 처리해 방 락을 잡는 시간을 줄인다.
+// 바뀐 사용자는 모아 두었다가 로비 델타를 받는 클라이언트에게는 그 사용자들의 전적만,
+// 기존 클라이언트에게는 예전처럼 전체 전적 표를 보낸다.
+// 저널이 있으면 결과를 같은 전용 스레드에서 로그에 쌓아 두었다가 주기적으로 한 번에 쓰고,
+// 기록이 충분히 쌓이거나 일정 시간이 지나면 스냅샷으로 정리한다.
+class UserStatsStore {
+    static final long FLUSH_INTERVAL_MILLIS = 100;
+    static final long SNAPSHOT_RECORDS = 100_000;                    // 이만큼 쌓이면 스냅샷
+    static final long SNAPSHOT_INTERVAL_MILLIS = 10 * 60 * 1000;     // 기록이 있으면 이 간격으로 스냅샷
+
+    private final OmokServer server;
+    private final NotificationCoalescer coalescer;
+    private final ConcurrentHashMap<String, UserStats> stats;
+    private final Set<String> changed = ConcurrentHashMap.newKeySet();   // 아직 알리지 않은 사용자
+    private final StatsJournal journal;   // null이면 메모리에만 보관
+    private long lastSnapshotTime = System.currentTimeMillis();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "omok-stats");
+        t.setDaemon(true);
+        return t;
+    });
+
+    // 사용자 한 명의 전적
+    // 값은 전적 스레드에서만 바꾸므로 (복원 중에는 로딩 스레드) volatile 읽기/쓰기로 충분하다.
+    static final class UserStats {
+        private volatile int wins;
+        private volatile int losses;
+
+        UserStats() {
+            this(0, 0);
+        }
+
+        UserStats(int wins, int losses) {
+            this.wins = wins;
+            this.losses = losses;
+        }
+
+        void addWin() { wins = wins + 1; }
+        void addLoss() { losses = losses + 1; }
+
+        int getWins() { return wins; }
+        int getLosses() { return losses; }
+
+        String getStatsString() {
+            return "(승:" + wins + " 패:" + losses + ")";
+        }
+    }
+
+    UserStatsStore(OmokServer server, NotificationCoalescer coalescer) {
+        this(server, coalescer, null, new ConcurrentHashMap<>());
+    }
+
+    // 저널에서 복원한 전적으로 시작
+    private UserStatsStore(OmokServer server, NotificationCoalescer coalescer,
+                           StatsJournal journal, ConcurrentHashMap<String, UserStats> stats) {
+        this.server = server;
+        this.coalescer = coalescer;
+        this.journal = journal;
+        this.stats = stats;
+        if (journal != null) {
+            executor.scheduleWithFixedDelay(this::flushJournal,
+                    FLUSH_INTERVAL_MILLIS, FLUSH_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    // 저널 디렉터리에서 전적을 읽어 저장소 생성
+    static UserStatsStore open(OmokServer server, NotificationCoalescer coalescer, StatsJournal journal) throws IOException {
+        return new UserStatsStore(server, coalescer, journal, journal.load());
+    }
+
+    int size() {
+        return stats.size();
+    }
+
+    // 처음 로그인한 사용자의 전적 생성 (0승 0패도 목록에 표시되도록 알림)
+    void ensureUser(String uid) {
+        if (stats.putIfAbsent(uid, new UserStats()) == null) {
+            markChanged(uid);
+        }
+    }
+
+    // 게임 결과 반영 (호출한 스레드는 기다리지 않는다)
+    void recordResult(String winnerId, String loserId) {
+        executor.execute(() -> {
+            if (winnerId != null) {
+                stats.computeIfAbsent(winnerId, id -> new UserStats()).addWin();
+                if (journal != null) {
+                    journal.append(winnerId, true);
+                }
+                markChanged(winnerId);
+            }
+            if (loserId != null) {
+                stats.computeIfAbsent(loserId, id -> new UserStats()).addLoss();
+                if (journal != null) {
+                    journal.append(loserId, false);
+                }
+                markChanged(loserId);
+            }
+        });
+    }
+
+    // 쌓인 기록을 로그에 쓰고, 필요하면 스냅샷 (전적 스레드)
+    private void flushJournal() {
+        try {
+            journal.flush();
+            long records = journal.recordsSinceSnapshot();
+            long now = System.currentTimeMillis();
+            if (records >= SNAPSHOT_RECORDS
+                    || (records > 0 && now - lastSnapshotTime >= SNAPSHOT_INTERVAL_MILLIS)) {
+                journal.snapshot(stats);
+                lastSnapshotTime = now;
+            }
+        } catch (IOException e) {
+            server.printDisplay("전적 저장 오류: " + e.getMessage());
+        }
+    }
+
+    // 지금까지의 결과를 모두 반영한 스냅샷을 쓰고 끝날 때까지 기다림 (서버 중지 시)
+    void checkpoint() {
+        if (journal == null) {
+            return;
+        }
+        try {
+            executor.submit(() -> {
+                journal.snapshot(stats);
+                lastSnapshotTime = System.currentTimeMillis();
+                return null;
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            server.printDisplay("전적 스냅샷 오류: " + e.getCause().getMessage());
+        }
+    }
+
+    // 사용자의 전적 문자열 (" (승:1 패:0)" 형식, 없으면 빈 문자열)
+    String getStatsString(String uid) {
+        UserStats userStats = stats.get(uid);
+        return userStats != null ? " " + userStats.getStatsString() : "";
+    }
+
+    // 전체 전적 표 (uid:(승:x 패:y),...)
+    OmokMsg fullTable() {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, UserStats> entry : stats.entrySet()) {
+            appendEntry(sb, entry.getKey(), entry.getValue());
+        }
+        return new OmokMsg("SERVER", OmokMsg.MODE_USER_STATS, sb.toString());
+    }
+
+    private void markChanged(String uid) {
+        changed.add(uid);
+        coalescer.request(NotificationCoalescer.USER_STATS, null, this::flushChanges);
+    }
+
+    // 모아 둔 변경 전송
+    private void flushChanges() {
+        StringBuilder sb = new StringBuilder();
+        Iterator<String> it = changed.iterator();
+        while (it.hasNext()) {
+            String uid = it.next();
+            it.remove();
+            UserStats userStats = stats.get(uid);
+            if (userStats != null) {
+                appendEntry(sb, uid, userStats);
+            }
+        }
+        if (sb.isEmpty()) {
+            return;
+        }
+
+        OutboundFrame deltaFrame = OutboundFrame.of(new OmokMsg("SERVER", OmokMsg.MODE_USER_STATS, sb.toString()));
+        OutboundFrame fullFrame = null;
+        for (OmokServer.ClientHandler user : server.connectedUsers()) {
+            if (user.isLobbyDeltas()) {
+                user.send(deltaFrame);
+            } else {
+                if (fullFrame == null) {
+                    fullFrame = OutboundFrame.of(fullTable());
+                }
+                user.send(fullFrame);
+            }
+        }
+    }
+
+    private static void appendEntry(StringBuilder sb, String uid, UserStats userStats) {
+        if (!sb.isEmpty()) {
+            sb.append(",");
+        }
+        sb.append(uid).append(":").append(userStats.getStatsString());
+    }
+}
@@ -0,0 +1,184 @@
+package omok_shared;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+// 비트보드 오목판 (15 x 15)
+// 색마다 같은 돌을 네 가지 배치로 겹쳐 둔다: 가로줄, 세로줄, ↘ 대각선, ↗ 대각선.
+// 각 배치에서 한 줄은 16비트 칸(15칸 + 빈 경계 1비트)을 차지하므로 어떤 줄이든 long 하나 안의 16비트로 꺼낼 수 있고,
+// 한 줄 안의 연속한 돌은 연속한 비트가 된다. 그래서 오목 판정은 그 16비트에 대한 몇 번의 시프트와 AND로 끝난다.
+// 방향 번호는 OmokRuleChecker와 같다: 0 가로(1,0), 1 세로(0,1), 2 ↘(1,1), 3 ↗(1,-1)
+// 판의 Zobrist 해시를 두기/치우기마다 함께 갱신한다 (같은 판이면 같은 해시, 금수 판정 메모용).
+public final class BitBoard {
+    public static final int SIZE = 15;
+    public static final int EMPTY = 0;
+    public static final int BLACK = 1;
+    public static final int WHITE = 2;
+    public static final int DIRECTIONS = 4;
+
+    public static final int[] DX = {1, 0, 1, 1};
+    public static final int[] DY = {0, 1, 1, -1};
+
+    private static final int LINE_MASK = 0xFFFF;
+    // 배치별 시작 word (가로/세로 15줄 = 4 word, 대각선 29줄 = 8 word)
+    private static final int[] OFFSET = {0, 4, 8, 16};
+    private static final int WORDS = 24;
+
+    private static final int CELLS = SIZE * SIZE;
+
+    // 칸(y * 15 + x)과 방향마다 미리 계산한 값 (dir * 225 + 칸)
+    private static final int[] CELL_WORD = new int[DIRECTIONS * CELLS];     // 돌 비트가 있는 word
+    private static final int[] CELL_SHIFT = new int[DIRECTIONS * CELLS];    // 줄이 시작하는 비트 (word 안)
+    private static final long[] CELL_BIT = new long[DIRECTIONS * CELLS];    // 돌 비트
+    private static final int[] CELL_WINDOW = new int[DIRECTIONS * CELLS];   // 이 칸을 포함하는 다섯 칸의 시작 위치들
+
+    static {
+        for (int dir = 0; dir < DIRECTIONS; dir++) {
+            for (int y = 0; y < SIZE; y++) {
+                for (int x = 0; x < SIZE; x++) {
+                    int i = dir * CELLS + y * SIZE + x;
+                    int line = lineOf(x, y, dir);
+                    int pos = positionOf(x, y, dir);
+                    CELL_WORD[i] = OFFSET[dir] + (line >> 2);
+                    CELL_SHIFT[i] = (line & 3) << 4;
+                    CELL_BIT[i] = 1L << (CELL_SHIFT[i] + pos);
+                    // 시작 위치 pos - 4 ~ pos
+                    CELL_WINDOW[i] = (0x1F << pos) >>> 4;
+                }
+            }
+        }
+    }
+
+    // 칸마다 흑/백 돌의 Zobrist 값 (고정 시드라 실행마다 같다)
+    private static final long[] ZOBRIST = new long[2 * CELLS];
+
+    static {
+        SplittableRandom random = new SplittableRandom(0x6F6D6F6BL);
+        for (int i = 0; i < ZOBRIST.length; i++) {
+            ZOBRIST[i] = random.nextLong();
+        }
+    }
+
+    private final long[] black = new long[WORDS];
+    private final long[] white = new long[WORDS];
+    private long hash;
+
+    public static boolean isInside(int x, int y) {
+        return x >= 0 && x < SIZE && y >= 0 && y < SIZE;
+    }
+
+    // (x, y)가 dir 방향에서 속한 줄 번호
+    public static int lineOf(int x, int y, int dir) {
+        switch (dir) {
+            case 0: return y;
+            case 1: return x;
+            case 2: return x - y + SIZE - 1;
+            default: return x + y;
+        }
+    }
+
+    // (x, y)의 줄 안 위치 (dir 방향으로 갈수록 커진다)
+    public static int positionOf(int x, int y, int dir) {
+        switch (dir) {
+            case 0: return x;
+            case 1: return y;
+            case 2: return Math.min(x, y);
+            default: return x - Math.max(0, x + y - (SIZE - 1));
+        }
+    }
+
+    // 돌 놓기 (빈 칸이라고 가정)
+    public void place(int x, int y, int color) {
+        long[] bits = color == BLACK ? black : white;
+        for (int i = y * SIZE + x; i < DIRECTIONS * CELLS; i += CELLS) {
+            bits[CELL_WORD[i]] |= CELL_BIT[i];
+        }
+        hash ^= ZOBRIST[(color - 1) * CELLS + y * SIZE + x];
+    }
+
+    // 돌 치우기
+    public void remove(int x, int y) {
+        int color = get(x, y);
+        if (color != EMPTY) {
+            hash ^= ZOBRIST[(color - 1) * CELLS + y * SIZE + x];
+        }
+        for (int i = y * SIZE + x; i < DIRECTIONS * CELLS; i += CELLS) {
+            int word = CELL_WORD[i];
+            black[word] &= ~CELL_BIT[i];
+            white[word] &= ~CELL_BIT[i];
+        }
+    }
+
+    public int get(int x, int y) {
+        long bit = 1L << (((y & 3) << 4) + x);
+        int word = y >> 2;
+        if ((black[word] & bit) != 0) {
+            return BLACK;
+        }
+        return (white[word] & bit) != 0 ? WHITE : EMPTY;
+    }
+
+    public boolean isEmpty(int x, int y) {
+        long bit = 1L << (((y & 3) << 4) + x);
+        int word = y >> 2;
+        return ((black[word] | white[word]) & bit) == 0;
+    }
+
+    public void clear() {
+        Arrays.fill(black, 0);
+        Arrays.fill(white, 0);
+        hash = 0;
+    }
+
+    // other와 같은 판으로
+    public void copyFrom(BitBoard other) {
+        System.arraycopy(other.black, 0, black, 0, WORDS);
+        System.arraycopy(other.white, 0, white, 0, WORDS);
+        hash = other.hash;
+    }
+
+    // 판의 Zobrist 해시
+    public long hash() {
+        return hash;
+    }
+
+    // (x, y)를 지나는 dir 방향 줄에서 color 돌의 비트 (비트 i = 줄 안 위치 i)
+    public int lineBits(int x, int y, int dir, int color) {
+        int i = dir * CELLS + y * SIZE + x;
+        return lineBits(i, color == BLACK ? black : white);
+    }
+
+    // (x, y)를 지나는 dir 방향 줄에서 판 안에 있는 칸의 비트
+    public static int lineCells(int x, int y, int dir) {
+        int line = lineOf(x, y, dir);
+        int length = dir < 2 ? SIZE : SIZE - Math.abs(line - (SIZE - 1));
+        return (1 << length) - 1;
+    }
+
+    private static int lineBits(int i, long[] bits) {
+        return (int) (bits[CELL_WORD[i]] >>> CELL_SHIFT[i]) & LINE_MASK;
+    }
+
+    // (x, y)를 포함해 color 돌이 다섯 개 이상 이어졌는지
+    public boolean isFive(int x, int y, int color) {
+        long[] bits = color == BLACK ? black : white;
+        for (int i = y * SIZE + x; i < DIRECTIONS * CELLS; i += CELLS) {
+            int m = lineBits(i, bits);
+            // 비트 s가 서 있으면 s부터 다섯 칸이 모두 돌
+            int fives = m & (m >>> 1) & (m >>> 2) & (m >>> 3) & (m >>> 4);
+            if ((fives & CELL_WINDOW[i]) != 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // (x, y)를 지나는 dir 방향으로 color 돌이 이어진 개수 ((x, y)의 돌 포함)
+    public int runLength(int x, int y, int dir, int color) {
+        int m = lineBits(x, y, dir, color);
+        int pos = positionOf(x, y, dir);
+        int up = Integer.numberOfTrailingZeros(~(m >>> pos));
+        int down = Integer.numberOfLeadingZeros(~(m << (31 - pos)));
+        return up + down - 1;
+    }
+}
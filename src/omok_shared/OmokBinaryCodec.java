@@ -0,0 +1,246 @@
+package omok_shared;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+// OmokMsg 이진 코덱 (프레임 본문용)
+// [모드 1바이트][필드 플래그 1바이트][값이 있는 필드만 순서대로]
+// - 정수(좌표, 색상)는 가변 길이 정수라 0~63 범위는 1바이트
+// - 문자열은 [가변 길이 바이트 수][UTF-8]
+// - 보낸 사람이 "SERVER"면 문자열 없이 플래그만 세운다
+// - 플래그의 최상위 비트가 서 있으면 추가 플래그 1바이트가 이어진다 (순번, 이진 본문 등 드물게 쓰는 필드)
+// - 이진 본문은 [가변 길이 바이트 수][바이트]
+public class OmokBinaryCodec {
+    private static final String SERVER_ID = "SERVER";
+
+    private static final int HAS_USER_ID = 1;
+    private static final int HAS_MESSAGE = 1 << 1;
+    private static final int HAS_INDEXES = 1 << 2;
+    private static final int HAS_POSITION = 1 << 3;
+    private static final int HAS_ADVISOR = 1 << 4;
+    private static final int HAS_ADVICE_COLOR = 1 << 5;
+    private static final int FROM_SERVER = 1 << 6;
+    private static final int HAS_EXTRA_FLAGS = 1 << 7;
+
+    // 추가 플래그
+    private static final int HAS_SEQ = 1;
+    private static final int HAS_DATA = 1 << 1;
+
+    private OmokBinaryCodec() {
+    }
+
+    // 메시지를 프레임 본문으로 변환
+    public static byte[] encode(OmokMsg msg) {
+        Writer w = new Writer();
+        int flags = 0;
+        if (SERVER_ID.equals(msg.getUserID())) {
+            flags |= FROM_SERVER;
+        } else if (msg.getUserID() != null) {
+            flags |= HAS_USER_ID;
+        }
+        if (msg.getMessage() != null) flags |= HAS_MESSAGE;
+        if (msg.getCurrentIndex() != null || msg.getEndIndex() != null) flags |= HAS_INDEXES;
+        if (msg.getX() != 0 || msg.getY() != 0 || msg.getColor() != 0) flags |= HAS_POSITION;
+        if (msg.getAdvisorId() != null) flags |= HAS_ADVISOR;
+        if (msg.getAdviceColor() != 0) flags |= HAS_ADVICE_COLOR;
+        int extraFlags = 0;
+        if (msg.getSeq() != 0) extraFlags |= HAS_SEQ;
+        if (msg.getData() != null) extraFlags |= HAS_DATA;
+        if (extraFlags != 0) flags |= HAS_EXTRA_FLAGS;
+
+        w.writeByte(msg.getMode());
+        w.writeByte(flags);
+        if ((flags & HAS_EXTRA_FLAGS) != 0) w.writeByte(extraFlags);
+        if ((flags & HAS_USER_ID) != 0) w.writeString(msg.getUserID());
+        if ((flags & HAS_MESSAGE) != 0) w.writeString(msg.getMessage());
+        if ((flags & HAS_INDEXES) != 0) {
+            w.writeNullableString(msg.getCurrentIndex());
+            w.writeNullableString(msg.getEndIndex());
+        }
+        if ((flags & HAS_POSITION) != 0) {
+            w.writeVarInt(msg.getX());
+            w.writeVarInt(msg.getY());
+            w.writeVarInt(msg.getColor());
+        }
+        if ((flags & HAS_ADVISOR) != 0) w.writeString(msg.getAdvisorId());
+        if ((flags & HAS_ADVICE_COLOR) != 0) w.writeVarInt(msg.getAdviceColor());
+        if ((extraFlags & HAS_SEQ) != 0) w.writeVarLong(msg.getSeq());
+        if ((extraFlags & HAS_DATA) != 0) w.writeBytes(msg.getData());
+        return w.toByteArray();
+    }
+
+    // 프레임 본문을 메시지로 변환
+    public static OmokMsg decode(byte[] buf, int off, int len) throws IOException {
+        Reader r = new Reader(buf, off, len);
+        int mode = r.readByte();
+        int flags = r.readByte();
+        int extraFlags = (flags & HAS_EXTRA_FLAGS) != 0 ? r.readByte() : 0;
+
+        String userID = null;
+        if ((flags & FROM_SERVER) != 0) {
+            userID = SERVER_ID;
+        } else if ((flags & HAS_USER_ID) != 0) {
+            userID = r.readString();
+        }
+        OmokMsg msg = new OmokMsg(userID, mode);
+        if ((flags & HAS_MESSAGE) != 0) msg.setMessage(r.readString());
+        if ((flags & HAS_INDEXES) != 0) {
+            msg.setIndexes(r.readNullableString(), r.readNullableString());
+        }
+        if ((flags & HAS_POSITION) != 0) {
+            msg.setPosition(r.readVarInt(), r.readVarInt(), r.readVarInt());
+        }
+        if ((flags & HAS_ADVISOR) != 0) msg.setAdvisorId(r.readString());
+        if ((flags & HAS_ADVICE_COLOR) != 0) msg.setAdviceColor(r.readVarInt());
+        if ((extraFlags & HAS_SEQ) != 0) msg.setSeq(r.readVarLong());
+        if ((extraFlags & HAS_DATA) != 0) msg.setData(r.readBytes());
+        r.expectEnd();
+        return msg;
+    }
+
+    // 바이트 배열 쓰기 도우미
+    private static class Writer {
+        private byte[] buf = new byte[32];
+        private int size = 0;
+
+        void writeByte(int v) {
+            ensure(1);
+            buf[size++] = (byte) v;
+        }
+
+        // zig-zag 가변 길이 정수 (음수도 짧게)
+        void writeVarInt(int v) {
+            int z = (v << 1) ^ (v >> 31);
+            ensure(5);
+            while ((z & ~0x7F) != 0) {
+                buf[size++] = (byte) ((z & 0x7F) | 0x80);
+                z >>>= 7;
+            }
+            buf[size++] = (byte) z;
+        }
+
+        void writeVarLong(long v) {
+            long z = (v << 1) ^ (v >> 63);
+            ensure(10);
+            while ((z & ~0x7FL) != 0) {
+                buf[size++] = (byte) ((z & 0x7F) | 0x80);
+                z >>>= 7;
+            }
+            buf[size++] = (byte) z;
+        }
+
+        void writeString(String s) {
+            byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, size, bytes.length);
+            size += bytes.length;
+        }
+
+        void writeBytes(byte[] bytes) {
+            writeVarInt(bytes.length);
+            ensure(bytes.length);
+            System.arraycopy(bytes, 0, buf, size, bytes.length);
+            size += bytes.length;
+        }
+
+        // null은 길이 -1로 표시
+        void writeNullableString(String s) {
+            if (s == null) {
+                writeVarInt(-1);
+            } else {
+                writeString(s);
+            }
+        }
+
+        private void ensure(int n) {
+            if (size + n > buf.length) {
+                buf = Arrays.copyOf(buf, Math.max(buf.length * 2, size + n));
+            }
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(buf, size);
+        }
+    }
+
+    // 바이트 배열 읽기 도우미
+    private static class Reader {
+        private final byte[] buf;
+        private int pos;
+        private final int end;
+
+        Reader(byte[] buf, int off, int len) {
+            this.buf = buf;
+            this.pos = off;
+            this.end = off + len;
+        }
+
+        int readByte() throws IOException {
+            if (pos >= end) {
+                throw new IOException("프레임이 너무 짧습니다.");
+            }
+            return buf[pos++] & 0xFF;
+        }
+
+        int readVarInt() throws IOException {
+            int z = 0;
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = readByte();
+                z |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (z >>> 1) ^ -(z & 1);
+                }
+            }
+            throw new IOException("잘못된 정수 인코딩입니다.");
+        }
+
+        long readVarLong() throws IOException {
+            long z = 0;
+            for (int shift = 0; shift < 70; shift += 7) {
+                int b = readByte();
+                z |= (long) (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return (z >>> 1) ^ -(z & 1);
+                }
+            }
+            throw new IOException("잘못된 정수 인코딩입니다.");
+        }
+
+        String readString() throws IOException {
+            int length = readVarInt();
+            if (length < 0 || length > end - pos) {
+                throw new IOException("문자열 길이 오류: " + length);
+            }
+            String s = new String(buf, pos, length, StandardCharsets.UTF_8);
+            pos += length;
+            return s;
+        }
+
+        byte[] readBytes() throws IOException {
+            int length = readVarInt();
+            if (length < 0 || length > end - pos) {
+                throw new IOException("이진 본문 길이 오류: " + length);
+            }
+            byte[] bytes = Arrays.copyOfRange(buf, pos, pos + length);
+            pos += length;
+            return bytes;
+        }
+
+        String readNullableString() throws IOException {
+            int mark = pos;
+            if (readVarInt() == -1) {
+                return null;
+            }
+            pos = mark;
+            return readString();
+        }
+
+        void expectEnd() throws IOException {
+            if (pos != end) {
+                throw new IOException("프레임 끝에 알 수 없는 데이터가 있습니다.");
+            }
+        }
+    }
+}
@@ -45,6 +45,25 @@ public class OmokMsg implements Serializable {
     public static final int MODE_SPECTATOR_COUNT = 40;    // 관전자 수
     public static final int MODE_USER_STATS = 41;         // 사용자 전적
 
+    // 로비 목록 변경 (seq 순번이 붙은 델타)
+    public static final int MODE_ROOM_ADDED = 42;         // 방 추가 (roomId|제목|상태)
+    public static final int MODE_ROOM_REMOVED = 43;       // 방 삭제 (roomId)
+    public static final int MODE_ROOM_STATUS = 44;        // 방 상태 변경 (roomId|상태)
+    public static final int MODE_USER_JOINED = 45;        // 접속자 추가 (uid)
+    public static final int MODE_USER_LEFT = 46;          // 접속자 퇴장 (uid)
+    public static final int MODE_LOBBY_SNAPSHOT_REQUEST = 47;  // 로비 전체 목록 요청 (델타 수신 시작)
+
+    // 복기 이동
+    public static final int MODE_REPLAY_JUMP = 48;        // N번째 수로 이동 요청 (N)
+    public static final int MODE_REPLAY_BOARD = 49;       // 그 시점의 판 (y * 15 + x 순서의 0/1/2 문자열 225자)
+    public static final int MODE_REPLAY_DATA = 50;        // 끝난 게임 전체 기록 (data에 ReplayData)
+
+    // 금수 표시
+    public static final int MODE_FORBIDDEN_POINTS = 51;   // 흑 금수 자리 (data에 칸마다 y * 15 + x 1바이트)
+
+    // 보관된 게임 복기
+    public static final int MODE_ARCHIVED_REPLAY = 52;    // 게임 번호로 기록 요청 (답은 MODE_REPLAY_DATA, MODE_RESULT_COUNT)
+
     private String userID;
     private int mode;
     private String message;
@@ -57,6 +76,9 @@ public class OmokMsg implements Serializable {
     private String advisorId;
     private int adviceColor;
 
+    private long seq;   // 로비 목록 순번 (0이면 순번 없음)
+    private byte[] data;   // 이진 본문 (복기 데이터 등)
+
     public OmokMsg(String userID, int mode) {
         this.userID = userID;
         this.mode = mode;
@@ -101,7 +123,24 @@ public class OmokMsg implements Serializable {
     public String getCurrentIndex() { return currentIndex; }
     public String getEndIndex() { return endIndex; }
     public int getAdviceColor() { return adviceColor; }
+    public String getAdvisorId() { return advisorId; }
+    public long getSeq() { return seq; }
+    public byte[] getData() { return data; }
 
     public void setAdvisorId(String advisorId) { this.advisorId = advisorId; }
     public void setAdviceColor(int adviceColor) { this.adviceColor = adviceColor; }
+    public void setSeq(long seq) { this.seq = seq; }
+    public void setData(byte[] data) { this.data = data; }
+
+    // 이진 코덱 디코딩용
+    void setMessage(String message) { this.message = message; }
+    void setIndexes(String currentIndex, String endIndex) {
+        this.currentIndex = currentIndex;
+        this.endIndex = endIndex;
+    }
+    void setPosition(int x, int y, int color) {
+        this.x = x;
+        this.y = y;
+        this.color = color;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,93 @@
+package omok_shared;
+
+import java.io.*;
+
+// 프레임 단위 전송 규약
+// 1. 접속 직후 클라이언트가 핸드셰이크(매직 4바이트 + 희망 코덱 1바이트)를 보내고, 서버는 실제로 사용할 코덱 1바이트로 응답한다.
+// 2. 이후 모든 메시지는 [본문 길이 4바이트][본문] 형태의 프레임으로 주고받는다.
+// 기존 ObjectOutputStream 클라이언트는 스트림이 0xACED로 시작하므로 서버가 첫 두 바이트로 구분할 수 있다.
+public class OmokWire {
+    public static final int MAGIC = 0x4F4D4F4B;          // "OMOK"
+    public static final int HANDSHAKE_SIZE = 5;          // 매직 + 코덱
+    public static final int MAX_FRAME_SIZE = 1 << 20;    // 프레임 본문 최대 크기 (1MB)
+
+    public static final byte CODEC_SERIAL = 0;           // 자바 직렬화
+    public static final byte CODEC_BINARY = 1;           // OmokBinaryCodec
+
+    private static final int STREAM_MAGIC = 0xACED;      // 자바 직렬화 스트림 시작 값
+
+    private OmokWire() {
+    }
+
+    // 스트림 앞 두 바이트가 기존 ObjectOutputStream 클라이언트인지 확인
+    public static boolean isLegacyStream(int firstTwoBytes) {
+        return firstTwoBytes == STREAM_MAGIC;
+    }
+
+    // 클라이언트가 요청한 코덱 중 서버가 사용할 코덱 선택 (모르는 값이면 직렬화)
+    public static byte negotiate(byte requested) {
+        return requested == CODEC_BINARY ? CODEC_BINARY : CODEC_SERIAL;
+    }
+
+    // 클라이언트 -> 서버 핸드셰이크 전송
+    public static void writeHandshake(DataOutputStream out, byte codec) throws IOException {
+        out.writeInt(MAGIC);
+        out.writeByte(codec);
+        out.flush();
+    }
+
+    // 메시지를 프레임 본문(길이 제외)으로 변환
+    public static byte[] encode(OmokMsg msg, byte codec) throws IOException {
+        if (codec == CODEC_BINARY) {
+            return OmokBinaryCodec.encode(msg);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(256);
+        try (ObjectOutputStream oos = new ObjectOutputStream(bytes)) {
+            oos.writeObject(msg);
+        }
+        return bytes.toByteArray();
+    }
+
+    // 프레임 본문을 메시지로 변환
+    public static OmokMsg decode(byte[] buf, int off, int len, byte codec) throws IOException {
+        if (codec == CODEC_BINARY) {
+            return OmokBinaryCodec.decode(buf, off, len);
+        }
+        try (ObjectInputStream ois = new ObjectInputStream(new ByteArrayInputStream(buf, off, len))) {
+            return (OmokMsg) ois.readObject();
+        } catch (ClassNotFoundException | ClassCastException e) {
+            throw new IOException("잘못된 프레임: " + e.getMessage(), e);
+        }
+    }
+
+    // 길이를 붙인 전체 프레임 생성 (NIO 전송용)
+    public static byte[] encodeFrame(OmokMsg msg, byte codec) throws IOException {
+        byte[] body = encode(msg, codec);
+        byte[] frame = new byte[4 + body.length];
+        frame[0] = (byte) (body.length >>> 24);
+        frame[1] = (byte) (body.length >>> 16);
+        frame[2] = (byte) (body.length >>> 8);
+        frame[3] = (byte) body.length;
+        System.arraycopy(body, 0, frame, 4, body.length);
+        return frame;
+    }
+
+    // 프레임 하나 전송
+    public static void writeFrame(DataOutputStream out, OmokMsg msg, byte codec) throws IOException {
+        byte[] body = encode(msg, codec);
+        out.writeInt(body.length);
+        out.write(body);
+        out.flush();
+    }
+
+    // 프레임 하나 수신 (블로킹)
+    public static OmokMsg readFrame(DataInputStream in, byte codec) throws IOException {
+        int length = in.readInt();
+        if (length < 0 || length > MAX_FRAME_SIZE) {
+            throw new IOException("프레임 크기 오류: " + length);
+        }
+        byte[] body = new byte[length];
+        in.readFully(body);
+        return decode(body, 0, length, codec);
+    }
+}
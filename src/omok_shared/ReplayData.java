@@ -0,0 +1,232 @@
+package omok_shared;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// 끝난 게임 한 판의 복기 데이터 (서버 보관소와 클라이언트 복기가 같은 형식을 쓴다)
+// [흑 id][백 id][승자 1바이트: 0 없음, 1 흑, 2 백][훈수 관전자 수 1바이트][관전자 id...][수 개수 4바이트][수...]
+// - 문자열은 [길이 2바이트][UTF-8]
+// - 플레이어 수는 흑/백이 번갈아 두므로 좌표만 1바이트(y * 15 + x)
+// - 훈수는 0xFF 뒤에 좌표 1바이트, 관전자 번호 1바이트, 색상 3바이트(RGB)
+public final class ReplayData {
+    public static final int BOARD_SIZE = 15;
+    public static final int BLACK = 1;
+    public static final int WHITE = 2;
+    public static final int SUGGESTION = 3;
+    public static final int MAX_ADVISORS = 0xFF;   // 훈수 관전자 수와 번호가 1바이트
+    private static final int SUGGESTION_MARK = 0xFF;
+
+    private final String player1Id;
+    private final String player2Id;
+    private final int winner;              // 0 없음, 1 흑, 2 백
+    private final String[] advisors;
+    private final byte[] points;           // 칸마다 y * 15 + x
+    private final byte[] kinds;            // BLACK, WHITE, SUGGESTION
+    private final byte[] advisorIndexes;   // 훈수의 관전자 번호
+    private final int[] adviceColors;      // 훈수의 RGB 색상
+    private final int size;
+
+    private ReplayData(Builder b) {
+        this.player1Id = b.player1Id;
+        this.player2Id = b.player2Id;
+        this.winner = b.winner;
+        this.advisors = b.advisors.toArray(new String[0]);
+        this.points = Arrays.copyOf(b.points, b.size);
+        this.kinds = Arrays.copyOf(b.kinds, b.size);
+        this.advisorIndexes = Arrays.copyOf(b.advisorIndexes, b.size);
+        this.adviceColors = Arrays.copyOf(b.adviceColors, b.size);
+        this.size = b.size;
+    }
+
+    public String getPlayer1Id() { return player1Id; }
+    public String getPlayer2Id() { return player2Id; }
+    public String getWinner() { return winner == BLACK ? player1Id : winner == WHITE ? player2Id : null; }
+
+    // 기록 칸 수 (훈수 포함)
+    public int size() { return size; }
+
+    // index번째 칸 (0부터)
+    public int getX(int index) { return (points[index] & 0xFF) % BOARD_SIZE; }
+    public int getY(int index) { return (points[index] & 0xFF) / BOARD_SIZE; }
+    public int getKind(int index) { return kinds[index]; }
+    public boolean isSuggestion(int index) { return kinds[index] == SUGGESTION; }
+    public int getAdviceColor(int index) { return adviceColors[index]; }
+
+    // 수를 둔 사람 (훈수면 관전자)
+    public String getPlayerId(int index) {
+        switch (kinds[index]) {
+            case BLACK: return player1Id;
+            case WHITE: return player2Id;
+            default: return advisors[advisorIndexes[index] & 0xFF];
+        }
+    }
+
+    // 인코딩된 크기
+    public int encodedSize() {
+        int bytes = 2 + utf8(player1Id).length + 2 + utf8(player2Id).length + 1 + 1 + 4 + size;
+        for (String advisor : advisors) {
+            bytes += 2 + utf8(advisor).length;
+        }
+        for (int i = 0; i < size; i++) {
+            if (kinds[i] == SUGGESTION) {
+                bytes += 5;
+            }
+        }
+        return bytes;
+    }
+
+    public byte[] toByteArray() {
+        ByteBuffer buf = ByteBuffer.allocate(encodedSize());
+        writeTo(buf);
+        return buf.array();
+    }
+
+    public void writeTo(ByteBuffer buf) {
+        putString(buf, player1Id);
+        putString(buf, player2Id);
+        buf.put((byte) winner);
+        buf.put((byte) advisors.length);
+        for (String advisor : advisors) {
+            putString(buf, advisor);
+        }
+        buf.putInt(size);
+        for (int i = 0; i < size; i++) {
+            if (kinds[i] == SUGGESTION) {
+                int color = adviceColors[i];
+                buf.put((byte) SUGGESTION_MARK).put(points[i]).put(advisorIndexes[i]);
+                buf.put((byte) (color >> 16)).put((byte) (color >> 8)).put((byte) color);
+            } else {
+                buf.put(points[i]);
+            }
+        }
+    }
+
+    public static ReplayData decode(byte[] bytes) {
+        return decode(ByteBuffer.wrap(bytes));
+    }
+
+    // buf의 현재 위치부터 읽는다. 형식이 맞지 않으면 IllegalArgumentException
+    public static ReplayData decode(ByteBuffer buf) {
+        try {
+            Builder b = new Builder(getString(buf), getString(buf));
+            int winner = buf.get();
+            String[] advisors = new String[buf.get() & 0xFF];
+            for (int i = 0; i < advisors.length; i++) {
+                advisors[i] = getString(buf);
+            }
+            int count = buf.getInt();
+            if (count < 0 || count > buf.remaining()) {
+                throw new IllegalArgumentException("복기 데이터 수 개수 오류: " + count);
+            }
+            for (int i = 0; i < count; i++) {
+                int point = buf.get() & 0xFF;
+                if (point == SUGGESTION_MARK) {
+                    point = buf.get() & 0xFF;
+                    String advisor = advisors[buf.get() & 0xFF];
+                    int color = ((buf.get() & 0xFF) << 16) | ((buf.get() & 0xFF) << 8) | (buf.get() & 0xFF);
+                    b.suggestion(advisor, point % BOARD_SIZE, point / BOARD_SIZE, color);
+                } else {
+                    b.stone(point % BOARD_SIZE, point / BOARD_SIZE);
+                }
+            }
+            b.winner = winner;
+            return b.build();
+        } catch (BufferUnderflowException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("복기 데이터가 잘렸습니다.", e);
+        }
+    }
+
+    // 판을 문자열로 (y * 15 + x 순서의 0/1/2 문자열, MODE_REPLAY_BOARD 본문)
+    public static String boardString(byte[] board) {
+        char[] chars = new char[board.length];
+        for (int i = 0; i < board.length; i++) {
+            chars[i] = (char) ('0' + board[i]);
+        }
+        return new String(chars);
+    }
+
+    private static byte[] utf8(String s) {
+        return s.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void putString(ByteBuffer buf, String s) {
+        byte[] bytes = utf8(s);
+        buf.putShort((short) bytes.length);
+        buf.put(bytes);
+    }
+
+    private static String getString(ByteBuffer buf) {
+        byte[] bytes = new byte[buf.getShort() & 0xFFFF];
+        buf.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    // 수를 순서대로 넣어 만든다. 플레이어 수는 흑부터 번갈아 둔 것으로 본다.
+    public static final class Builder {
+        private final String player1Id;
+        private final String player2Id;
+        private int winner;
+        private final List<String> advisors = new ArrayList<>();
+        private byte[] points = new byte[64];
+        private byte[] kinds = new byte[64];
+        private byte[] advisorIndexes = new byte[64];
+        private int[] adviceColors = new int[64];
+        private int size;
+        private int stones;
+
+        public Builder(String player1Id, String player2Id) {
+            if (utf8(player1Id).length > 0xFFFF || utf8(player2Id).length > 0xFFFF) {
+                throw new IllegalArgumentException("id가 너무 깁니다.");
+            }
+            this.player1Id = player1Id;
+            this.player2Id = player2Id;
+        }
+
+        public Builder stone(int x, int y) {
+            add(x, y, stones++ % 2 == 0 ? BLACK : WHITE, 0, 0);
+            return this;
+        }
+
+        public Builder suggestion(String advisorId, int x, int y, int rgb) {
+            int advisor = advisors.indexOf(advisorId);
+            if (advisor < 0) {
+                if (advisors.size() == MAX_ADVISORS) {
+                    throw new IllegalStateException("훈수 관전자가 너무 많습니다.");
+                }
+                advisors.add(advisorId);
+                advisor = advisors.size() - 1;
+            }
+            add(x, y, SUGGESTION, advisor, rgb & 0xFFFFFF);
+            return this;
+        }
+
+        // 승자 id (흑/백이 아니면 승자 없음)
+        public Builder winner(String winnerId) {
+            winner = winnerId == null ? 0 : winnerId.equals(player1Id) ? BLACK : winnerId.equals(player2Id) ? WHITE : 0;
+            return this;
+        }
+
+        private void add(int x, int y, int kind, int advisor, int color) {
+            if (size == points.length) {
+                int grown = size * 2;
+                points = Arrays.copyOf(points, grown);
+                kinds = Arrays.copyOf(kinds, grown);
+                advisorIndexes = Arrays.copyOf(advisorIndexes, grown);
+                adviceColors = Arrays.copyOf(adviceColors, grown);
+            }
+            points[size] = (byte) (y * BOARD_SIZE + x);
+            kinds[size] = (byte) kind;
+            advisorIndexes[size] = (byte) advisor;
+            adviceColors[size] = color;
+            size++;
+        }
+
+        public ReplayData build() {
+            return new ReplayData(this);
+        }
+    }
+}